@@ -0,0 +1,77 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.model.Date;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only availability queries against a hotel of the given size and history.
+ * The queries share one chain, so running with several threads measures
+ * contention-free read scaling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rooms;
+
+    @Param({"0", "16"})
+    public int historyDepth;
+
+    private Hotel hotel;
+    private Date freeStart;
+    private Date freeEnd;
+    private Date bookedStart;
+    private Date bookedEnd;
+    private int quantity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ChainFixture fixture = ChainFixture.create(rooms, historyDepth);
+        hotel = fixture.hotel;
+        freeStart = ChainFixture.futureStart(0, 0);
+        freeEnd = ChainFixture.futureEnd(0, 0);
+        int lastSlot = Math.max(0, historyDepth - 1);
+        bookedStart = ChainFixture.historyStart(lastSlot);
+        bookedEnd = ChainFixture.historyEnd(lastSlot);
+        quantity = Math.min(10, rooms);
+    }
+
+    @Benchmark
+    public boolean availableFreeWindow() {
+        return hotel.available(ChainFixture.ROOM_KIND, freeStart, freeEnd, quantity);
+    }
+
+    /**
+     * Window every room is booked in when there is history; the worst case for a room scan.
+     */
+    @Benchmark
+    public boolean availableBookedWindow() {
+        return hotel.available(ChainFixture.ROOM_KIND, bookedStart, bookedEnd, 1);
+    }
+
+    @Benchmark
+    public List<Room> findAvailableRooms() {
+        return hotel.findAvailableRooms(ChainFixture.ROOM_KIND, freeStart, freeEnd, quantity);
+    }
+}
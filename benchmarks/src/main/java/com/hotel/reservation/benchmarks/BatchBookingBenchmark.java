@@ -0,0 +1,119 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.domain.BookingRequest;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Reservation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A tour operator's manifest: batchSize single-room bookings for the same stay,
+ * booked with one {@link HotelChain#makeReservations} call or with one
+ * {@link HotelChain#makeReservation} call each. Every invocation books the next
+ * of the thread's date windows and cancels the whole manifest outside the
+ * timing, so compare the two scores directly; both are per manifest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBookingBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rooms;
+
+    @Param({"0", "16"})
+    public int historyDepth;
+
+    @Param({"10", "100"})
+    public int batchSize;
+
+    private ChainFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (batchSize > rooms) {
+            throw new IllegalStateException("A manifest cannot book more rooms than the hotel has");
+        }
+        fixture = ChainFixture.create(rooms, historyDepth);
+    }
+
+    /**
+     * The thread's next manifest, and the cancellation of whatever it booked.
+     */
+    @State(Scope.Thread)
+    public static class Manifest {
+        HotelChain hotelChain;
+        int thread;
+        int window;
+        List<BookingRequest> requests;
+        List<Reservation> booked = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setUp(BatchBookingBenchmark benchmark, ThreadParams threadParams) {
+            thread = threadParams.getThreadIndex();
+            if (thread >= ChainFixture.PAYERS) {
+                throw new IllegalStateException("At most " + ChainFixture.PAYERS + " threads are supported");
+            }
+            hotelChain = benchmark.fixture.hotelChain;
+            requests = new ArrayList<>(benchmark.batchSize);
+            for (int i = 0; i < benchmark.batchSize; i++) {
+                requests.add(null);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void prepare() {
+            int current = window++;
+            for (int i = 0; i < requests.size(); i++) {
+                requests.set(i, new BookingRequest(ChainFixture.payerNumber(thread), ChainFixture.guestName(thread),
+                                                   ChainFixture.HOTEL_NAME, ChainFixture.ROOM_KIND,
+                                                   ChainFixture.futureStart(thread, current),
+                                                   ChainFixture.futureEnd(thread, current), 1));
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void undo() {
+            for (Reservation reservation : booked) {
+                hotelChain.cancelReservation(reservation.getNumber());
+            }
+            booked.clear();
+        }
+    }
+
+    @Benchmark
+    public List<Reservation> makeReservations(Manifest manifest) {
+        List<Reservation> reservations = fixture.hotelChain.makeReservations(manifest.requests);
+        manifest.booked.addAll(reservations);
+        return reservations;
+    }
+
+    @Benchmark
+    public List<Reservation> makeReservationEach(Manifest manifest) {
+        for (BookingRequest request : manifest.requests) {
+            manifest.booked.add(fixture.hotelChain.makeReservation(
+                    request.getReserverPayerNumber(), request.getGuestName(), request.getHotelName(),
+                    request.getRoomKind(), request.getStartDate(), request.getEndDate(), request.getQuantity()));
+        }
+        return manifest.booked;
+    }
+}
@@ -0,0 +1,171 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Reservation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write paths of {@link HotelChain}. Each thread books its own run of future
+ * dates and undoes its own changes, so the chain stays the same size for the
+ * whole run and threads only contend on the room type lock, as real bookings
+ * for one hotel would.
+ * <p>
+ * makeReservation, cancelReservation and checkinGuest undo or prepare their
+ * change in per-invocation fixtures, which JMH leaves out of the timing;
+ * makeAndCancelReservation measures the pair without fixtures for comparison.
+ * checkinGuest gives each thread its own room, so it needs at least as many
+ * rooms as threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rooms;
+
+    @Param({"0", "16"})
+    public int historyDepth;
+
+    private ChainFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = ChainFixture.create(rooms, historyDepth);
+    }
+
+    /**
+     * Per-thread payer, guest and position in the thread's date windows.
+     */
+    @State(Scope.Thread)
+    public static class Booker {
+        int thread;
+        int payerNumber;
+        String guestName;
+        int window;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threadParams) {
+            thread = threadParams.getThreadIndex();
+            if (thread >= ChainFixture.PAYERS) {
+                throw new IllegalStateException("At most " + ChainFixture.PAYERS + " threads are supported");
+            }
+            payerNumber = ChainFixture.payerNumber(thread);
+            guestName = ChainFixture.guestName(thread);
+        }
+
+        Reservation book(HotelChain hotelChain) {
+            int current = window++;
+            return hotelChain.makeReservation(payerNumber, guestName, ChainFixture.HOTEL_NAME, ChainFixture.ROOM_KIND,
+                                              ChainFixture.futureStart(thread, current),
+                                              ChainFixture.futureEnd(thread, current), 1);
+        }
+    }
+
+    /**
+     * Cancels whatever the measured call booked, outside the timing.
+     */
+    @State(Scope.Thread)
+    public static class BookingToUndo {
+        HotelChain hotelChain;
+        Reservation reservation;
+
+        @Setup(Level.Trial)
+        public void setUp(BookingBenchmark benchmark) {
+            hotelChain = benchmark.fixture.hotelChain;
+        }
+
+        @TearDown(Level.Invocation)
+        public void undo() {
+            if (reservation != null) {
+                hotelChain.cancelReservation(reservation.getNumber());
+                reservation = null;
+            }
+        }
+    }
+
+    /**
+     * Books a reservation for the measured call to cancel, outside the timing.
+     */
+    @State(Scope.Thread)
+    public static class BookingToCancel {
+        Reservation reservation;
+
+        @Setup(Level.Invocation)
+        public void book(BookingBenchmark benchmark, Booker booker) {
+            reservation = booker.book(benchmark.fixture.hotelChain);
+        }
+    }
+
+    /**
+     * Checks the measured guest out again, outside the timing.
+     */
+    @State(Scope.Thread)
+    public static class CheckinToUndo {
+        HotelChain hotelChain;
+        String guestName;
+        int roomNumber;
+
+        @Setup(Level.Trial)
+        public void setUp(BookingBenchmark benchmark, Booker booker) {
+            if (booker.thread >= benchmark.rooms) {
+                throw new IllegalStateException("checkinGuest needs at least one room per thread");
+            }
+            hotelChain = benchmark.fixture.hotelChain;
+            guestName = booker.guestName;
+            roomNumber = ChainFixture.FIRST_ROOM_NUMBER + booker.thread;
+        }
+
+        @TearDown(Level.Invocation)
+        public void undo() {
+            hotelChain.checkOutGuest(guestName);
+        }
+    }
+
+    @Benchmark
+    public Reservation makeReservation(Booker booker, BookingToUndo undo) {
+        undo.reservation = booker.book(fixture.hotelChain);
+        return undo.reservation;
+    }
+
+    @Benchmark
+    public void cancelReservation(BookingToCancel booking) {
+        fixture.hotelChain.cancelReservation(booking.reservation.getNumber());
+    }
+
+    @Benchmark
+    public int makeAndCancelReservation(Booker booker) {
+        Reservation reservation = booker.book(fixture.hotelChain);
+        fixture.hotelChain.cancelReservation(reservation.getNumber());
+        return reservation.getNumber();
+    }
+
+    @Benchmark
+    public void checkinGuest(CheckinToUndo checkin) {
+        fixture.hotelChain.checkinGuest(checkin.guestName, checkin.roomNumber, ChainFixture.HOTEL_NAME);
+    }
+
+    @Benchmark
+    public List<Reservation> getAllReservations() {
+        return fixture.hotelChain.getAllReservations();
+    }
+}
@@ -0,0 +1,127 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+
+import java.time.LocalDate;
+
+/**
+ * Builds a chain with one hotel of single rooms, a fixed set of payers and
+ * guests, and a booking history of the requested depth per room.
+ * <p>
+ * History lies in the past, one slot of two nights every three days, with
+ * every room booked once per slot. Benchmarks book in the future, each thread
+ * in its own run of dates, so they never compete with the history or with
+ * each other for a night.
+ */
+final class ChainFixture {
+    static final String HOTEL_NAME = "Benchmark Hotel";
+    static final RoomKind ROOM_KIND = RoomKind.SINGLE;
+    static final int PAYERS = 256;
+    static final int FIRST_ROOM_NUMBER = 1;
+    static final int SLOT_DAYS = 3;
+    static final int WINDOWS_PER_THREAD = 64;
+    private static final int MAX_ROOMS_PER_BOOKING = 10;
+    private static final LocalDate HISTORY_START = LocalDate.of(2020, 1, 1);
+    private static final LocalDate FUTURE_START = LocalDate.of(2030, 1, 1);
+
+    final HotelChain hotelChain;
+    final Hotel hotel;
+    final int rooms;
+    final int historyDepth;
+
+    private ChainFixture(HotelChain hotelChain, Hotel hotel, int rooms, int historyDepth) {
+        this.hotelChain = hotelChain;
+        this.hotel = hotel;
+        this.rooms = rooms;
+        this.historyDepth = historyDepth;
+    }
+
+    static ChainFixture create(int rooms, int historyDepth) {
+        if (rooms <= 0 || historyDepth < 0) {
+            throw new IllegalArgumentException("Rooms must be positive and history depth non-negative");
+        }
+        HotelChain hotelChain = new HotelChain();
+        Hotel hotel = new Hotel(new Name(HOTEL_NAME));
+        hotelChain.addHotel(hotel);
+        RoomType roomType = new RoomType(ROOM_KIND, new Money(100.0, "USD"), hotel);
+        hotel.addRoomType(roomType);
+        for (int i = 0; i < rooms; i++) {
+            Room room = new Room(FIRST_ROOM_NUMBER + i, hotel, roomType);
+            hotel.addRoom(room);
+            roomType.addRoom(room);
+        }
+
+        for (int i = 0; i < PAYERS; i++) {
+            hotelChain.addGuest(Guest.create(new Name(guestName(i)),
+                                             new Address("1 Main St", "Springfield", "IL", "62701", "USA")));
+            hotelChain.createReserverPayer(new CreditCard(String.format("4%015d", i), guestName(i), "12/99", "123"),
+                                           new Identity(String.format("ID%06d", i), Identity.IdentityType.PASSPORT),
+                                           payerNumber(i));
+        }
+
+        // Restored rather than booked, so setup does not search for free rooms
+        Date bookedOn = new Date(HISTORY_START.minusDays(1));
+        int reservationNumber = 0;
+        for (int slot = 0; slot < historyDepth; slot++) {
+            for (int first = 0; first < rooms; first += MAX_ROOMS_PER_BOOKING) {
+                int quantity = Math.min(MAX_ROOMS_PER_BOOKING, rooms - first);
+                int[] roomNumbers = new int[quantity];
+                for (int i = 0; i < quantity; i++) {
+                    roomNumbers[i] = FIRST_ROOM_NUMBER + first + i;
+                }
+                reservationNumber++;
+                hotelChain.restoreReservation(reservationNumber, payerNumber(reservationNumber % PAYERS), HOTEL_NAME,
+                                              bookedOn, historyStart(slot), historyEnd(slot), quantity, roomNumbers);
+            }
+        }
+        return new ChainFixture(hotelChain, hotel, rooms, historyDepth);
+    }
+
+    static int payerNumber(int index) {
+        return index + 1;
+    }
+
+    /**
+     * Guest names must be letters only, so the index is spelled in base 26.
+     */
+    static String guestName(int index) {
+        StringBuilder name = new StringBuilder("Guest ");
+        int value = index;
+        do {
+            name.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return name.toString();
+    }
+
+    static Date historyStart(int slot) {
+        return new Date(HISTORY_START.plusDays((long) slot * SLOT_DAYS));
+    }
+
+    static Date historyEnd(int slot) {
+        return new Date(HISTORY_START.plusDays((long) slot * SLOT_DAYS + 1));
+    }
+
+    /**
+     * Start of the given thread's window; windows never overlap across threads.
+     */
+    static Date futureStart(int thread, int window) {
+        long slot = (long) thread * WINDOWS_PER_THREAD + Math.floorMod(window, WINDOWS_PER_THREAD);
+        return new Date(FUTURE_START.plusDays(slot * SLOT_DAYS));
+    }
+
+    static Date futureEnd(int thread, int window) {
+        return new Date(futureStart(thread, window).getLocalDate().plusDays(1));
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.domain.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Walks the hotel's rooms and their reservations through the collection getters,
+ * the way reporting and availability code does. Run with {@code -prof gc} to see
+ * the bytes allocated per walk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionViewBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rooms;
+
+    @Param({"0", "16"})
+    public int historyDepth;
+
+    private Hotel hotel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hotel = ChainFixture.create(rooms, historyDepth).hotel;
+    }
+
+    @Benchmark
+    public long walkWithGetters() {
+        long nights = 0;
+        for (Room room : hotel.getRooms()) {
+            for (Reservation reservation : room.getReservations()) {
+                nights += reservation.getRooms().size();
+            }
+        }
+        return nights;
+    }
+
+    @Benchmark
+    public long walkWithForEach() {
+        long[] nights = new long[1];
+        hotel.forEachRoom(room -> room.forEachReservation(reservation -> nights[0] += reservation.getRooms().size()));
+        return nights[0];
+    }
+}
@@ -0,0 +1,111 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.api.BookingApiServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput check for the HTTP API: serves a {@link ChainFixture} chain on a
+ * loopback port and has client threads issue availability queries over
+ * keep-alive connections as fast as the server answers, then prints requests
+ * per second and mean latency. Client and server share the machine, so the
+ * figure is a floor for the server alone.
+ * <p>
+ * {@code java -cp target/benchmarks.jar com.hotel.reservation.benchmarks.HttpAvailabilityLoad [threads] [seconds] [rooms]}
+ */
+public final class HttpAvailabilityLoad {
+    private static final byte[] DRAIN = new byte[8192];
+
+    private HttpAvailabilityLoad() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int rooms = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        ChainFixture fixture = ChainFixture.create(rooms, 4);
+
+        try (BookingApiServer server = new BookingApiServer(fixture.hotelChain,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            server.start();
+            String base = "http://127.0.0.1:" + server.getPort() + "/availability?kind=" + ChainFixture.ROOM_KIND;
+
+            // Warm up the server and the client for a third of the run, untimed
+            run(base, threads, Math.max(1, seconds / 3), new LongAdder(), new LongAdder());
+            LongAdder requests = new LongAdder();
+            LongAdder errors = new LongAdder();
+            long started = System.nanoTime();
+            long busyNanos = run(base, threads, seconds, requests, errors);
+            double elapsed = (System.nanoTime() - started) / 1e9;
+
+            long count = requests.sum();
+            System.out.printf("%d threads, %d rooms: %.0f requests/s, mean latency %.1f us, %d errors%n",
+                    threads, rooms, count / elapsed, count == 0 ? 0.0 : busyNanos / 1e3 / count, errors.sum());
+        }
+    }
+
+    /**
+     * Runs the client threads for the given time and returns the summed time spent waiting on requests.
+     */
+    private static long run(String base, int threads, int seconds, LongAdder requests, LongAdder errors)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(threads);
+        LongAdder busyNanos = new LongAdder();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            Thread client = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                try {
+                    while (running.get()) {
+                        LocalDate start = LocalDate.of(2030, 1, 1).plusDays(random.nextInt(365));
+                        URL url = new URL(base + "&start=" + start + "&end=" + start.plusDays(1 + random.nextInt(6)));
+                        long began = System.nanoTime();
+                        if (get(url)) {
+                            requests.increment();
+                        } else {
+                            errors.increment();
+                        }
+                        busyNanos.add(System.nanoTime() - began);
+                    }
+                } catch (IOException e) {
+                    errors.increment();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + t);
+            client.setDaemon(true);
+            client.start();
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+        return busyNanos.sum();
+    }
+
+    /**
+     * Issues the request and reads the body to the end, which returns the connection to the keep-alive pool.
+     */
+    private static boolean get(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        int status = connection.getResponseCode();
+        try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (body != null) {
+                while (body.read(DRAIN) >= 0) {
+                    // Only the connection reuse matters, not the bytes
+                }
+            }
+        }
+        return status == 200;
+    }
+}
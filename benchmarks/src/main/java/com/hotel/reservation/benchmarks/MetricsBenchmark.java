@@ -0,0 +1,66 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.domain.ChainOperation;
+import com.hotel.reservation.domain.OperationListener;
+import com.hotel.reservation.domain.OperationOutcome;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.metrics.ChainMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ChainMetrics} on the write path: a booking and its
+ * cancellation with and without metrics attached, and one recorded outcome on
+ * its own (against the no-op listener when metrics are off). Run with
+ * {@code -prof gc} to see that recording allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private ChainFixture fixture;
+    private OperationListener listener;
+    private long elapsedNanos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = ChainFixture.create(1000, 0);
+        if (metrics) {
+            ChainMetrics.attach(fixture.hotelChain);
+        }
+        listener = fixture.hotelChain.getOperationListener();
+    }
+
+    @Benchmark
+    public int makeAndCancelReservation(BookingBenchmark.Booker booker) {
+        Reservation reservation = booker.book(fixture.hotelChain);
+        fixture.hotelChain.cancelReservation(reservation.getNumber());
+        return reservation.getNumber();
+    }
+
+    @Benchmark
+    public void recordOutcome() {
+        // Spread over the histogram's buckets the way real latencies would be
+        elapsedNanos = (elapsedNanos + 7_919) & 0xF_FFFF;
+        listener.operationCompleted(ChainOperation.MAKE_RESERVATION, OperationOutcome.SUCCESS, elapsedNanos);
+    }
+}
@@ -0,0 +1,79 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.ReserverPayer;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Identity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random-number payer lookups: {@link HotelChain#getReserverPayer}, served by
+ * the chain's int-keyed registry, against the boxed-key
+ * {@link ConcurrentHashMap} it replaced, holding the same kind of payers.
+ * Numbers are drawn ahead of time so the measured call is the lookup alone.
+ * See {@link RegistryFootprint} for the memory side of the comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PayerRegistryBenchmark {
+    private static final int KEY_COUNT = 1 << 16;
+    static final CreditCard CARD = new CreditCard("4000000000000002", "Benchmark Payer", "12/99", "123");
+    static final Identity IDENTITY = new Identity("ID0000001", Identity.IdentityType.PASSPORT);
+
+    @Param({"1000000", "10000000"})
+    public int entries;
+
+    @Param({"HotelChain", "ConcurrentHashMap"})
+    public String map;
+
+    private HotelChain hotelChain;
+    private Map<Integer, ReserverPayer> boxedMap;
+    private int[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (map.equals("HotelChain")) {
+            hotelChain = new HotelChain();
+            for (int number = 1; number <= entries; number++) {
+                hotelChain.createReserverPayer(CARD, IDENTITY, number);
+            }
+        } else {
+            boxedMap = new ConcurrentHashMap<>();
+            for (int number = 1; number <= entries; number++) {
+                boxedMap.put(number, ReserverPayer.create(CARD, IDENTITY, number));
+            }
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new int[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = 1 + random.nextInt(entries);
+        }
+    }
+
+    @Benchmark
+    public ReserverPayer lookup() {
+        int key = keys[next++ & (KEY_COUNT - 1)];
+        return hotelChain != null ? hotelChain.getReserverPayer(key) : boxedMap.get(key);
+    }
+}
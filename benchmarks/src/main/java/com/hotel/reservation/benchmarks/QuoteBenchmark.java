@@ -0,0 +1,66 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.RoomType;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total price of a multi-room, multi-night stay: the {@link Money} arithmetic a
+ * caller would write against {@link RoomType#getCost()}, against
+ * {@link RoomType#quoteMinorUnits}. Run with {@code -prof gc} to see that the
+ * compact quote allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuoteBenchmark {
+
+    @Param({"1", "14"})
+    public int nights;
+
+    @Param({"1", "8"})
+    public int quantity;
+
+    private RoomType roomType;
+    private Date startDate;
+    private Date endDate;
+
+    @Setup
+    public void setUp() {
+        Hotel hotel = new Hotel(new Name("Quote Hotel"));
+        roomType = new RoomType(RoomKind.DOUBLE, new Money(new BigDecimal("149.99"), "USD"), hotel);
+        startDate = new Date(2030, 3, 1);
+        endDate = Date.ofEpochDay(startDate.toEpochDay() + nights);
+    }
+
+    @Benchmark
+    public Money money() {
+        long stayNights = endDate.toEpochDay() - startDate.toEpochDay();
+        return roomType.getCost().multiply((int) stayNights).multiply(quantity);
+    }
+
+    @Benchmark
+    public long compact() {
+        return roomType.quoteMinorUnits(startDate, endDate, quantity);
+    }
+}
@@ -0,0 +1,93 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Name;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of guest and payer records: one {@link Name}, {@link Identity}
+ * and {@link CreditCard} per record. {@code constructors} runs the value
+ * objects as they are; {@code regexValidation} runs the String.matches and
+ * replaceAll checks they used before, on the same fields, as the baseline.
+ * Scores are per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordImportBenchmark {
+    private static final int RECORDS = 1024;
+    private static final Pattern CARD_NUMBER_PATTERN = Pattern.compile("\\d{13,19}");
+    private static final Pattern CVV_PATTERN = Pattern.compile("\\d{3,4}");
+    private static final String[] FIRST_NAMES = {"Ada", "Grace", "Alan", "Mary-Jane", "Sean"};
+    private static final String[] LAST_NAMES = {"Lovelace", "Hopper", "Turing", "O'Neil", "Van Der Berg"};
+
+    private final String[] names = new String[RECORDS];
+    private final String[] idNumbers = new String[RECORDS];
+    private final String[] cardNumbers = new String[RECORDS];
+    private final String[] expiryDates = new String[RECORDS];
+    private final String[] cvvs = new String[RECORDS];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < RECORDS; i++) {
+            names[i] = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            idNumbers[i] = "P" + (10_000_000 + random.nextInt(90_000_000));
+            StringBuilder card = new StringBuilder();
+            for (int group = 0; group < 4; group++) {
+                if (group > 0 && i % 2 == 0) {
+                    card.append(' ');
+                }
+                card.append(1000 + random.nextInt(9000));
+            }
+            cardNumbers[i] = card.toString();
+            expiryDates[i] = String.format("%02d/%02d", 1 + random.nextInt(12), 30 + random.nextInt(10));
+            cvvs[i] = Integer.toString(100 + random.nextInt(900));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void constructors(Blackhole blackhole) {
+        for (int i = 0; i < RECORDS; i++) {
+            blackhole.consume(new Name(names[i]));
+            blackhole.consume(new Identity(idNumbers[i], Identity.IdentityType.PASSPORT));
+            blackhole.consume(new CreditCard(cardNumbers[i], names[i], expiryDates[i], cvvs[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void regexValidation(Blackhole blackhole) {
+        for (int i = 0; i < RECORDS; i++) {
+            String name = names[i];
+            blackhole.consume(!name.trim().isEmpty() && name.matches("^[a-zA-Z\\s'-]+$"));
+            blackhole.consume(!idNumbers[i].trim().isEmpty());
+            blackhole.consume(!cardNumbers[i].trim().isEmpty()
+                    && CARD_NUMBER_PATTERN.matcher(cardNumbers[i].replaceAll("\\s", "")).matches());
+            blackhole.consume(!name.trim().isEmpty());
+            blackhole.consume(!expiryDates[i].trim().isEmpty() && expiryDates[i].matches("\\d{2}/\\d{2}"));
+            blackhole.consume(!cvvs[i].trim().isEmpty() && CVV_PATTERN.matcher(cvvs[i]).matches());
+        }
+    }
+}
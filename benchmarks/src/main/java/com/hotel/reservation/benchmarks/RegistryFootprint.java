@@ -0,0 +1,90 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.ReserverPayer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the heap the payer registry costs per entry: a {@link HotelChain}
+ * holding only payers, whose registry is the int-keyed map the chain uses now,
+ * against the boxed-key {@link ConcurrentHashMap} it used before. The heap held
+ * by the payers themselves is measured on its own and subtracted, so only the
+ * registry's overhead (table slots, nodes, boxed keys) is counted. Every payer
+ * shares one card and identity.
+ * <p>
+ * Usage: {@code java -Xmx4g -cp benchmarks.jar com.hotel.reservation.benchmarks.RegistryFootprint [sizes, comma separated]}
+ */
+public final class RegistryFootprint {
+
+    private RegistryFootprint() {
+    }
+
+    public static void main(String[] args) {
+        String sizes = args.length > 0 ? args[0] : "1000000,10000000";
+        System.out.printf("%-20s %12s %14s %12s%n", "registry", "entries", "retained MB", "bytes/entry");
+        for (String size : sizes.split(",")) {
+            int entries = Integer.parseInt(size.trim());
+            long payers = measurePayers(entries);
+            report("HotelChain", entries, measureHotelChain(entries) - payers);
+            report("ConcurrentHashMap", entries, measureConcurrentHashMap(entries) - payers);
+        }
+    }
+
+    private static void report(String name, int entries, long bytes) {
+        System.out.printf("%-20s %12d %14.1f %12.1f%n", name, entries, bytes / (1024.0 * 1024.0),
+                          bytes / (double) entries);
+    }
+
+    /**
+     * Heap held by the payers alone, not counting the array that keeps them reachable.
+     */
+    private static long measurePayers(int entries) {
+        ReserverPayer[] payers = new ReserverPayer[entries];
+        long before = usedHeapAfterGc();
+        for (int number = 1; number <= entries; number++) {
+            payers[number - 1] = ReserverPayer.create(PayerRegistryBenchmark.CARD, PayerRegistryBenchmark.IDENTITY,
+                                                      number);
+        }
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(payers);
+        return after - before;
+    }
+
+    private static long measureHotelChain(int entries) {
+        long before = usedHeapAfterGc();
+        HotelChain hotelChain = new HotelChain();
+        for (int number = 1; number <= entries; number++) {
+            hotelChain.createReserverPayer(PayerRegistryBenchmark.CARD, PayerRegistryBenchmark.IDENTITY, number);
+        }
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(hotelChain);
+        return after - before;
+    }
+
+    private static long measureConcurrentHashMap(int entries) {
+        long before = usedHeapAfterGc();
+        Map<Integer, ReserverPayer> map = new ConcurrentHashMap<>();
+        for (int number = 1; number <= entries; number++) {
+            map.put(number, ReserverPayer.create(PayerRegistryBenchmark.CARD, PayerRegistryBenchmark.IDENTITY, number));
+        }
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(map);
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        // Several rounds, keeping the lowest reading, since one GC may not settle the heap
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
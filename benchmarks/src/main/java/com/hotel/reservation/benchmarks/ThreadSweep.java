@@ -0,0 +1,38 @@
+package com.hotel.reservation.benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the selected benchmarks once per thread count, since JMH takes a single
+ * thread count per run.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.hotel.reservation.benchmarks.ThreadSweep 1,4,16 [JMH options]}
+ */
+public final class ThreadSweep {
+
+    private ThreadSweep() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: ThreadSweep <thread counts, comma separated> [JMH options]");
+        }
+        String[] jmhArgs = new String[args.length - 1];
+        System.arraycopy(args, 1, jmhArgs, 0, jmhArgs.length);
+        CommandLineOptions commandLine = new CommandLineOptions(jmhArgs);
+
+        for (String count : args[0].split(",")) {
+            int threads = Integer.parseInt(count.trim());
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
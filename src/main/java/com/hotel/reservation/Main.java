@@ -674,9 +674,7 @@ public class Main {
         hotelChain.checkinGuest(guestName, roomNumber, hotelName);
 
         Guest guest = hotelChain.getGuest(guestName);
-        Room room = hotelChain.getHotel(hotelName).getRooms().stream()
-                .filter(r -> r.getNumber() == roomNumber)
-                .findFirst().orElse(null);
+        Room room = hotelChain.getHotel(hotelName).findRoom(roomNumber);
 
         System.out.println("✓ Checked in: " + guestName);
         if (room != null) {
@@ -0,0 +1,386 @@
+package com.hotel.reservation.api;
+
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelAvailability;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.domain.ReserverPayer;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.metrics.ChainMetrics;
+import com.hotel.reservation.model.CompactMoney;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+import com.hotel.reservation.persistence.WriteAheadLog;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Embedded HTTP/JSON API over a {@link HotelChain}, on the JDK's built-in
+ * server. Each request runs on its own virtual thread where the JDK has them
+ * (see {@link RequestExecutors}); responses are streamed with {@link JsonWriter}.
+ * <p>
+ * Parameters come from the query string, or for POST from a form-encoded body:
+ * <ul>
+ *   <li>{@code GET /availability?kind&start&end[&quantity][&limit]}: hotels with enough free rooms</li>
+ *   <li>{@code POST /reservations} with payer, guest, hotel, kind, start, end[, quantity]: 201 and the reservation</li>
+ *   <li>{@code GET /reservations/{number}}: the reservation</li>
+ *   <li>{@code DELETE /reservations/{number}}: 204 once cancelled</li>
+ *   <li>{@code GET /payers/{number}/reservations}: the payer's history</li>
+ *   <li>{@code POST /checkin} with guest, hotel, room, and {@code POST /checkout} with guest: 204</li>
+ *   <li>{@code GET /metrics}: the chain's {@link ChainMetrics} in the Prometheus text format</li>
+ * </ul>
+ * Dates are ISO-8601 (2024-06-01). Invalid input answers 400, unknown numbers
+ * 404, and a request the chain refuses (no rooms free, room occupied and so on)
+ * 409, each with an {"error": message} body. Any other failure, such as a
+ * write-ahead log that can no longer record changes, answers 500 and is logged
+ * through {@code java.util.logging}.
+ */
+public final class BookingApiServer implements Closeable {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 1024;
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String FORM = "application/x-www-form-urlencoded";
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+    private static final Logger LOGGER = Logger.getLogger(BookingApiServer.class.getName());
+
+    static {
+        // The JDK server flushes headers and body separately; with Nagle's algorithm on, the body
+        // then waits for the client's delayed ACK, about 40 ms per response. Read once, at first use.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HotelChain hotelChain;
+    private final ChainMetrics metrics;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server bound to the address; call {@link #start()} to accept requests.
+     * Port 0 binds an ephemeral port, reported by {@link #getPort()}. Attaches
+     * {@link ChainMetrics} to the chain unless it already has them.
+     */
+    public BookingApiServer(HotelChain hotelChain, InetSocketAddress address) throws IOException {
+        this(hotelChain, address, RequestExecutors.perRequest(Runtime.getRuntime().availableProcessors() * 8));
+    }
+
+    BookingApiServer(HotelChain hotelChain, InetSocketAddress address, ExecutorService executor) throws IOException {
+        if (hotelChain == null) {
+            throw new IllegalArgumentException("Hotel chain cannot be null");
+        }
+        if (address == null) {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+        this.hotelChain = hotelChain;
+        this.metrics = ChainMetrics.attach(hotelChain);
+        this.executor = executor;
+        this.server = HttpServer.create(address, BACKLOG);
+        server.createContext("/availability", exchange -> dispatch(exchange, this::availability));
+        server.createContext("/reservations", exchange -> dispatch(exchange, this::reservations));
+        server.createContext("/payers", exchange -> dispatch(exchange, this::payers));
+        server.createContext("/checkin", exchange -> dispatch(exchange, this::checkin));
+        server.createContext("/checkout", exchange -> dispatch(exchange, this::checkout));
+        server.createContext("/metrics", exchange -> dispatch(exchange, this::metrics));
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests and abandons those still running.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Serves the API on the given port (8080 by default). With a data
+     * directory, the chain is recovered from it and every change is logged there.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        HotelChain hotelChain = new HotelChain();
+        WriteAheadLog log = args.length > 1 ? WriteAheadLog.recover(Path.of(args[1]), hotelChain) : null;
+        BookingApiServer server = new BookingApiServer(hotelChain, new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            if (log != null) {
+                try {
+                    log.close();
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Could not close the write-ahead log", e);
+                }
+            }
+        }));
+        server.start();
+        System.out.println("Booking API listening on port " + server.getPort()
+                + (RequestExecutors.virtualThreadsAvailable() ? " (virtual threads)" : " (thread pool)"));
+    }
+
+    private void availability(HttpExchange exchange, String path, RequestParameters parameters) throws IOException {
+        requireMethod(exchange, "GET");
+        requireNoSubpath(path);
+        RoomKind kind = parameters.roomKind("kind");
+        Date start = parameters.date("start");
+        Date end = parameters.date("end");
+        int quantity = parameters.integer("quantity", 1);
+        int limit = parameters.integer("limit", Integer.MAX_VALUE);
+        List<HotelAvailability> matches = hotelChain.searchAvailability(kind, start, end, quantity,
+                availability -> true, limit);
+
+        JsonWriter json = respond(exchange, 200);
+        json.beginObject().name("availability").beginArray();
+        for (HotelAvailability match : matches) {
+            CompactMoney cost = match.getRoomType().getCompactCost();
+            json.beginObject()
+                    .name("hotel").value(match.getHotel().getName().getValue())
+                    .name("kind").value(kind.name())
+                    .name("availableRooms").value(match.getAvailableRooms())
+                    .name("cost").decimal(cost.getMinorUnits(), 2)
+                    .name("currency").value(cost.getCurrency())
+                    .endObject();
+        }
+        json.endArray().endObject().close();
+    }
+
+    private void reservations(HttpExchange exchange, String path, RequestParameters parameters) throws IOException {
+        if (path.isEmpty()) {
+            requireMethod(exchange, "POST");
+            Reservation reservation = hotelChain.makeReservation(parameters.integer("payer"),
+                    parameters.text("guest"), parameters.text("hotel"), parameters.roomKind("kind"),
+                    parameters.date("start"), parameters.date("end"), parameters.integer("quantity", 1));
+            JsonWriter json = respond(exchange, 201);
+            writeReservation(json, reservation);
+            json.close();
+            return;
+        }
+        int number = pathNumber(path);
+        String method = exchange.getRequestMethod();
+        if (method.equals("DELETE")) {
+            try {
+                hotelChain.cancelReservation(number);
+            } catch (IllegalStateException e) {
+                // Not booked, or a concurrent cancel got there first; a failure to
+                // log the cancel is not an IllegalStateException and answers 500
+                if (hotelChain.getReservation(number) == null) {
+                    throw new NotFoundException("Reservation " + number + " not found");
+                }
+                throw e;
+            }
+            respondEmpty(exchange);
+            return;
+        }
+        if (!method.equals("GET")) {
+            throw new MethodNotAllowedException("GET, DELETE");
+        }
+        Reservation reservation = hotelChain.getReservation(number);
+        if (reservation == null) {
+            throw new NotFoundException("Reservation " + number + " not found");
+        }
+        JsonWriter json = respond(exchange, 200);
+        writeReservation(json, reservation);
+        json.close();
+    }
+
+    private void payers(HttpExchange exchange, String path, RequestParameters parameters) throws IOException {
+        requireMethod(exchange, "GET");
+        int slash = path.indexOf('/', 1);
+        if (slash < 0 || !path.substring(slash).equals("/reservations")) {
+            throw new NotFoundException("No such resource");
+        }
+        int number = pathNumber(path.substring(0, slash));
+        ReserverPayer payer = hotelChain.getReserverPayer(number);
+        if (payer == null) {
+            throw new NotFoundException("Reserver payer " + number + " not found");
+        }
+        JsonWriter json = respond(exchange, 200);
+        json.beginObject().name("reservations").beginArray();
+        for (Reservation reservation : payer.getReservations()) {
+            writeReservation(json, reservation);
+        }
+        json.endArray().endObject().close();
+    }
+
+    private void checkin(HttpExchange exchange, String path, RequestParameters parameters) throws IOException {
+        requireMethod(exchange, "POST");
+        requireNoSubpath(path);
+        hotelChain.checkinGuest(parameters.text("guest"), parameters.integer("room"), parameters.text("hotel"));
+        respondEmpty(exchange);
+    }
+
+    private void checkout(HttpExchange exchange, String path, RequestParameters parameters) throws IOException {
+        requireMethod(exchange, "POST");
+        requireNoSubpath(path);
+        hotelChain.checkOutGuest(parameters.text("guest"));
+        respondEmpty(exchange);
+    }
+
+    private void metrics(HttpExchange exchange, String path, RequestParameters parameters) throws IOException {
+        requireMethod(exchange, "GET");
+        requireNoSubpath(path);
+        exchange.getResponseHeaders().set("Content-Type", PROMETHEUS_TEXT);
+        try (Writer out = new OutputStreamWriter(new ResponseStream(exchange, 200), StandardCharsets.UTF_8)) {
+            metrics.writePrometheus(out);
+        }
+    }
+
+    private static void writeReservation(JsonWriter json, Reservation reservation) throws IOException {
+        List<Room> rooms = reservation.getRooms();
+        Hotel hotel = rooms.isEmpty() ? null : rooms.get(0).getHotel();
+        json.beginObject()
+                .name("number").value(reservation.getNumber())
+                .name("reserverPayer").value(reservation.getReserverPayer().getNumber())
+                .name("hotel").value(hotel == null ? null : hotel.getName().getValue())
+                .name("reservationDate").value(reservation.getReservationDate())
+                .name("startDate").value(reservation.getStartDate())
+                .name("endDate").value(reservation.getEndDate())
+                .name("rooms").beginArray();
+        for (Room room : rooms) {
+            json.value(room.getNumber());
+        }
+        json.endArray().endObject();
+    }
+
+    /**
+     * Runs the route with the path below the context and the request's parameters,
+     * turning its exceptions into error responses.
+     */
+    private void dispatch(HttpExchange exchange, Route route) {
+        try {
+            String contextPath = exchange.getHttpContext().getPath();
+            String path = exchange.getRequestURI().getRawPath().substring(contextPath.length());
+            if (!path.isEmpty() && path.charAt(0) != '/') {
+                throw new NotFoundException("No such resource");
+            }
+            if (path.equals("/")) {
+                path = "";
+            }
+            route.handle(exchange, path, parameters(exchange));
+        } catch (NotFoundException e) {
+            respondError(exchange, 404, e.getMessage());
+        } catch (MethodNotAllowedException e) {
+            exchange.getResponseHeaders().set("Allow", e.getMessage());
+            respondError(exchange, 405, "Method not allowed");
+        } catch (IllegalArgumentException e) {
+            respondError(exchange, 400, e.getMessage());
+        } catch (IllegalStateException e) {
+            respondError(exchange, 409, e.getMessage());
+        } catch (IOException e) {
+            // The client went away; there is nobody left to answer
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Request " + exchange.getRequestURI() + " failed", e);
+            respondError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static RequestParameters parameters(HttpExchange exchange) throws IOException {
+        RequestParameters parameters = new RequestParameters();
+        parameters.addEncoded(exchange.getRequestURI().getRawQuery());
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        // Always read the body to its end, even when empty or ignored: the server
+        // drops a keep-alive connection whose request body was left unread
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] content = body.readAllBytes();
+            if (contentType != null && contentType.startsWith(FORM)) {
+                parameters.addEncoded(new String(content, StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equals(method)) {
+            throw new MethodNotAllowedException(method);
+        }
+    }
+
+    private static void requireNoSubpath(String path) {
+        if (!path.isEmpty()) {
+            throw new NotFoundException("No such resource");
+        }
+    }
+
+    /**
+     * Parses a path segment such as "/42"; anything else is an unknown resource.
+     */
+    private static int pathNumber(String segment) {
+        try {
+            return Integer.parseInt(segment.substring(1));
+        } catch (NumberFormatException e) {
+            throw new NotFoundException("No such resource");
+        }
+    }
+
+    /**
+     * Returns a writer on the response body; the status is sent with the first bytes that leave.
+     */
+    private static JsonWriter respond(HttpExchange exchange, int status) {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        return new JsonWriter(new ResponseStream(exchange, status));
+    }
+
+    private static void respondEmpty(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private static void respondError(HttpExchange exchange, int status, String message) {
+        if (exchange.getResponseCode() != -1) {
+            // Headers already sent: the response cannot change, only end early
+            return;
+        }
+        try {
+            JsonWriter json = respond(exchange, status);
+            json.beginObject().name("error").value(message).endObject().close();
+        } catch (IOException e) {
+            // The client went away
+        }
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        void handle(HttpExchange exchange, String path, RequestParameters parameters) throws IOException;
+    }
+
+    private static final class NotFoundException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        NotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Carries the allowed method as its message.
+     */
+    private static final class MethodNotAllowedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        MethodNotAllowedException(String allowed) {
+            super(allowed);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.hotel.reservation.api;
+
+import com.hotel.reservation.model.Date;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Streaming JSON writer that encodes straight into a byte buffer flushed to an
+ * output stream, so documents are never assembled as strings. Numbers and
+ * dates are written digit by digit and strings are UTF-8 encoded char by char,
+ * which keeps a response free of intermediate objects.
+ * <p>
+ * Calls must describe a well-formed document: names only inside objects, each
+ * followed by exactly one value. Not safe for concurrent use.
+ */
+public final class JsonWriter implements Flushable, Closeable {
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final int MAX_NUMBER_LENGTH = 21;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private boolean[] inObject;
+    private boolean[] hasMember;
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(OutputStream out) {
+        this(out, 8192);
+    }
+
+    public JsonWriter(OutputStream out, int bufferSize) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Buffer size must be at least 64 bytes");
+        }
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+        this.inObject = new boolean[16];
+        this.hasMember = new boolean[16];
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        push(true);
+        writeByte('{');
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        pop(true);
+        writeByte('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        push(false);
+        writeByte('[');
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        pop(false);
+        writeByte(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        if (name == null) {
+            throw new IllegalArgumentException("Name cannot be null");
+        }
+        if (depth == 0 || !inObject[depth] || afterName) {
+            throw new IllegalStateException("A name must appear inside an object, before its value");
+        }
+        if (hasMember[depth]) {
+            writeByte(',');
+        }
+        hasMember[depth] = true;
+        writeQuoted(name);
+        writeByte(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeQuoted(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        writeAscii(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes unscaledValue / 10^scale as a plain decimal number, for example
+     * 12345 with scale 2 as 123.45.
+     */
+    public JsonWriter decimal(long unscaledValue, int scale) throws IOException {
+        if (scale < 0 || scale > 18) {
+            throw new IllegalArgumentException("Scale must be between 0 and 18");
+        }
+        beforeValue();
+        if (scale == 0) {
+            writeLong(unscaledValue);
+            return this;
+        }
+        long divisor = 1;
+        for (int i = 0; i < scale; i++) {
+            divisor *= 10;
+        }
+        long whole = unscaledValue / divisor;
+        long fraction = Math.abs(unscaledValue % divisor);
+        if (unscaledValue < 0 && whole == 0) {
+            writeByte('-');
+        }
+        writeLong(whole);
+        writeByte('.');
+        for (long place = divisor / 10; place > 0; place /= 10) {
+            writeByte('0' + (int) (fraction / place % 10));
+        }
+        return this;
+    }
+
+    /**
+     * Writes the date as an ISO-8601 string such as "2024-06-01".
+     */
+    public JsonWriter value(Date date) throws IOException {
+        if (date == null) {
+            return nullValue();
+        }
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return value(date.toString());
+        }
+        beforeValue();
+        ensureCapacity(12);
+        buffer[position++] = '"';
+        writeDigits(year, 4);
+        buffer[position++] = '-';
+        writeDigits(date.getMonth(), 2);
+        buffer[position++] = '-';
+        writeDigits(date.getDay(), 2);
+        buffer[position++] = '"';
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        writeAscii("null");
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        out.flush();
+    }
+
+    /**
+     * Flushes and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (inObject[depth]) {
+                throw new IllegalStateException("A value inside an object needs a name");
+            }
+            if (hasMember[depth]) {
+                writeByte(',');
+            }
+            hasMember[depth] = true;
+        }
+    }
+
+    private void push(boolean object) {
+        depth++;
+        if (depth == inObject.length) {
+            inObject = Arrays.copyOf(inObject, depth * 2);
+            hasMember = Arrays.copyOf(hasMember, depth * 2);
+        }
+        inObject[depth] = object;
+        hasMember[depth] = false;
+    }
+
+    private void pop(boolean object) {
+        if (depth == 0 || inObject[depth] != object || afterName) {
+            throw new IllegalStateException("Nothing to close, or a name is missing its value");
+        }
+        depth--;
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        writeByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                writeByte(c);
+            } else if (c < 0x80) {
+                writeEscaped(c);
+            } else if (c < 0x800) {
+                ensureCapacity(2);
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensureCapacity(4);
+                buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: not encodable, replaced as String.getBytes would
+                writeByte('?');
+            } else {
+                ensureCapacity(3);
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeEscaped(char c) throws IOException {
+        ensureCapacity(6);
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buffer[position++] = (byte) c;
+                break;
+            case '\n':
+                buffer[position++] = 'n';
+                break;
+            case '\r':
+                buffer[position++] = 'r';
+                break;
+            case '\t':
+                buffer[position++] = 't';
+                break;
+            default:
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        ensureCapacity(MAX_NUMBER_LENGTH);
+        if (value == Long.MIN_VALUE) {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int length = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            length++;
+        }
+        for (int i = position + length - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += length;
+    }
+
+    private void writeDigits(int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+    }
+
+    private void writeAscii(String text) throws IOException {
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[position++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
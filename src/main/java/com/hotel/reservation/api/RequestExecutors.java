@@ -0,0 +1,65 @@
+package com.hotel.reservation.api;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the executor that runs each HTTP request. On a JDK with virtual
+ * threads every request gets its own; the project still compiles for Java 17,
+ * so the factory is looked up reflectively. Older JDKs get a fixed pool of
+ * daemon platform threads instead.
+ */
+final class RequestExecutors {
+
+    private RequestExecutors() {
+    }
+
+    /**
+     * A thread-per-request executor on virtual threads when the running JDK has
+     * them, otherwise a fixed pool of fallbackThreads platform threads.
+     */
+    static ExecutorService perRequest(int fallbackThreads) {
+        if (fallbackThreads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        ExecutorService virtual = virtualThreadPerTask();
+        return virtual != null ? virtual : Executors.newFixedThreadPool(fallbackThreads, daemonThreads());
+    }
+
+    static boolean virtualThreadsAvailable() {
+        return findFactory() != null;
+    }
+
+    private static ExecutorService virtualThreadPerTask() {
+        Method factory = findFactory();
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Present but unusable, e.g. a preview feature not enabled on this JDK
+            return null;
+        }
+    }
+
+    private static Method findFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "http-request-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.hotel.reservation.api;
+
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parameters of one request, from its query string and (for forms) its body.
+ * Accessors throw IllegalArgumentException naming the parameter, which the
+ * server reports as 400 Bad Request.
+ */
+final class RequestParameters {
+    private final Map<String, String> values = new HashMap<>();
+
+    /**
+     * Adds the pairs of an application/x-www-form-urlencoded string; a later
+     * value for the same name replaces an earlier one.
+     */
+    void addEncoded(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        int start = 0;
+        while (start <= encoded.length()) {
+            int end = encoded.indexOf('&', start);
+            if (end < 0) {
+                end = encoded.length();
+            }
+            if (end > start) {
+                int equals = encoded.indexOf('=', start);
+                if (equals < 0 || equals > end) {
+                    values.put(decode(encoded.substring(start, end)), "");
+                } else {
+                    values.put(decode(encoded.substring(start, equals)), decode(encoded.substring(equals + 1, end)));
+                }
+            }
+            start = end + 1;
+        }
+    }
+
+    String text(String name) {
+        String value = values.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    int integer(String name) {
+        String value = text(name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be an integer");
+        }
+    }
+
+    int integer(String name, int defaultValue) {
+        return values.containsKey(name) ? integer(name) : defaultValue;
+    }
+
+    Date date(String name) {
+        String value = text(name);
+        try {
+            return new Date(LocalDate.parse(value));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a date like 2024-06-01");
+        }
+    }
+
+    RoomKind roomKind(String name) {
+        String value = text(name);
+        for (RoomKind kind : RoomKind.values()) {
+            if (kind.name().equalsIgnoreCase(value)) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unknown room kind: " + value);
+    }
+
+    private static String decode(String text) {
+        try {
+            return URLDecoder.decode(text, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed parameter encoding");
+        }
+    }
+}
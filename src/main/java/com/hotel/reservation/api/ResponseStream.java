@@ -0,0 +1,82 @@
+package com.hotel.reservation.api;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Response body that sends the status line as late as it can. A body written
+ * in one piece (everything {@link JsonWriter} produces within its buffer) goes
+ * out with a Content-Length in a single write, without chunk framing or a
+ * closing chunk; a longer body falls back to chunked encoding and streams.
+ */
+final class ResponseStream extends OutputStream {
+    private final HttpExchange exchange;
+    private final int status;
+    private byte[] pending;
+    private OutputStream body;
+    private boolean closed;
+
+    ResponseStream(HttpExchange exchange, int status) {
+        this.exchange = exchange;
+        this.status = status;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Response already closed");
+        }
+        if (length == 0) {
+            return;
+        }
+        if (body == null && pending == null) {
+            pending = Arrays.copyOfRange(bytes, offset, offset + length);
+            return;
+        }
+        startChunked();
+        body.write(bytes, offset, length);
+    }
+
+    /**
+     * Holds back a lone first piece, which close may still send with a length.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (body != null) {
+            body.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (body == null) {
+            byte[] content = pending == null ? new byte[0] : pending;
+            exchange.sendResponseHeaders(status, content.length == 0 ? -1 : content.length);
+            body = exchange.getResponseBody();
+            body.write(content);
+        }
+        body.close();
+    }
+
+    private void startChunked() throws IOException {
+        if (body != null) {
+            return;
+        }
+        exchange.sendResponseHeaders(status, 0);
+        body = exchange.getResponseBody();
+        body.write(pending);
+        pending = null;
+    }
+}
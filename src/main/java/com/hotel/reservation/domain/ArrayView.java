@@ -0,0 +1,105 @@
+package com.hotel.reservation.domain;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Immutable list over the first {@code size} slots of an array.
+ * <p>
+ * Owners hold the current view in a volatile field and replace it on every
+ * change, so getters can hand it out without copying and readers never see a
+ * change in progress. Appending writes into spare capacity that no existing
+ * view can see, so adding an element is amortised O(1); removing copies.
+ * Changes must be serialized by the owner.
+ *
+ * @param <E> element type
+ */
+final class ArrayView<E> extends AbstractList<E> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final ArrayView<Object> EMPTY = new ArrayView<>(new Object[0], 0);
+
+    private final Object[] elements;
+    private final int size;
+
+    private ArrayView(Object[] elements, int size) {
+        this.elements = elements;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> ArrayView<E> empty() {
+        return (ArrayView<E>) EMPTY;
+    }
+
+    /**
+     * Returns a view with the element appended; this view is unchanged.
+     */
+    ArrayView<E> with(E element) {
+        Objects.requireNonNull(element, "element");
+        // The slot after our last one is free unless a later view already claimed it
+        if (size < elements.length && elements[size] == null) {
+            elements[size] = element;
+            return new ArrayView<>(elements, size + 1);
+        }
+        Object[] grown = Arrays.copyOf(elements, Math.max(INITIAL_CAPACITY, size + (size >> 1) + 1));
+        grown[size] = element;
+        return new ArrayView<>(grown, size + 1);
+    }
+
+    /**
+     * Returns a view without the first element equal to the given one, or this view if there is none.
+     */
+    ArrayView<E> without(Object element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return this;
+        }
+        Object[] copy = new Object[size - 1 + (size >> 2)];
+        System.arraycopy(elements, 0, copy, 0, index);
+        System.arraycopy(elements, index + 1, copy, index, size - index - 1);
+        return new ArrayView<>(copy, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(o, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((E) elements[i]);
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
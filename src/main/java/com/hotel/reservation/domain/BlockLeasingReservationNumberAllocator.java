@@ -0,0 +1,179 @@
+package com.hotel.reservation.domain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free reservation number allocator.
+ * Numbers are handed out from a few stripes, each holding a block of consecutive
+ * numbers leased from a shared atomic counter. A thread takes the next number of
+ * the stripe its ID hashes to with one compare-and-set, and moves to another
+ * stripe when that one is contended or being refilled. Stripes outlive the
+ * threads that use them, so a thread that allocates once and dies (as a
+ * request on its own virtual thread does) leases nothing of its own, and the
+ * numbers in use stay within a few blocks of the count allocated.
+ * <p>
+ * When a high-water mark file is given, the allocator records an upper bound on
+ * leased numbers before handing any of them out and resumes above it on the next
+ * start, so numbers stay unique across restarts. The mark is written ahead in
+ * large steps, so the file is touched only once per many blocks.
+ */
+public final class BlockLeasingReservationNumberAllocator implements ReservationNumberAllocator {
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final long MARK_STEP_BLOCKS = 1024;
+    private static final int MAX_STRIPES = 64;
+    /** Stripe state while the thread that found it exhausted leases a new block. */
+    private static final long REFILLING = -1L;
+
+    private final int blockSize;
+    private final Path highWaterMarkFile;
+    private final AtomicLong nextBlockStart;
+    /** Next number in the high half and end of the block in the low half; empty when next reaches end. */
+    private final AtomicLongArray stripes;
+    private volatile long durableLimit;
+
+    public BlockLeasingReservationNumberAllocator() {
+        this(null, DEFAULT_BLOCK_SIZE);
+    }
+
+    public BlockLeasingReservationNumberAllocator(Path highWaterMarkFile) {
+        this(highWaterMarkFile, DEFAULT_BLOCK_SIZE);
+    }
+
+    public BlockLeasingReservationNumberAllocator(Path highWaterMarkFile, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockSize = blockSize;
+        this.highWaterMarkFile = highWaterMarkFile;
+        long start = highWaterMarkFile == null ? 1 : readHighWaterMark(highWaterMarkFile);
+        this.nextBlockStart = new AtomicLong(start);
+        this.durableLimit = highWaterMarkFile == null ? Long.MAX_VALUE : start;
+        int processors = Runtime.getRuntime().availableProcessors();
+        this.stripes = new AtomicLongArray(Math.min(MAX_STRIPES, Integer.highestOneBit(processors * 2 - 1)));
+    }
+
+    @Override
+    public int allocate() {
+        int mask = stripes.length() - 1;
+        long id = Thread.currentThread().getId();
+        int index = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (true) {
+            long state = stripes.get(index);
+            if (state == REFILLING) {
+                // Rare, once per block; let the refilling thread run if it shares our carrier
+                index = (index + 1) & mask;
+                Thread.yield();
+                continue;
+            }
+            long next = state >>> 32;
+            long end = state & 0xFFFFFFFFL;
+            if (next < end) {
+                if (stripes.compareAndSet(index, state, state + (1L << 32))) {
+                    return (int) next;
+                }
+                index = (index + 1) & mask;
+            } else if (stripes.compareAndSet(index, state, REFILLING)) {
+                return refill(index, state);
+            }
+        }
+    }
+
+    /**
+     * Moves the next lease above the given number. Blocks already held by a
+     * stripe are not affected, so call this before allocation starts.
+     */
+    @Override
+    public void markUsed(int number) {
+        nextBlockStart.accumulateAndGet((long) number + 1, Math::max);
+    }
+
+    /**
+     * Returns the first number no stripe has leased yet.
+     */
+    public long getNextUnleased() {
+        return nextBlockStart.get();
+    }
+
+    /**
+     * Leases a block into the stripe this thread marked as refilling and returns
+     * its first number; puts the stripe back as it was if leasing fails.
+     */
+    private int refill(int index, long exhausted) {
+        long start;
+        try {
+            start = lease();
+        } catch (RuntimeException e) {
+            stripes.set(index, exhausted);
+            throw e;
+        }
+        stripes.set(index, ((start + 1) << 32) | (start + blockSize));
+        return (int) start;
+    }
+
+    private long lease() {
+        long start = nextBlockStart.getAndAdd(blockSize);
+        long end = start + blockSize;
+        if (end - 1 > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Reservation numbers exhausted");
+        }
+        if (end > durableLimit) {
+            advanceHighWaterMark(end);
+        }
+        return start;
+    }
+
+    private synchronized void advanceHighWaterMark(long required) {
+        if (required <= durableLimit) {
+            return;
+        }
+        long mark = Math.min(Math.max(required, durableLimit + MARK_STEP_BLOCKS * blockSize),
+                             (long) Integer.MAX_VALUE + 1);
+        writeHighWaterMark(highWaterMarkFile, mark);
+        durableLimit = mark;
+    }
+
+    private static long readHighWaterMark(Path file) {
+        if (!Files.exists(file)) {
+            return 1;
+        }
+        try {
+            String content = Files.readString(file, StandardCharsets.US_ASCII).trim();
+            long mark = Long.parseLong(content);
+            if (mark < 1) {
+                throw new IllegalStateException("Invalid reservation number high-water mark: " + content);
+            }
+            return mark;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid reservation number high-water mark in " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read reservation number high-water mark", e);
+        }
+    }
+
+    private static void writeHighWaterMark(Path file, long mark) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        byte[] content = Long.toString(mark).getBytes(StandardCharsets.US_ASCII);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(content));
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write reservation number high-water mark", e);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write reservation number high-water mark", e);
+        }
+    }
+}
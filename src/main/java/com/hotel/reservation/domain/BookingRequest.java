@@ -0,0 +1,63 @@
+package com.hotel.reservation.domain;
+
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+
+/**
+ * One booking in a batch passed to {@link HotelChain#makeReservations(java.util.List)};
+ * carries the same arguments as a single {@link HotelChain#makeReservation} call.
+ */
+public final class BookingRequest {
+    private final int reserverPayerNumber;
+    private final String guestName;
+    private final String hotelName;
+    private final RoomKind roomKind;
+    private final Date startDate;
+    private final Date endDate;
+    private final int quantity;
+
+    public BookingRequest(int reserverPayerNumber, String guestName, String hotelName,
+                          RoomKind roomKind, Date startDate, Date endDate, int quantity) {
+        this.reserverPayerNumber = reserverPayerNumber;
+        this.guestName = guestName;
+        this.hotelName = hotelName;
+        this.roomKind = roomKind;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.quantity = quantity;
+    }
+
+    public int getReserverPayerNumber() {
+        return reserverPayerNumber;
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public RoomKind getRoomKind() {
+        return roomKind;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingRequest{payer=" + reserverPayerNumber + ", hotel=" + hotelName + ", kind=" + roomKind
+                + ", startDate=" + startDate + ", endDate=" + endDate + ", quantity=" + quantity + "}";
+    }
+}
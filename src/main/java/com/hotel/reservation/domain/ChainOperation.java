@@ -0,0 +1,13 @@
+package com.hotel.reservation.domain;
+
+/**
+ * The {@link HotelChain} operations reported to its {@link OperationListener}.
+ */
+public enum ChainOperation {
+    MAKE_RESERVATION,
+    MAKE_RESERVATIONS,
+    CANCEL_RESERVATION,
+    CHECK_IN,
+    CHECK_OUT,
+    CREATE_RESERVER_PAYER
+}
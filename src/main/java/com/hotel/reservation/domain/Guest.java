@@ -12,7 +12,7 @@ import java.util.Objects;
 public class Guest {
     private final Name name;
     private final Address addressDetails;
-    private Room occupiedRoom;
+    private volatile Room occupiedRoom;
 
     private Guest(Name name, Address addressDetails) {
         validateName(name);
@@ -1,13 +1,17 @@
 package com.hotel.reservation.domain;
 
+import com.hotel.reservation.model.BusinessClock;
 import com.hotel.reservation.model.Date;
 import com.hotel.reservation.model.Money;
 import com.hotel.reservation.model.Name;
 import com.hotel.reservation.model.RoomKind;
 
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -16,15 +20,32 @@ import java.util.stream.Collectors;
  */
 public class Hotel {
     private final Name name;
+    private final ZoneId zone;
     private HotelChain hotelChain;
-    private final List<RoomType> roomTypes;
-    private final List<Room> rooms;
+    private volatile ArrayView<RoomType> roomTypes;
+    private volatile RoomType[] roomTypesByKind;
+    private volatile ArrayView<Room> rooms;
+    private final IntHashMap<Room> roomsByNumber;
+    private final LongAdder heldReservations = new LongAdder();
 
     public Hotel(Name name) {
+        this(name, BusinessClock.system().getDefaultZone());
+    }
+
+    /**
+     * Creates a hotel whose business day follows the given time zone.
+     */
+    public Hotel(Name name, ZoneId zone) {
         validateName(name);
+        if (zone == null) {
+            throw new IllegalArgumentException("Time zone cannot be null");
+        }
         this.name = name;
-        this.roomTypes = new ArrayList<>();
-        this.rooms = new ArrayList<>();
+        this.zone = zone;
+        this.roomTypes = ArrayView.empty();
+        this.roomTypesByKind = new RoomType[RoomKind.values().length];
+        this.rooms = ArrayView.empty();
+        this.roomsByNumber = new IntHashMap<>();
     }
 
     private void validateName(Name name) {
@@ -41,12 +62,67 @@ public class Hotel {
         return hotelChain;
     }
 
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Today in this hotel's time zone, read from its chain's clock (the system
+     * clock while the hotel belongs to no chain).
+     */
+    public Date today() {
+        HotelChain chain = hotelChain;
+        BusinessClock clock = chain != null ? chain.getClock() : BusinessClock.system();
+        return clock.today(zone);
+    }
+
+    /**
+     * Returns the room types as an unmodifiable list; it does not change when types are added later.
+     */
     public List<RoomType> getRoomTypes() {
-        return new ArrayList<>(roomTypes);
+        return roomTypes;
     }
 
+    /**
+     * Returns the rooms as an unmodifiable list; it does not change when rooms are added later.
+     */
     public List<Room> getRooms() {
-        return new ArrayList<>(rooms);
+        return rooms;
+    }
+
+    public void forEachRoom(Consumer<? super Room> action) {
+        rooms.forEach(action);
+    }
+
+    /**
+     * Returns the room with the given number, or null if this hotel has none.
+     * Answered from an index, so the cost does not depend on the hotel's size.
+     */
+    public Room findRoom(int roomNumber) {
+        return roomsByNumber.get(roomNumber);
+    }
+
+    /**
+     * Number of rooms with a guest checked in, summed over the room types.
+     */
+    public int getOccupiedRoomCount() {
+        int occupied = 0;
+        for (RoomType roomType : roomTypes) {
+            occupied += roomType.getOccupiedRoomCount();
+        }
+        return occupied;
+    }
+
+    /**
+     * Number of reservations for this hotel that are on the books, past stays
+     * included, and have not been cancelled.
+     */
+    public long getHeldReservationCount() {
+        return heldReservations.sum();
+    }
+
+    void reservationHeldChanged(int delta) {
+        heldReservations.add(delta);
     }
 
     void setHotelChain(HotelChain hotelChain) {
@@ -57,8 +133,28 @@ public class Hotel {
         if (roomType == null) {
             throw new IllegalArgumentException("Room type cannot be null");
         }
-        if (!roomTypes.contains(roomType)) {
-            roomTypes.add(roomType);
+        HotelChain chain;
+        long sequence = 0;
+        synchronized (this) {
+            RoomType existing = roomTypesByKind[roomType.getKind().ordinal()];
+            if (roomType.equals(existing)) {
+                return;
+            }
+            if (existing != null) {
+                throw new IllegalArgumentException("Hotel already has a room type of kind " + roomType.getKind());
+            }
+            // Logged before it is published, so no booking can reach the log first
+            chain = hotelChain;
+            if (chain != null) {
+                sequence = chain.roomTypeAdded(roomType);
+            }
+            RoomType[] byKind = roomTypesByKind.clone();
+            byKind[roomType.getKind().ordinal()] = roomType;
+            roomTypes = roomTypes.with(roomType);
+            roomTypesByKind = byKind;
+        }
+        if (chain != null) {
+            chain.awaitDurable(sequence);
         }
     }
 
@@ -66,8 +162,22 @@ public class Hotel {
         if (room == null) {
             throw new IllegalArgumentException("Room cannot be null");
         }
-        if (!rooms.contains(room)) {
-            rooms.add(room);
+        HotelChain chain;
+        long sequence = 0;
+        // Room numbers are unique within a hotel
+        synchronized (this) {
+            if (roomsByNumber.get(room.getNumber()) != null) {
+                return;
+            }
+            chain = hotelChain;
+            if (chain != null) {
+                sequence = chain.roomAdded(room);
+            }
+            roomsByNumber.putIfAbsent(room.getNumber(), room);
+            rooms = rooms.with(room);
+        }
+        if (chain != null) {
+            chain.awaitDurable(sequence);
         }
     }
 
@@ -89,36 +199,94 @@ public class Hotel {
             return false;
         }
 
-        List<Room> availableRooms = requestedRoomType.getRooms().stream()
-                .filter(room -> isRoomAvailableForDates(room, startDate, endDate))
-                .collect(Collectors.toList());
+        // Upper bound from the nightly sold counts
+        int maxSold = requestedRoomType.maxSold(startDate, endDate);
+        if (requestedRoomType.getRooms().size() - maxSold < quantity) {
+            return false;
+        }
+        if (maxSold == 0) {
+            // Nothing of this kind is booked on these days, so only occupancy rules rooms out
+            return requestedRoomType.getAvailableRoomCount() >= quantity;
+        }
 
-        return availableRooms.size() >= quantity;
+        int found = 0;
+        for (Room room : requestedRoomType.getRooms()) {
+            if (isRoomAvailableForDates(room, startDate, endDate) && ++found >= quantity) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private RoomType findRoomType(RoomKind roomKind) {
-        return roomTypes.stream()
-                .filter(rt -> rt.getKind() == roomKind)
-                .findFirst()
-                .orElse(null);
+    /**
+     * Counts the rooms of the given kind that are free for the whole stay.
+     * Like {@link #available}, it skips the room walk when nothing of the kind
+     * is sold on those days.
+     */
+    public int countAvailableRooms(RoomKind roomKind, Date startDate, Date endDate) {
+        RoomType requestedRoomType = findRoomType(roomKind);
+        if (requestedRoomType == null || startDate == null || endDate == null) {
+            return 0;
+        }
+        if (requestedRoomType.maxSold(startDate, endDate) == 0) {
+            return requestedRoomType.getAvailableRoomCount();
+        }
+        int found = 0;
+        for (Room room : requestedRoomType.getRooms()) {
+            if (isRoomAvailableForDates(room, startDate, endDate)) {
+                found++;
+            }
+        }
+        return found;
     }
 
-    private boolean isRoomAvailableForDates(Room room, Date startDate, Date endDate) {
-        if (room.isOccupied()) {
-            return false;
+    /**
+     * Availability of the given kind for a chain-wide search, or null when the
+     * hotel cannot offer quantity rooms for the whole stay.
+     */
+    HotelAvailability checkAvailability(RoomKind roomKind, Date startDate, Date endDate, int quantity) {
+        RoomType requestedRoomType = findRoomType(roomKind);
+        if (requestedRoomType == null || !requestedRoomType.mayHaveCapacity(startDate, endDate, quantity)) {
+            return null;
         }
+        int count = countAvailableRooms(roomKind, startDate, endDate);
+        if (count < quantity) {
+            return null;
+        }
+        return new HotelAvailability(this, requestedRoomType, count);
+    }
 
-        List<Reservation> conflictingReservations = room.getReservations().stream()
-                .filter(reservation -> datesOverlap(
-                    reservation.getStartDate(), reservation.getEndDate(),
-                    startDate, endDate))
-                .collect(Collectors.toList());
+    RoomType findRoomType(RoomKind roomKind) {
+        return roomKind == null ? null : roomTypesByKind[roomKind.ordinal()];
+    }
+
+    /**
+     * Counts of rooms of the given kind for one night, or null if the hotel has no such kind.
+     * Answered from running totals, so it never visits rooms.
+     */
+    public RoomTypeSummary summarize(RoomKind roomKind, Date date) {
+        RoomType roomType = findRoomType(roomKind);
+        return roomType == null ? null : roomType.summarize(date);
+    }
 
-        return conflictingReservations.isEmpty();
+    /**
+     * Counts for every room kind the hotel offers, in {@link RoomKind} order.
+     */
+    public List<RoomTypeSummary> summarize(Date date) {
+        List<RoomTypeSummary> summaries = new ArrayList<>();
+        for (RoomType roomType : roomTypesByKind) {
+            if (roomType != null) {
+                summaries.add(roomType.summarize(date));
+            }
+        }
+        return summaries;
     }
 
-    private boolean datesOverlap(Date start1, Date end1, Date start2, Date end2) {
-        return !start1.isAfter(end2) && !start2.isAfter(end1);
+    boolean isRoomAvailableForDates(Room room, Date startDate, Date endDate) {
+        if (room.isOccupied()) {
+            return false;
+        }
+        return !room.isReservedBetween(startDate, endDate);
     }
 
     public List<Room> findAvailableRooms(RoomKind roomKind, Date startDate, Date endDate, int quantity) {
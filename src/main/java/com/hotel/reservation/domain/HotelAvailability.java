@@ -0,0 +1,50 @@
+package com.hotel.reservation.domain;
+
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.RoomKind;
+
+/**
+ * One hotel's answer to a chain-wide availability search: how many rooms of
+ * the requested kind are free for the whole stay, and what one of them costs.
+ */
+public final class HotelAvailability {
+    private final Hotel hotel;
+    private final RoomType roomType;
+    private final int availableRooms;
+
+    HotelAvailability(Hotel hotel, RoomType roomType, int availableRooms) {
+        this.hotel = hotel;
+        this.roomType = roomType;
+        this.availableRooms = availableRooms;
+    }
+
+    public Hotel getHotel() {
+        return hotel;
+    }
+
+    public RoomKind getKind() {
+        return roomType.getKind();
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public int getAvailableRooms() {
+        return availableRooms;
+    }
+
+    /**
+     * Cost of one room of the requested kind; a hotel has one room type per kind,
+     * so this is also its cheapest matching rate.
+     */
+    public Money getCost() {
+        return roomType.getCost();
+    }
+
+    @Override
+    public String toString() {
+        return "HotelAvailability{hotel=" + hotel.getName() + ", kind=" + roomType.getKind()
+                + ", available=" + availableRooms + ", cost=" + roomType.getCost() + "}";
+    }
+}
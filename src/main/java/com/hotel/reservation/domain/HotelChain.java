@@ -1,6 +1,7 @@
 package com.hotel.reservation.domain;
 
 import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.BusinessClock;
 import com.hotel.reservation.model.CreditCard;
 import com.hotel.reservation.model.Date;
 import com.hotel.reservation.model.Identity;
@@ -8,132 +9,603 @@ import com.hotel.reservation.model.Name;
 import com.hotel.reservation.model.RoomKind;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Main aggregate root for the hotel reservation system.
  * As per UML: manages reservations, guests, hotels, and reserverPayers.
+ * <p>
+ * Safe for concurrent use. Registries are concurrent maps, and every booking,
+ * cancellation and check-in is guarded by the lock of the room type it touches,
+ * so work on different hotels (or different room types) proceeds in parallel
+ * while bookings competing for the same rooms are serialized. Bookings pick
+ * their rooms optimistically and only hold the lock while committing.
  */
 public class HotelChain {
-    private final Map<Integer, ReserverPayer> reserverPayers;
+    private static final int MAX_OPTIMISTIC_ATTEMPTS = 8;
+
+    private final IntHashMap<ReserverPayer> reserverPayers;
     private final Map<String, Guest> guests;
     private final Map<String, Hotel> hotels;
+    private final IntHashMap<Reservation> reservationsByNumber;
+    private final ConcurrentSkipListMap<Long, Reservation> reservationsByStart;
+    private final AtomicLong longestStayDays;
+    private final ReservationNumberAllocator reservationNumbers;
+    private final LongAdder optimisticRetries;
+    private final BusinessClock clock;
+    private volatile MutationLog mutationLog;
+    private volatile OperationListener operationListener;
 
     public HotelChain() {
-        this.reserverPayers = new HashMap<>();
-        this.guests = new HashMap<>();
-        this.hotels = new HashMap<>();
+        this(new BlockLeasingReservationNumberAllocator());
+    }
+
+    public HotelChain(ReservationNumberAllocator reservationNumbers) {
+        this(reservationNumbers, BusinessClock.system());
+    }
+
+    /**
+     * Creates a chain that dates reservations by the given clock, in each hotel's time zone.
+     */
+    public HotelChain(ReservationNumberAllocator reservationNumbers, BusinessClock clock) {
+        if (reservationNumbers == null) {
+            throw new IllegalArgumentException("Reservation number allocator cannot be null");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.reservationNumbers = reservationNumbers;
+        this.clock = clock;
+        this.reserverPayers = new IntHashMap<>();
+        this.guests = new ConcurrentHashMap<>();
+        this.hotels = new ConcurrentHashMap<>();
+        this.reservationsByNumber = new IntHashMap<>();
+        this.reservationsByStart = new ConcurrentSkipListMap<>();
+        this.longestStayDays = new AtomicLong();
+        this.optimisticRetries = new LongAdder();
+        this.mutationLog = MutationLog.NONE;
+        this.operationListener = OperationListener.NONE;
+    }
+
+    /**
+     * Attaches the log that every subsequent change is recorded in.
+     * Attach it after recovery so replayed changes are not logged twice.
+     */
+    public void setMutationLog(MutationLog mutationLog) {
+        if (mutationLog == null) {
+            throw new IllegalArgumentException("Mutation log cannot be null");
+        }
+        this.mutationLog = mutationLog;
+    }
+
+    public MutationLog getMutationLog() {
+        return mutationLog;
+    }
+
+    /**
+     * Attaches the listener told the outcome and duration of every subsequent
+     * booking, cancellation, check-in, check-out and payer creation.
+     */
+    public void setOperationListener(OperationListener operationListener) {
+        if (operationListener == null) {
+            throw new IllegalArgumentException("Operation listener cannot be null");
+        }
+        this.operationListener = operationListener;
+    }
+
+    public OperationListener getOperationListener() {
+        return operationListener;
+    }
+
+    public BusinessClock getClock() {
+        return clock;
     }
 
     public ReserverPayer createReserverPayer(CreditCard creditCard, Identity id, int number) {
+        long started = operationStarted();
+        ReserverPayer reserverPayer;
+        try {
+            reserverPayer = addReserverPayer(creditCard, id, number);
+        } catch (RuntimeException e) {
+            operationFailed(ChainOperation.CREATE_RESERVER_PAYER, e, started);
+            throw e;
+        }
+        operationEnded(ChainOperation.CREATE_RESERVER_PAYER, OperationOutcome.SUCCESS, started);
+        return reserverPayer;
+    }
+
+    private ReserverPayer addReserverPayer(CreditCard creditCard, Identity id, int number) {
         if (reserverPayers.containsKey(number)) {
             throw new IllegalArgumentException("ReserverPayer with number " + number + " already exists");
         }
         
         ReserverPayer reserverPayer = ReserverPayer.create(creditCard, id, number);
-        reserverPayers.put(number, reserverPayer);
+        long sequence;
+        // Log before publishing, so no reservation for this payer can be logged ahead of it
+        synchronized (reserverPayers) {
+            if (reserverPayers.containsKey(number)) {
+                throw new IllegalArgumentException("ReserverPayer with number " + number + " already exists");
+            }
+            sequence = mutationLog.reserverPayerCreated(reserverPayer);
+            reserverPayers.put(number, reserverPayer);
+        }
+        mutationLog.awaitDurable(sequence);
         return reserverPayer;
     }
 
     public Reservation makeReservation(int reserverPayerNumber, String guestName, String hotelName,
                                       RoomKind roomKind, Date startDate, Date endDate, int quantity) {
-        // Validate inputs
-        if (!canMakeReservation(reserverPayerNumber, guestName, hotelName, roomKind, startDate, endDate, quantity)) {
+        long started = operationStarted();
+        Reservation reservation;
+        try {
+            // Validate inputs
+            if (!canMakeReservation(reserverPayerNumber, guestName, hotelName, roomKind, startDate, endDate, quantity)) {
+                throw new IllegalStateException("Cannot make reservation: validation failed");
+            }
+            reservation = reserve(reserverPayers.get(reserverPayerNumber), hotels.get(hotelName), roomKind,
+                                  startDate, endDate, quantity);
+        } catch (RuntimeException e) {
+            operationFailed(ChainOperation.MAKE_RESERVATION, e, started);
+            throw e;
+        }
+        if (reservation == null) {
+            operationEnded(ChainOperation.MAKE_RESERVATION, OperationOutcome.NO_AVAILABILITY, started);
             throw new IllegalStateException("Cannot make reservation: validation failed");
         }
+        operationEnded(ChainOperation.MAKE_RESERVATION, OperationOutcome.SUCCESS, started);
+        return reservation;
+    }
 
-        ReserverPayer reserverPayer = reserverPayers.get(reserverPayerNumber);
-        Guest guest = guests.get(guestName);
-        Hotel hotel = hotels.get(hotelName);
+    /**
+     * Books validated input, or returns null when too few rooms are free.
+     */
+    private Reservation reserve(ReserverPayer reserverPayer, Hotel hotel, RoomKind roomKind,
+                                Date startDate, Date endDate, int quantity) {
+        RoomType roomType = hotel.findRoomType(roomKind);
+
+        // Optimistic path: choose rooms against the room type's version stamp, then
+        // commit only if no other writer touched the room type in between.
+        StampedLock lock = roomType.bookingLock();
+        for (int attempt = 0; ; attempt++) {
+            boolean exclusive = attempt >= MAX_OPTIMISTIC_ATTEMPTS;
+            long stamp = exclusive ? lock.writeLock() : lock.tryOptimisticRead();
+            if (stamp == 0) {
+                // A writer holds the room type right now
+                recordRetry(roomType);
+                Thread.onSpinWait();
+                continue;
+            }
+
+            List<Room> availableRooms;
+            try {
+                availableRooms = hotel.available(roomKind, startDate, endDate, quantity)
+                        ? hotel.findAvailableRooms(roomKind, startDate, endDate, quantity)
+                        : List.of();
+            } catch (RuntimeException e) {
+                if (exclusive) {
+                    lock.unlockWrite(stamp);
+                    throw e;
+                }
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+                recordRetry(roomType);
+                continue;
+            }
+
+            if (!exclusive) {
+                if (availableRooms.size() < quantity && lock.validate(stamp)) {
+                    return null;
+                }
+                long writeStamp = availableRooms.size() < quantity ? 0 : lock.tryConvertToWriteLock(stamp);
+                if (writeStamp == 0) {
+                    recordRetry(roomType);
+                    continue;
+                }
+                stamp = writeStamp;
+            }
 
+            Reservation reservation;
+            long sequence;
+            try {
+                if (availableRooms.size() < quantity) {
+                    return null;
+                }
+                Reservation previous;
+                synchronized (reserverPayer) {
+                    previous = reserverPayer.getReservation();
+                }
+                reservation = commitReservation(reserverPayer, hotel, startDate, endDate, quantity, availableRooms);
+                try {
+                    sequence = mutationLog.reservationMade(reservation);
+                } catch (RuntimeException e) {
+                    rollBack(List.of(reservation), Collections.singletonMap(reserverPayer, previous));
+                    throw e;
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            mutationLog.awaitDurable(sequence);
+            return reservation;
+        }
+    }
+
+    /**
+     * Creates the reservation and assigns the chosen rooms; caller holds the room type's write lock.
+     */
+    private Reservation commitReservation(ReserverPayer reserverPayer, Hotel hotel, Date startDate, Date endDate,
+                                          int quantity, List<Room> availableRooms) {
         // Create reservation
         int reservationNumber = generateReservationNumber();
-        Date reservationDate = new Date(java.time.LocalDate.now());
-        Reservation reservation = hotel.createReservation(reservationDate, startDate, endDate, 
+        Date reservationDate = hotel.today();
+        Reservation reservation = hotel.createReservation(reservationDate, startDate, endDate,
                                                          reservationNumber, reserverPayer);
 
-        // Find available rooms
-        List<Room> availableRooms = hotel.findAvailableRooms(roomKind, startDate, endDate, quantity);
-        
-        if (availableRooms.size() < quantity) {
-            throw new IllegalStateException("Not enough available rooms");
-        }
-
         // Assign rooms to reservation
         HowMany howMany = new HowMany(quantity);
         reservation.setQuantity(howMany);
-        
+
         for (int i = 0; i < quantity; i++) {
             reservation.addRoom(availableRooms.get(i));
         }
 
-        // Link reservation to reserverPayer
-        reserverPayer.setReservation(reservation);
+        // Add to the reserverPayer's history as its current reservation
+        reserverPayer.addReservation(reservation);
+        reservationsByNumber.put(reservationNumber, reservation);
+        indexByStart(reservation);
+        hotel.reservationHeldChanged(1);
 
         return reservation;
     }
 
+    /**
+     * Books every request or none of them, returning the reservations in request
+     * order. Requests are validated up front and grouped by room type; the room
+     * types involved are then locked together and each group is filled in one
+     * pass over its rooms, resuming each search where the previous one for the
+     * same stay stopped. If any request cannot be met, everything the batch
+     * booked is undone before the exception is thrown. The batch is logged as
+     * one record once every booking has committed, and waited on once.
+     */
+    public List<Reservation> makeReservations(List<BookingRequest> requests) {
+        long started = operationStarted();
+        Reservation[] booked;
+        int unmet;
+        try {
+            if (requests == null) {
+                throw new IllegalArgumentException("Booking requests cannot be null");
+            }
+            booked = new Reservation[requests.size()];
+            unmet = reserveAll(requests, booked);
+        } catch (RuntimeException e) {
+            operationFailed(ChainOperation.MAKE_RESERVATIONS, e, started);
+            throw e;
+        }
+        if (unmet >= 0) {
+            operationEnded(ChainOperation.MAKE_RESERVATIONS, OperationOutcome.NO_AVAILABILITY, started);
+            throw new IllegalStateException("Cannot make reservations: request " + unmet + " cannot be met");
+        }
+        operationEnded(ChainOperation.MAKE_RESERVATIONS, OperationOutcome.SUCCESS, started);
+        return new ArrayList<>(Arrays.asList(booked));
+    }
+
+    /**
+     * Books every request into booked, or none of them, returning the index of
+     * a request that cannot be met or -1 when all were booked.
+     */
+    private int reserveAll(List<BookingRequest> requests, Reservation[] booked) {
+        Map<RoomType, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            if (request == null) {
+                throw new IllegalArgumentException("Booking request cannot be null");
+            }
+            if (!canMakeReservation(request.getReserverPayerNumber(), request.getGuestName(), request.getHotelName(),
+                                    request.getRoomKind(), request.getStartDate(), request.getEndDate(),
+                                    request.getQuantity())) {
+                throw new IllegalStateException("Cannot make reservations: request " + i + " failed validation");
+            }
+            RoomType roomType = hotels.get(request.getHotelName()).findRoomType(request.getRoomKind());
+            groups.computeIfAbsent(roomType, key -> new ArrayList<>()).add(i);
+        }
+        if (groups.isEmpty()) {
+            return -1;
+        }
+
+        List<Reservation> committed = new ArrayList<>(requests.size());
+        Map<ReserverPayer, Reservation> previousLinks = new HashMap<>();
+        long sequence = 0;
+        List<Lock> locks = lockRoomTypes(groups.keySet());
+        try {
+            for (BookingRequest request : requests) {
+                ReserverPayer reserverPayer = reserverPayers.get(request.getReserverPayerNumber());
+                synchronized (reserverPayer) {
+                    previousLinks.putIfAbsent(reserverPayer, reserverPayer.getReservation());
+                }
+            }
+            try {
+                for (Map.Entry<RoomType, List<Integer>> group : groups.entrySet()) {
+                    int unmet = bookGroup(group.getKey(), group.getValue(), requests, booked, committed);
+                    if (unmet >= 0) {
+                        rollBack(committed, previousLinks);
+                        return unmet;
+                    }
+                }
+                // Groups finish out of request order; the last request per payer is its latest booking
+                for (Reservation reservation : booked) {
+                    ReserverPayer reserverPayer = reservation.getReserverPayer();
+                    synchronized (reserverPayer) {
+                        reserverPayer.setReservation(reservation);
+                    }
+                }
+                // Logged only now that nothing can be rolled back any more
+                sequence = mutationLog.reservationsMade(Arrays.asList(booked));
+            } catch (RuntimeException e) {
+                rollBack(committed, previousLinks);
+                throw e;
+            }
+        } finally {
+            unlockAll(locks);
+        }
+        mutationLog.awaitDurable(sequence);
+        return -1;
+    }
+
+    /**
+     * Books the requests of one room type, returning the index of the first that
+     * cannot be met or -1; caller holds the room type's write lock.
+     */
+    private int bookGroup(RoomType roomType, List<Integer> indexes, List<BookingRequest> requests,
+                           Reservation[] booked, List<Reservation> committed) {
+        Hotel hotel = roomType.getHotel();
+        List<Room> rooms = roomType.getRooms();
+        // Rooms only fill up while the batch holds the lock, so rooms passed over
+        // for a stay stay unusable for that stay and the next search can skip them.
+        Map<Long, Integer> resumeAt = new HashMap<>();
+        for (int index : indexes) {
+            BookingRequest request = requests.get(index);
+            Date startDate = request.getStartDate();
+            Date endDate = request.getEndDate();
+            int quantity = request.getQuantity();
+            if (!roomType.mayHaveCapacity(startDate, endDate, quantity)) {
+                return index;
+            }
+            Long stay = (startDate.toEpochDay() << 32) | (endDate.toEpochDay() & 0xFFFFFFFFL);
+            int cursor = resumeAt.getOrDefault(stay, 0);
+            List<Room> chosen = new ArrayList<>(quantity);
+            while (chosen.size() < quantity && cursor < rooms.size()) {
+                Room room = rooms.get(cursor++);
+                if (hotel.isRoomAvailableForDates(room, startDate, endDate)) {
+                    chosen.add(room);
+                }
+            }
+            resumeAt.put(stay, cursor);
+            if (chosen.size() < quantity) {
+                return index;
+            }
+
+            ReserverPayer reserverPayer = reserverPayers.get(request.getReserverPayerNumber());
+            Reservation reservation = commitReservation(reserverPayer, hotel, startDate, endDate, quantity, chosen);
+            committed.add(reservation);
+            booked[index] = reservation;
+        }
+        return -1;
+    }
+
+    /**
+     * Undoes a partly booked batch; caller still holds the room type locks.
+     */
+    private void rollBack(List<Reservation> committed, Map<ReserverPayer, Reservation> previousLinks) {
+        for (Reservation reservation : committed) {
+            reservationsByNumber.remove(reservation.getNumber());
+            reservation.getRooms().get(0).getHotel().reservationHeldChanged(-1);
+            reservationsByStart.remove(ReservationOrder.key(reservation), reservation);
+            for (Room room : reservation.getRooms()) {
+                room.removeReservation(reservation);
+            }
+            reservation.getReserverPayer().removeReservation(reservation);
+        }
+        for (Map.Entry<ReserverPayer, Reservation> link : previousLinks.entrySet()) {
+            ReserverPayer reserverPayer = link.getKey();
+            Reservation previous = link.getValue();
+            synchronized (reserverPayer) {
+                if (reserverPayer.getReservation() == null) {
+                    // Point back at the earlier booking unless it was cancelled meanwhile
+                    boolean stillBooked = previous != null && reservationsByNumber.get(previous.getNumber()) == previous;
+                    reserverPayer.setReservation(stillBooked ? previous : null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Start time of an operation for its listener, or 0 when nobody listens, so
+     * unobserved chains do not pay for reading the clock.
+     */
+    private long operationStarted() {
+        return operationListener == OperationListener.NONE ? 0 : System.nanoTime();
+    }
+
+    private void operationEnded(ChainOperation operation, OperationOutcome outcome, long started) {
+        if (started != 0) {
+            operationListener.operationCompleted(operation, outcome, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Rejections (the IllegalArgument and IllegalState exceptions callers are
+     * told to expect) count as validation failures; anything else, including a
+     * mutation log that cannot record the change, as an error.
+     */
+    private void operationFailed(ChainOperation operation, RuntimeException failure, long started) {
+        boolean rejected = failure instanceof IllegalArgumentException || failure instanceof IllegalStateException;
+        operationEnded(operation, rejected ? OperationOutcome.VALIDATION_FAILURE : OperationOutcome.ERROR, started);
+    }
+
+    private void recordRetry(RoomType roomType) {
+        roomType.recordBookingRetry();
+        optimisticRetries.increment();
+    }
+
+    /**
+     * Total number of times a booking had to re-read availability because another
+     * writer changed the same room type first. A rising rate points at hot hotels.
+     */
+    public long getOptimisticRetryCount() {
+        return optimisticRetries.sum();
+    }
+
     public void cancelReservation(int reservationNumber) {
-        if (!canCancelReservation(reservationNumber)) {
-            throw new IllegalStateException("Cannot cancel reservation: validation failed or reservation not found");
+        long started = operationStarted();
+        try {
+            cancel(reservationNumber);
+        } catch (RuntimeException e) {
+            operationFailed(ChainOperation.CANCEL_RESERVATION, e, started);
+            throw e;
         }
+        operationEnded(ChainOperation.CANCEL_RESERVATION, OperationOutcome.SUCCESS, started);
+    }
 
+    private void cancel(int reservationNumber) {
         Reservation reservation = findReservationByNumber(reservationNumber);
         if (reservation == null) {
-            throw new IllegalArgumentException("Reservation with number " + reservationNumber + " not found");
+            throw new IllegalStateException("Cannot cancel reservation: validation failed or reservation not found");
         }
 
-        // Remove reservation from rooms
-        for (Room room : reservation.getRooms()) {
-            room.removeReservation(reservation);
-        }
+        long sequence;
+        List<Lock> locks = lockRoomTypes(reservation.getRooms());
+        try {
+            // Whoever removes the index entry owns the cancellation
+            if (reservationsByNumber.remove(reservationNumber) == null) {
+                throw new IllegalStateException("Cannot cancel reservation: validation failed or reservation not found");
+            }
+            try {
+                sequence = mutationLog.reservationCancelled(reservation);
+            } catch (RuntimeException e) {
+                reservationsByNumber.put(reservationNumber, reservation);
+                throw e;
+            }
+            reservationsByStart.remove(ReservationOrder.key(reservation), reservation);
+            reservation.getRooms().get(0).getHotel().reservationHeldChanged(-1);
+
+            // Remove reservation from rooms
+            for (Room room : reservation.getRooms()) {
+                room.removeReservation(reservation);
+            }
 
-        // Clear reserverPayer link
-        if (reservation.getReserverPayer() != null) {
-            reservation.getReserverPayer().setReservation(null);
+            // Drop from the reserverPayer's history; its current link is cleared
+            // unless a later booking has replaced it
+            reservation.getReserverPayer().removeReservation(reservation);
+        } finally {
+            unlockAll(locks);
         }
+        mutationLog.awaitDurable(sequence);
     }
 
     public void checkinGuest(String guestName, int roomNumber, String hotelName) {
+        long started = operationStarted();
+        try {
+            checkin(guestName, roomNumber, hotelName);
+        } catch (RuntimeException e) {
+            operationFailed(ChainOperation.CHECK_IN, e, started);
+            throw e;
+        }
+        operationEnded(ChainOperation.CHECK_IN, OperationOutcome.SUCCESS, started);
+    }
+
+    private void checkin(String guestName, int roomNumber, String hotelName) {
         if (!canCheckinGuest(guestName, roomNumber, hotelName)) {
             throw new IllegalStateException("Cannot check in guest: validation failed");
         }
 
         Guest guest = guests.get(guestName);
         Hotel hotel = hotels.get(hotelName);
-        Room room = hotel.getRooms().stream()
-                .filter(r -> r.getNumber() == roomNumber)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
-
-        if (room.isOccupied()) {
-            throw new IllegalStateException("Room is already occupied");
+        Room room = hotel.findRoom(roomNumber);
+        if (room == null) {
+            throw new IllegalArgumentException("Room not found");
         }
 
-        if (guest.isCheckedIn()) {
-            throw new IllegalStateException("Guest is already checked in to another room");
-        }
+        long sequence;
+        Lock lock = room.getRoomType().bookingLock().asWriteLock();
+        lock.lock();
+        try {
+            synchronized (guest) {
+                if (room.isOccupied()) {
+                    throw new IllegalStateException("Room is already occupied");
+                }
 
-        room.setOccupant(guest);
-        guest.setOccupiedRoom(room);
+                if (guest.isCheckedIn()) {
+                    throw new IllegalStateException("Guest is already checked in to another room");
+                }
+
+                sequence = mutationLog.guestCheckedIn(guest, room);
+                room.setOccupant(guest);
+                guest.setOccupiedRoom(room);
+            }
+        } finally {
+            lock.unlock();
+        }
+        mutationLog.awaitDurable(sequence);
     }
 
     public void checkOutGuest(String guestName) {
+        long started = operationStarted();
+        try {
+            checkOut(guestName);
+        } catch (RuntimeException e) {
+            operationFailed(ChainOperation.CHECK_OUT, e, started);
+            throw e;
+        }
+        operationEnded(ChainOperation.CHECK_OUT, OperationOutcome.SUCCESS, started);
+    }
+
+    private void checkOut(String guestName) {
         if (!canCheckOutGuest(guestName)) {
             throw new IllegalStateException("Cannot check out guest: validation failed");
         }
 
         Guest guest = guests.get(guestName);
-        if (!guest.isCheckedIn()) {
+        Room room = guest.getOccupiedRoom();
+        if (room == null) {
             throw new IllegalStateException("Guest is not checked in");
         }
 
-        Room room = guest.getOccupiedRoom();
-        room.setOccupant(null);
-        guest.setOccupiedRoom(null);
+        long sequence;
+        Lock lock = room.getRoomType().bookingLock().asWriteLock();
+        lock.lock();
+        try {
+            synchronized (guest) {
+                if (guest.getOccupiedRoom() != room) {
+                    throw new IllegalStateException("Guest is not checked in");
+                }
+                sequence = mutationLog.guestCheckedOut(guest, room);
+                room.setOccupant(null);
+                guest.setOccupiedRoom(null);
+            }
+        } finally {
+            lock.unlock();
+        }
+        mutationLog.awaitDurable(sequence);
     }
 
     private boolean canMakeReservation(int reserverPayerNumber, String guestName, String hotelName,
@@ -141,57 +613,100 @@ public class HotelChain {
         if (!reserverPayers.containsKey(reserverPayerNumber)) {
             return false;
         }
-        if (!guests.containsKey(guestName)) {
+        if (guestName == null || !guests.containsKey(guestName)) {
             return false;
         }
-        if (!hotels.containsKey(hotelName)) {
+        if (hotelName == null || !hotels.containsKey(hotelName)) {
             return false;
         }
         if (roomKind == null || startDate == null || endDate == null) {
             return false;
         }
+        if (!startDate.isBefore(endDate)) {
+            return false;
+        }
         if (quantity <= 0) {
             return false;
         }
 
         Hotel hotel = hotels.get(hotelName);
-        return hotel.available(roomKind, startDate, endDate, quantity);
-    }
-
-    private boolean canCancelReservation(int reservationNumber) {
-        return findReservationByNumber(reservationNumber) != null;
+        return hotel.findRoomType(roomKind) != null;
     }
 
     private boolean canCheckinGuest(String guestName, int roomNumber, String hotelName) {
-        if (!guests.containsKey(guestName)) {
+        if (guestName == null || !guests.containsKey(guestName)) {
             return false;
         }
-        if (!hotels.containsKey(hotelName)) {
+        if (hotelName == null || !hotels.containsKey(hotelName)) {
             return false;
         }
 
         Hotel hotel = hotels.get(hotelName);
-        return hotel.getRooms().stream().anyMatch(r -> r.getNumber() == roomNumber);
+        return hotel.findRoom(roomNumber) != null;
     }
 
     private boolean canCheckOutGuest(String guestName) {
-        if (!guests.containsKey(guestName)) {
+        if (guestName == null || !guests.containsKey(guestName)) {
             return false;
         }
         Guest guest = guests.get(guestName);
         return guest.isCheckedIn();
     }
 
+    private void indexByStart(Reservation reservation) {
+        reservationsByStart.put(ReservationOrder.key(reservation), reservation);
+        long stayDays = reservation.getEndDate().toEpochDay() - reservation.getStartDate().toEpochDay();
+        longestStayDays.accumulateAndGet(stayDays, Math::max);
+    }
+
     private Reservation findReservationByNumber(int reservationNumber) {
-        return reserverPayers.values().stream()
-                .map(ReserverPayer::getReservation)
-                .filter(r -> r != null && r.getNumber() == reservationNumber)
-                .findFirst()
-                .orElse(null);
+        return reservationsByNumber.get(reservationNumber);
     }
 
     private int generateReservationNumber() {
-        return (int) (System.currentTimeMillis() % Integer.MAX_VALUE);
+        int number;
+        do {
+            number = reservationNumbers.allocate();
+            if (number <= 0) {
+                throw new IllegalStateException("Reservation number allocator returned unusable number " + number);
+            }
+            // Numbers restored from a log may already be taken
+        } while (reservationsByNumber.containsKey(number));
+        return number;
+    }
+
+    /**
+     * Locks the room types behind the given rooms in a fixed order so that
+     * operations spanning several room types cannot deadlock.
+     */
+    private static List<Lock> lockRoomTypes(List<Room> rooms) {
+        return lockRoomTypes(rooms.stream().map(Room::getRoomType).collect(Collectors.toList()));
+    }
+
+    private static List<Lock> lockRoomTypes(Collection<RoomType> toLock) {
+        List<RoomType> roomTypes = toLock.stream()
+                .distinct()
+                .sorted(Comparator.comparing((RoomType rt) -> rt.getHotel().getName().getValue())
+                        .thenComparing(RoomType::getKind))
+                .collect(Collectors.toList());
+        List<Lock> locks = new ArrayList<>(roomTypes.size());
+        try {
+            for (RoomType roomType : roomTypes) {
+                Lock lock = roomType.bookingLock().asWriteLock();
+                lock.lock();
+                locks.add(lock);
+            }
+        } catch (RuntimeException e) {
+            unlockAll(locks);
+            throw e;
+        }
+        return locks;
+    }
+
+    static void unlockAll(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
     }
 
     public void addGuest(Guest guest) {
@@ -199,10 +714,15 @@ public class HotelChain {
             throw new IllegalArgumentException("Guest cannot be null");
         }
         String guestName = guest.getName().getValue();
-        if (guests.containsKey(guestName)) {
-            throw new IllegalArgumentException("Guest with name " + guestName + " already exists");
+        long sequence;
+        synchronized (guests) {
+            if (guests.containsKey(guestName)) {
+                throw new IllegalArgumentException("Guest with name " + guestName + " already exists");
+            }
+            sequence = mutationLog.guestAdded(guest);
+            guests.put(guestName, guest);
         }
-        guests.put(guestName, guest);
+        mutationLog.awaitDurable(sequence);
     }
 
     public void addHotel(Hotel hotel) {
@@ -210,17 +730,334 @@ public class HotelChain {
             throw new IllegalArgumentException("Hotel cannot be null");
         }
         String hotelName = hotel.getName().getValue();
-        if (hotels.containsKey(hotelName)) {
-            throw new IllegalArgumentException("Hotel with name " + hotelName + " already exists");
+        long sequence;
+        synchronized (hotels) {
+            if (hotels.containsKey(hotelName)) {
+                throw new IllegalArgumentException("Hotel with name " + hotelName + " already exists");
+            }
+            // Under the hotel's monitor, so a room added meanwhile is either in
+            // this record or logged on its own afterwards
+            synchronized (hotel) {
+                sequence = mutationLog.hotelAdded(hotel);
+                hotel.setHotelChain(this);
+            }
+            hotels.put(hotelName, hotel);
         }
-        hotel.setHotelChain(this);
-        hotels.put(hotelName, hotel);
+        mutationLog.awaitDurable(sequence);
+    }
+
+    /**
+     * Logs a room type joining one of the chain's hotels; the hotel calls this
+     * while holding its monitor, then {@link #awaitDurable(long)} after it.
+     */
+    long roomTypeAdded(RoomType roomType) {
+        return mutationLog.roomTypeAdded(roomType);
+    }
+
+    /**
+     * Logs a room joining one of the chain's hotels, like {@link #roomTypeAdded(RoomType)}.
+     */
+    long roomAdded(Room room) {
+        return mutationLog.roomAdded(room);
     }
 
+    void awaitDurable(long sequence) {
+        mutationLog.awaitDurable(sequence);
+    }
+
+    /**
+     * Re-applies a reservation exactly as a mutation log recorded it: same number,
+     * booking date and rooms, with no availability search. Used by recovery.
+     */
+    public Reservation restoreReservation(int reservationNumber, int reserverPayerNumber, String hotelName,
+                                          Date reservationDate, Date startDate, Date endDate,
+                                          int quantity, int[] roomNumbers) {
+        ReserverPayer reserverPayer = getReserverPayer(reserverPayerNumber);
+        Hotel hotel = getHotel(hotelName);
+        List<Room> rooms = resolveRestoredRooms(reservationNumber, reserverPayer, hotel, roomNumbers);
+
+        Reservation reservation;
+        long sequence;
+        List<Lock> locks = lockRoomTypes(rooms);
+        try {
+            Reservation previous;
+            synchronized (reserverPayer) {
+                previous = reserverPayer.getReservation();
+            }
+            reservation = applyRestored(reservationNumber, reserverPayer, hotel, reservationDate,
+                                        startDate, endDate, quantity, rooms);
+            try {
+                sequence = mutationLog.reservationMade(reservation);
+            } catch (RuntimeException e) {
+                rollBack(List.of(reservation), Collections.singletonMap(reserverPayer, previous));
+                throw e;
+            }
+        } finally {
+            unlockAll(locks);
+        }
+        mutationLog.awaitDurable(sequence);
+        return reservation;
+    }
+
+    /**
+     * Opens a loader that restores reservations like {@link #restoreReservation}
+     * but locks every room type once for the whole load instead of once per
+     * reservation. For loading snapshots into a chain that is not serving
+     * requests yet and has no mutation log attached.
+     */
+    public ReservationLoader openReservationLoader() {
+        if (mutationLog != MutationLog.NONE) {
+            throw new IllegalStateException("Cannot bulk restore reservations while a mutation log is attached");
+        }
+        List<RoomType> roomTypes = new ArrayList<>();
+        for (Hotel hotel : getHotels()) {
+            roomTypes.addAll(hotel.getRoomTypes());
+        }
+        return new ReservationLoader(this, lockRoomTypes(roomTypes));
+    }
+
+    /**
+     * Restores one reservation for a {@link ReservationLoader}, which holds every
+     * room type lock; not logged.
+     */
+    Reservation restoreLocked(int reservationNumber, int reserverPayerNumber, String hotelName,
+                              Date reservationDate, Date startDate, Date endDate,
+                              int quantity, int[] roomNumbers) {
+        ReserverPayer reserverPayer = getReserverPayer(reserverPayerNumber);
+        Hotel hotel = getHotel(hotelName);
+        List<Room> rooms = resolveRestoredRooms(reservationNumber, reserverPayer, hotel, roomNumbers);
+        return applyRestored(reservationNumber, reserverPayer, hotel, reservationDate,
+                             startDate, endDate, quantity, rooms);
+    }
+
+    private static List<Room> resolveRestoredRooms(int reservationNumber, ReserverPayer reserverPayer, Hotel hotel,
+                                                   int[] roomNumbers) {
+        if (reserverPayer == null || hotel == null || roomNumbers == null) {
+            throw new IllegalStateException("Cannot restore reservation " + reservationNumber + ": unknown payer or hotel");
+        }
+        List<Room> rooms = new ArrayList<>(roomNumbers.length);
+        for (int roomNumber : roomNumbers) {
+            Room room = hotel.findRoom(roomNumber);
+            if (room == null) {
+                throw new IllegalStateException("Cannot restore reservation " + reservationNumber
+                        + ": unknown room " + roomNumber);
+            }
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    /**
+     * Creates and indexes a restored reservation; caller holds its room types' write locks.
+     */
+    private Reservation applyRestored(int reservationNumber, ReserverPayer reserverPayer, Hotel hotel,
+                                      Date reservationDate, Date startDate, Date endDate,
+                                      int quantity, List<Room> rooms) {
+        Reservation reservation = hotel.createReservation(reservationDate, startDate, endDate,
+                                                         reservationNumber, reserverPayer);
+        if (reservationsByNumber.putIfAbsent(reservationNumber, reservation) != null) {
+            throw new IllegalStateException("Reservation with number " + reservationNumber + " already exists");
+        }
+        reservation.setQuantity(new HowMany(quantity));
+        for (Room room : rooms) {
+            reservation.addRoom(room);
+        }
+        reserverPayer.addReservation(reservation);
+        indexByStart(reservation);
+        hotel.reservationHeldChanged(1);
+        reservationNumbers.markUsed(reservationNumber);
+        return reservation;
+    }
+
+    /**
+     * Points the payer's current reservation at the given reservation, or clears it
+     * when the number is 0. Used by recovery after restoring reservations; not logged.
+     */
+    public void restoreCurrentReservation(int reserverPayerNumber, int reservationNumber) {
+        ReserverPayer reserverPayer = getReserverPayer(reserverPayerNumber);
+        if (reserverPayer == null) {
+            throw new IllegalStateException("Cannot restore current reservation: unknown payer " + reserverPayerNumber);
+        }
+        Reservation reservation = null;
+        if (reservationNumber != 0) {
+            reservation = findReservationByNumber(reservationNumber);
+            if (reservation == null || reservation.getReserverPayer() != reserverPayer) {
+                throw new IllegalStateException("Cannot restore current reservation: unknown reservation "
+                        + reservationNumber);
+            }
+        }
+        synchronized (reserverPayer) {
+            reserverPayer.setReservation(reservation);
+        }
+    }
+
+    /**
+     * Stops the allocator from handing out any number up to the given one, including
+     * numbers of reservations that were cancelled before a snapshot. Used by recovery.
+     */
+    public void reserveReservationNumbersThrough(int reservationNumber) {
+        reservationNumbers.markUsed(reservationNumber);
+    }
+
+    /**
+     * Returns every booked reservation, grouped by payer and ordered by start date
+     * within each payer. Built from the payers' histories in one linear pass; for
+     * large result sets prefer {@link #streamReservations(ReservationQuery)} or
+     * {@link #getReservations(ReservationQuery, String, int)}.
+     */
     public List<Reservation> getAllReservations() {
-        return reserverPayers.values().stream()
-                .map(ReserverPayer::getReservation)
-                .filter(r -> r != null)
+        List<Reservation> all = new ArrayList<>(reservationsByNumber.size());
+        reserverPayers.forEachValue(reserverPayer -> all.addAll(reserverPayer.getReservations()));
+        return all;
+    }
+
+    /**
+     * Streams the reservations matching the query, ordered by start date and then
+     * number. The stream reads lazily from the narrowest index the filters allow,
+     * so exports of any size run in constant memory. Bookings and cancellations
+     * made while it is consumed may or may not be seen.
+     */
+    public Stream<Reservation> streamReservations(ReservationQuery query) {
+        Iterator<Reservation> cursor = cursor(query, Long.MIN_VALUE);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Returns up to pageSize reservations matching the query, ordered by start date
+     * and then number, starting after the reservation named by the continuation
+     * token (null for the first page). Pages are found by key rather than by
+     * offset, so each costs the same however deep into the results it is.
+     */
+    public ReservationPage getReservations(ReservationQuery query, String continuationToken, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        long afterKey = Long.MIN_VALUE;
+        if (continuationToken != null) {
+            try {
+                afterKey = Long.parseLong(continuationToken, Character.MAX_RADIX);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid continuation token: " + continuationToken, e);
+            }
+        }
+        Iterator<Reservation> cursor = cursor(query, afterKey);
+        List<Reservation> page = new ArrayList<>(Math.min(pageSize, 1024));
+        while (page.size() < pageSize && cursor.hasNext()) {
+            page.add(cursor.next());
+        }
+        String nextToken = null;
+        if (cursor.hasNext()) {
+            nextToken = Long.toString(ReservationOrder.key(page.get(page.size() - 1)), Character.MAX_RADIX);
+        }
+        return new ReservationPage(Collections.unmodifiableList(page), nextToken);
+    }
+
+    /**
+     * Picks the narrowest index for the query: the payer's history, the hotel's
+     * interval trees, or the chain's start-date index. A date window bounds the
+     * scan of a start-ordered index from above by its end and from below by its
+     * start minus the longest stay ever booked. Filters the index does not
+     * cover are checked per reservation.
+     */
+    private Iterator<Reservation> cursor(ReservationQuery query, long afterKey) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        long fromDay = query.hasWindow() ? query.getStartDate().toEpochDay() : Long.MIN_VALUE;
+        long toDay = query.hasWindow() ? query.getEndDate().toEpochDay() : Long.MAX_VALUE;
+        long lastKey = query.hasWindow() ? ReservationOrder.lastKey(toDay) : Long.MAX_VALUE;
+        long afterOrBelowWindow = afterKey;
+        if (query.hasWindow()) {
+            long firstKey = ReservationOrder.firstKey(fromDay - longestStayDays.get());
+            afterOrBelowWindow = Math.max(afterKey, firstKey - 1);
+        }
+
+        Iterator<Reservation> source;
+        if (query.getReserverPayerNumber() != 0) {
+            ReserverPayer reserverPayer = reserverPayers.get(query.getReserverPayerNumber());
+            if (reserverPayer == null) {
+                return Collections.emptyIterator();
+            }
+            source = reserverPayer.reservationsBetween(afterOrBelowWindow, lastKey);
+        } else if (query.getHotelName() != null) {
+            Hotel hotel = hotels.get(query.getHotelName());
+            if (hotel == null) {
+                return Collections.emptyIterator();
+            }
+            List<Iterator<Reservation>> perKind = new ArrayList<>();
+            for (RoomType roomType : hotel.getRoomTypes()) {
+                if (query.getRoomKind() == null || roomType.getKind() == query.getRoomKind()) {
+                    perKind.add(roomType.reservationsAfter(afterKey, fromDay, toDay));
+                }
+            }
+            if (perKind.isEmpty()) {
+                return Collections.emptyIterator();
+            }
+            source = ReservationOrder.merge(perKind);
+        } else {
+            if (afterOrBelowWindow >= lastKey) {
+                return Collections.emptyIterator();
+            }
+            source = reservationsByStart.subMap(afterOrBelowWindow, false, lastKey, true).values().iterator();
+        }
+        return ReservationOrder.filter(source, query::matches);
+    }
+
+    public List<ReserverPayer> getReserverPayers() {
+        return reserverPayers.values();
+    }
+
+    public List<Guest> getGuests() {
+        return new ArrayList<>(guests.values());
+    }
+
+    public List<Hotel> getHotels() {
+        return new ArrayList<>(hotels.values());
+    }
+
+    /**
+     * Searches every hotel of the chain for quantity rooms of the given kind free
+     * for the whole stay. Hotels are checked in parallel on the common fork-join
+     * pool and each match is streamed back as soon as it is found, in no
+     * particular order; the filter can narrow matches by hotel, count or cost.
+     * The stream is lazy, so a short-circuiting operation such as limit or
+     * findAny stops the search early.
+     */
+    public Stream<HotelAvailability> searchAvailability(RoomKind roomKind, Date startDate, Date endDate, int quantity,
+                                                        Predicate<? super HotelAvailability> filter) {
+        if (roomKind == null) {
+            throw new IllegalArgumentException("Room kind cannot be null");
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (!startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        return getHotels().parallelStream()
+                .unordered()
+                .map(hotel -> hotel.checkAvailability(roomKind, startDate, endDate, quantity))
+                .filter(availability -> availability != null && filter.test(availability));
+    }
+
+    /**
+     * Returns at most limit matches of {@link #searchAvailability(RoomKind, Date, Date, int, Predicate)},
+     * whichever hotels answer first; hotels not yet checked when the limit is reached are skipped.
+     */
+    public List<HotelAvailability> searchAvailability(RoomKind roomKind, Date startDate, Date endDate, int quantity,
+                                                      Predicate<? super HotelAvailability> filter, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return searchAvailability(roomKind, startDate, endDate, quantity, filter)
+                .limit(limit)
                 .collect(Collectors.toList());
     }
 
@@ -228,11 +1065,18 @@ public class HotelChain {
         return reserverPayers.get(number);
     }
 
+    /**
+     * Returns the reservation with the given number, or null if there is none or it was cancelled.
+     */
+    public Reservation getReservation(int number) {
+        return findReservationByNumber(number);
+    }
+
     public Guest getGuest(String name) {
-        return guests.get(name);
+        return name == null ? null : guests.get(name);
     }
 
     public Hotel getHotel(String name) {
-        return hotels.get(name);
+        return name == null ? null : hotels.get(name);
     }
 }
@@ -0,0 +1,254 @@
+package com.hotel.reservation.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe hash map from primitive int keys to non-null values.
+ * Uses open addressing with linear probing over parallel arrays, so keys are
+ * never boxed and there is no per-entry node object.
+ * <p>
+ * Writers are serialized by a lock; {@link #get(int)} first tries an
+ * optimistic, lock-free read and only takes the read lock if a write raced it.
+ *
+ * @param <V> value type
+ */
+final class IntHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final StampedLock lock = new StampedLock();
+    private Table table;
+    private int size;
+
+    IntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    IntHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        this.table = new Table(tableSizeFor(expectedSize));
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object value = table.find(key);
+            if (lock.validate(stamp)) {
+                return (V) value;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return (V) table.find(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Associates the value with the key, returning the previous value or null.
+     */
+    V put(int key, V value) {
+        return insert(key, value, false);
+    }
+
+    /**
+     * Associates the value with the key only if the key is absent.
+     * Returns the existing value, or null if the value was stored.
+     */
+    V putIfAbsent(int key, V value) {
+        return insert(key, value, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V insert(int key, V value, boolean onlyIfAbsent) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int mask = current.mask;
+            int index = hash(key) & mask;
+            Object existing;
+            while ((existing = current.values[index]) != null) {
+                if (current.keys[index] == key) {
+                    if (!onlyIfAbsent) {
+                        current.values[index] = value;
+                    }
+                    return (V) existing;
+                }
+                index = (index + 1) & mask;
+            }
+            current.keys[index] = key;
+            current.values[index] = value;
+            if (++size > current.resizeThreshold) {
+                table = current.rehash(current.keys.length << 1);
+            }
+            return null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the key, returning its value or null if it was absent.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int mask = current.mask;
+            int index = hash(key) & mask;
+            Object existing;
+            while ((existing = current.values[index]) != null) {
+                if (current.keys[index] == key) {
+                    current.closeGap(index);
+                    size--;
+                    return (V) existing;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Visits every value while holding the read lock; the action must not modify this map.
+     */
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<? super V> action) {
+        long stamp = lock.readLock();
+        try {
+            for (Object value : table.values) {
+                if (value != null) {
+                    action.accept((V) value);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    List<V> values() {
+        List<V> result = new ArrayList<>();
+        forEachValue(result::add);
+        return result;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < needed) {
+            if (capacity >= 1 << 30) {
+                throw new IllegalArgumentException("Expected size too large");
+            }
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Key and value arrays of equal length, replaced together on rehash so an
+     * optimistic reader can never index one with the other's bounds.
+     */
+    private static final class Table {
+        final int[] keys;
+        final Object[] values;
+        final int mask;
+        final int resizeThreshold;
+
+        Table(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+            this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        Object find(int key) {
+            int index = hash(key) & mask;
+            // Bounded probe: a racing writer can leave no empty slot in view.
+            for (int probes = 0; probes <= mask; probes++) {
+                Object value = values[index];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[index] == key) {
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Backward-shift deletion: pulls later entries of the probe run into the
+         * freed slot so lookups never need tombstones.
+         */
+        void closeGap(int gap) {
+            int index = gap;
+            while (true) {
+                index = (index + 1) & mask;
+                if (values[index] == null) {
+                    break;
+                }
+                int home = hash(keys[index]) & mask;
+                // Move the entry back unless its home slot lies cyclically in (gap, index].
+                boolean homeInRange = gap <= index ? (gap < home && home <= index) : (gap < home || home <= index);
+                if (!homeInRange) {
+                    keys[gap] = keys[index];
+                    values[gap] = values[index];
+                    gap = index;
+                }
+            }
+            values[gap] = null;
+            keys[gap] = 0;
+        }
+
+        Table rehash(int newCapacity) {
+            Table grown = new Table(newCapacity);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    int index = hash(keys[i]) & grown.mask;
+                    while (grown.values[index] != null) {
+                        index = (index + 1) & grown.mask;
+                    }
+                    grown.keys[index] = keys[i];
+                    grown.values[index] = values[i];
+                }
+            }
+            return grown;
+        }
+    }
+}
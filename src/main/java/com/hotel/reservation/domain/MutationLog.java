@@ -0,0 +1,112 @@
+package com.hotel.reservation.domain;
+
+import java.util.List;
+
+/**
+ * Receives every state change a {@link HotelChain} applies, in an order that
+ * replays to the same state.
+ * <p>
+ * Each callback runs while the chain still holds the locks that guard the
+ * change, so it must only record the change (for example, append to a buffer)
+ * and return a sequence number. The chain calls {@link #awaitDurable(long)}
+ * with that number after releasing its locks and before returning to its
+ * caller, which lets an implementation batch many callers into one flush.
+ * A callback that cannot record the change throws, and the chain then leaves
+ * its state as it was before the change.
+ */
+public interface MutationLog {
+
+    /**
+     * Log that records nothing; the default for chains without durability.
+     */
+    MutationLog NONE = new MutationLog() {
+        @Override
+        public long reserverPayerCreated(ReserverPayer reserverPayer) {
+            return 0;
+        }
+
+        @Override
+        public long guestAdded(Guest guest) {
+            return 0;
+        }
+
+        @Override
+        public long hotelAdded(Hotel hotel) {
+            return 0;
+        }
+
+        @Override
+        public long roomTypeAdded(RoomType roomType) {
+            return 0;
+        }
+
+        @Override
+        public long roomAdded(Room room) {
+            return 0;
+        }
+
+        @Override
+        public long reservationMade(Reservation reservation) {
+            return 0;
+        }
+
+        @Override
+        public long reservationsMade(List<Reservation> reservations) {
+            return 0;
+        }
+
+        @Override
+        public long reservationCancelled(Reservation reservation) {
+            return 0;
+        }
+
+        @Override
+        public long guestCheckedIn(Guest guest, Room room) {
+            return 0;
+        }
+
+        @Override
+        public long guestCheckedOut(Guest guest, Room room) {
+            return 0;
+        }
+
+        @Override
+        public void awaitDurable(long sequence) {
+        }
+    };
+
+    long reserverPayerCreated(ReserverPayer reserverPayer);
+
+    long guestAdded(Guest guest);
+
+    /**
+     * Records a hotel together with the room types and rooms it has at the time it joins the chain.
+     */
+    long hotelAdded(Hotel hotel);
+
+    long roomTypeAdded(RoomType roomType);
+
+    long roomAdded(Room room);
+
+    /**
+     * Records a reservation with its number, dates and the rooms it was given.
+     */
+    long reservationMade(Reservation reservation);
+
+    /**
+     * Records the reservations of one batch booking, in request order, as a
+     * single change, so recovery restores either the whole batch or none of it.
+     */
+    long reservationsMade(List<Reservation> reservations);
+
+    long reservationCancelled(Reservation reservation);
+
+    long guestCheckedIn(Guest guest, Room room);
+
+    long guestCheckedOut(Guest guest, Room room);
+
+    /**
+     * Blocks until every change up to and including the given sequence is durable.
+     */
+    void awaitDurable(long sequence);
+}
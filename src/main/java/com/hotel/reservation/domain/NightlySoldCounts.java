@@ -0,0 +1,123 @@
+package com.hotel.reservation.domain;
+
+/**
+ * Number of rooms sold per epoch day for one room type.
+ * Counts live in a single int array offset by a base day; the array grows a
+ * year at a time in whichever direction a booking falls outside it.
+ */
+final class NightlySoldCounts {
+    static final int GROWTH_DAYS = 366;
+
+    private volatile Counts counts = Counts.EMPTY;
+
+    /**
+     * Adds one sold room to every day in [fromDay, toDay].
+     */
+    void increment(long fromDay, long toDay) {
+        validateRange(fromDay, toDay);
+        Counts table = ensureCapacity(fromDay, toDay);
+        int from = (int) (fromDay - table.baseDay);
+        int to = (int) (toDay - table.baseDay);
+        for (int i = from; i <= to; i++) {
+            table.sold[i]++;
+        }
+    }
+
+    /**
+     * Removes one sold room from every day in [fromDay, toDay]. Throws, changing
+     * nothing, if any of those days has no sold room to remove, since that means
+     * the counts have drifted from the bookings.
+     */
+    void decrement(long fromDay, long toDay) {
+        validateRange(fromDay, toDay);
+        Counts table = counts;
+        if (fromDay < table.baseDay || toDay >= table.baseDay + table.sold.length) {
+            throw new IllegalStateException("No rooms sold between days " + fromDay + " and " + toDay);
+        }
+        int from = (int) (fromDay - table.baseDay);
+        int to = (int) (toDay - table.baseDay);
+        for (int i = from; i <= to; i++) {
+            if (table.sold[i] == 0) {
+                throw new IllegalStateException("No rooms sold on day " + (table.baseDay + i));
+            }
+        }
+        for (int i = from; i <= to; i++) {
+            table.sold[i]--;
+        }
+    }
+
+    /**
+     * Returns the highest sold count of any day in [fromDay, toDay].
+     */
+    int max(long fromDay, long toDay) {
+        validateRange(fromDay, toDay);
+        Counts table = counts;
+        long first = Math.max(fromDay, table.baseDay);
+        long last = Math.min(toDay, table.baseDay + table.sold.length - 1);
+        int max = 0;
+        for (long day = first; day <= last; day++) {
+            int sold = table.sold[(int) (day - table.baseDay)];
+            if (sold > max) {
+                max = sold;
+            }
+        }
+        return max;
+    }
+
+    int get(long day) {
+        return max(day, day);
+    }
+
+    private static void validateRange(long fromDay, long toDay) {
+        if (fromDay > toDay) {
+            throw new IllegalArgumentException("Start day must not be after end day");
+        }
+    }
+
+    private Counts ensureCapacity(long fromDay, long toDay) {
+        Counts table = counts;
+        long end = table.baseDay + table.sold.length;
+        if (table.sold.length > 0 && fromDay >= table.baseDay && toDay < end) {
+            return table;
+        }
+        // Grow a year beyond the requested range so steady bookings reallocate rarely.
+        long newBase = table.baseDay;
+        long newEnd = end;
+        if (table.sold.length == 0) {
+            newBase = fromDay;
+            newEnd = fromDay + GROWTH_DAYS;
+        }
+        if (fromDay < newBase) {
+            newBase = fromDay - GROWTH_DAYS;
+        }
+        if (toDay >= newEnd) {
+            newEnd = toDay + 1 + GROWTH_DAYS;
+        }
+        long span = newEnd - newBase;
+        if (span > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Sold-count range too large");
+        }
+        int[] grown = new int[(int) span];
+        if (table.sold.length > 0) {
+            System.arraycopy(table.sold, 0, grown, (int) (table.baseDay - newBase), table.sold.length);
+        }
+        table = new Counts(newBase, grown);
+        counts = table;
+        return table;
+    }
+
+    /**
+     * Immutable pairing of base day and array, replaced as a whole on growth.
+     */
+    private static final class Counts {
+        static final Counts EMPTY = new Counts(0, new int[0]);
+
+        final long baseDay;
+        final int[] sold;
+
+        Counts(long baseDay, int[] sold) {
+            this.baseDay = baseDay;
+            this.sold = sold;
+        }
+    }
+}
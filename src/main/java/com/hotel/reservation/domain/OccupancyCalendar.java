@@ -0,0 +1,209 @@
+package com.hotel.reservation.domain;
+
+/**
+ * Day-indexed occupancy bitmap for a single room.
+ * Each bit stands for one epoch day; days are grouped into segments of
+ * roughly a year that are allocated the first time a day inside them is booked.
+ * Range checks test whole 64-bit words instead of walking reservations.
+ */
+final class OccupancyCalendar {
+    static final int WORDS_PER_SEGMENT = 6;
+    static final int SEGMENT_DAYS = WORDS_PER_SEGMENT * Long.SIZE;
+
+    private volatile Segments segments = Segments.EMPTY;
+
+    /**
+     * Marks every day in [fromDay, toDay] as booked.
+     */
+    void mark(long fromDay, long toDay) {
+        validateRange(fromDay, toDay);
+        Segments table = ensureCapacity(fromDay, toDay);
+        long day = fromDay;
+        while (day <= toDay) {
+            long segment = Math.floorDiv(day, SEGMENT_DAYS);
+            int offset = (int) (day - segment * SEGMENT_DAYS);
+            int lastBit = lastBitInWord(offset, day, toDay);
+            long[] words = table.segmentFor(segment, true);
+            words[offset >>> 6] |= mask(offset & 63, lastBit);
+            day += lastBit - (offset & 63) + 1;
+        }
+    }
+
+    /**
+     * Marks every day in [fromDay, toDay] as free.
+     */
+    void clear(long fromDay, long toDay) {
+        validateRange(fromDay, toDay);
+        Segments table = segments;
+        long day = fromDay;
+        while (day <= toDay) {
+            long segment = Math.floorDiv(day, SEGMENT_DAYS);
+            int offset = (int) (day - segment * SEGMENT_DAYS);
+            int lastBit = lastBitInWord(offset, day, toDay);
+            long[] words = table.segmentFor(segment, false);
+            if (words != null) {
+                words[offset >>> 6] &= ~mask(offset & 63, lastBit);
+            }
+            day += lastBit - (offset & 63) + 1;
+        }
+    }
+
+    /**
+     * Returns true when no day in [fromDay, toDay] is booked.
+     */
+    boolean isFree(long fromDay, long toDay) {
+        validateRange(fromDay, toDay);
+        Segments table = segments;
+        long day = fromDay;
+        while (day <= toDay) {
+            long segment = Math.floorDiv(day, SEGMENT_DAYS);
+            int offset = (int) (day - segment * SEGMENT_DAYS);
+            int lastBit = lastBitInWord(offset, day, toDay);
+            long[] words = table.segmentFor(segment, false);
+            if (words == null) {
+                // Whole segment untouched: skip straight to the next one.
+                day = (segment + 1) * SEGMENT_DAYS;
+                continue;
+            }
+            if ((words[offset >>> 6] & mask(offset & 63, lastBit)) != 0) {
+                return false;
+            }
+            day += lastBit - (offset & 63) + 1;
+        }
+        return true;
+    }
+
+    boolean isBooked(long day) {
+        return !isFree(day, day);
+    }
+
+    /**
+     * Returns the earliest day d at or after fromDay such that [d, d + length - 1]
+     * is free. Jumps between booked and free runs a word at a time.
+     */
+    long nextFreeRun(long fromDay, int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length must be positive");
+        }
+        Segments table = segments;
+        long start = nextDay(table, fromDay, false);
+        while (true) {
+            long last = start + length - 1;
+            long booked = nextDay(table, start, true);
+            if (booked > last) {
+                return start;
+            }
+            start = nextDay(table, booked + 1, false);
+        }
+    }
+
+    /**
+     * Returns the first day at or after fromDay that is booked (or free, when
+     * booked is false). Past the end of the table every day is free, so a search
+     * for a booked day that finds none returns Long.MAX_VALUE.
+     */
+    private static long nextDay(Segments table, long fromDay, boolean booked) {
+        long day = fromDay;
+        long tableEnd = (table.firstSegment + table.words.length) * SEGMENT_DAYS;
+        if (table.words.length == 0 || day >= tableEnd) {
+            return booked ? Long.MAX_VALUE : day;
+        }
+        if (day < table.firstSegment * SEGMENT_DAYS) {
+            if (!booked) {
+                return day;
+            }
+            day = table.firstSegment * SEGMENT_DAYS;
+        }
+        while (day < tableEnd) {
+            long segment = Math.floorDiv(day, SEGMENT_DAYS);
+            int offset = (int) (day - segment * SEGMENT_DAYS);
+            long[] words = table.segmentFor(segment, false);
+            if (words == null) {
+                if (!booked) {
+                    return day;
+                }
+                day = (segment + 1) * SEGMENT_DAYS;
+                continue;
+            }
+            long word = booked ? words[offset >>> 6] : ~words[offset >>> 6];
+            word &= -1L << (offset & 63);
+            if (word != 0) {
+                return day - (offset & 63) + Long.numberOfTrailingZeros(word);
+            }
+            day += 64 - (offset & 63);
+        }
+        return booked ? Long.MAX_VALUE : day;
+    }
+
+    private static int lastBitInWord(int offset, long day, long toDay) {
+        int firstBit = offset & 63;
+        long remaining = toDay - day;
+        return remaining >= 63 - firstBit ? 63 : firstBit + (int) remaining;
+    }
+
+    private static long mask(int firstBit, int lastBit) {
+        return (-1L << firstBit) & (-1L >>> (63 - lastBit));
+    }
+
+    private static void validateRange(long fromDay, long toDay) {
+        if (fromDay > toDay) {
+            throw new IllegalArgumentException("Start day must not be after end day");
+        }
+    }
+
+    private Segments ensureCapacity(long fromDay, long toDay) {
+        Segments table = segments;
+        long firstSegment = Math.floorDiv(fromDay, SEGMENT_DAYS);
+        long lastSegment = Math.floorDiv(toDay, SEGMENT_DAYS);
+        if (table.covers(firstSegment, lastSegment)) {
+            return table;
+        }
+        table = table.grow(firstSegment, lastSegment);
+        segments = table;
+        return table;
+    }
+
+    /**
+     * Immutable segment directory; replaced as a whole when the calendar grows
+     * so readers always see a consistent base and array length.
+     */
+    private static final class Segments {
+        static final Segments EMPTY = new Segments(0, new long[0][]);
+
+        final long firstSegment;
+        final long[][] words;
+
+        Segments(long firstSegment, long[][] words) {
+            this.firstSegment = firstSegment;
+            this.words = words;
+        }
+
+        boolean covers(long from, long to) {
+            return words.length > 0 && from >= firstSegment && to < firstSegment + words.length;
+        }
+
+        long[] segmentFor(long segment, boolean create) {
+            long index = segment - firstSegment;
+            if (index < 0 || index >= words.length) {
+                return null;
+            }
+            long[] segmentWords = words[(int) index];
+            if (segmentWords == null && create) {
+                segmentWords = new long[WORDS_PER_SEGMENT];
+                words[(int) index] = segmentWords;
+            }
+            return segmentWords;
+        }
+
+        Segments grow(long from, long to) {
+            if (words.length == 0) {
+                return new Segments(from, new long[(int) (to - from + 1)][]);
+            }
+            long newFirst = Math.min(from, firstSegment);
+            long newLast = Math.max(to, firstSegment + words.length - 1);
+            long[][] grown = new long[(int) (newLast - newFirst + 1)][];
+            System.arraycopy(words, 0, grown, (int) (firstSegment - newFirst), words.length);
+            return new Segments(newFirst, grown);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.hotel.reservation.domain;
+
+/**
+ * Told the outcome and duration of every booking, cancellation, check-in,
+ * check-out and payer creation a {@link HotelChain} runs.
+ * <p>
+ * Called on the caller's thread after the chain has released its locks, once
+ * per operation, so an implementation must be thread-safe and cheap: count and
+ * return.
+ */
+public interface OperationListener {
+
+    /**
+     * Listener that ignores everything; the default. The chain does not read
+     * the clock while this is attached.
+     */
+    OperationListener NONE = (operation, outcome, elapsedNanos) -> { };
+
+    void operationCompleted(ChainOperation operation, OperationOutcome outcome, long elapsedNanos);
+}
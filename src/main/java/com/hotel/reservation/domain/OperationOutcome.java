@@ -0,0 +1,25 @@
+package com.hotel.reservation.domain;
+
+/**
+ * How a {@link ChainOperation} ended.
+ */
+public enum OperationOutcome {
+    SUCCESS,
+    /**
+     * Rejected with an IllegalArgumentException or IllegalStateException: bad
+     * input, an unknown payer, guest, hotel or reservation, or a state that does
+     * not allow the operation.
+     */
+    VALIDATION_FAILURE,
+    /**
+     * A valid booking for which too few rooms of the kind were free. Only
+     * {@link ChainOperation#MAKE_RESERVATION} and
+     * {@link ChainOperation#MAKE_RESERVATIONS} end this way.
+     */
+    NO_AVAILABILITY,
+    /**
+     * Failed with any other exception, such as the mutation log being closed or
+     * failing to write, which it reports with an UncheckedIOException.
+     */
+    ERROR
+}
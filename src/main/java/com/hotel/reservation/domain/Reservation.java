@@ -1,8 +1,8 @@
 package com.hotel.reservation.domain;
 
+import com.hotel.reservation.model.BusinessClock;
 import com.hotel.reservation.model.Date;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -16,7 +16,7 @@ public class Reservation {
     private final Date endDate;
     private final int number;
     private final ReserverPayer reserverPayer;
-    private final List<Room> rooms;
+    private volatile ArrayView<Room> rooms;
     private HowMany quantity;
 
     private Reservation(Date reservationDate, Date startDate, Date endDate, int number, ReserverPayer reserverPayer) {
@@ -30,7 +30,7 @@ public class Reservation {
         this.endDate = endDate;
         this.number = number;
         this.reserverPayer = reserverPayer;
-        this.rooms = new ArrayList<>();
+        this.rooms = ArrayView.empty();
     }
 
     public static Reservation create(Date reservationDate, Date startDate, Date endDate, int number, ReserverPayer reserverPayer) {
@@ -87,8 +87,11 @@ public class Reservation {
         return reserverPayer;
     }
 
+    /**
+     * Returns the rooms as an unmodifiable list; it does not change when rooms are added later.
+     */
     public List<Room> getRooms() {
-        return new ArrayList<>(rooms);
+        return rooms;
     }
 
     public HowMany getQuantity() {
@@ -103,14 +106,32 @@ public class Reservation {
         if (room == null) {
             throw new IllegalArgumentException("Room cannot be null");
         }
-        if (!rooms.contains(room)) {
-            rooms.add(room);
-            room.addReservation(this);
+        synchronized (this) {
+            if (rooms.contains(room)) {
+                return;
+            }
+            rooms = rooms.with(room);
         }
+        room.addReservation(this);
     }
 
+    /**
+     * Whether today, in the time zone of the hotel this reservation's rooms belong
+     * to, falls between the start and end dates (both inclusive).
+     */
     public boolean isActive() {
-        Date today = new Date(java.time.LocalDate.now());
+        ArrayView<Room> booked = rooms;
+        Date today = booked.isEmpty() ? BusinessClock.system().today() : booked.get(0).getHotel().today();
+        return isActive(today);
+    }
+
+    /**
+     * Whether the given day falls between the start and end dates (both inclusive).
+     */
+    public boolean isActive(Date today) {
+        if (today == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
         return !startDate.isAfter(today) && !endDate.isBefore(today);
     }
 
@@ -0,0 +1,301 @@
+package com.hotel.reservation.domain;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Augmented interval tree over the (reservation, room) bookings of one room type.
+ * Each booking covers an inclusive epoch-day range; nodes are ordered by
+ * {@link ReservationOrder} key (start day, then reservation number) and then
+ * room number, and carry the latest end day in their subtree, so overlap and
+ * stabbing queries skip every subtree that ends before the window and visit
+ * bookings in start order in O(log n + k).
+ * <p>
+ * The tree is an AVL tree of immutable nodes. Writers are serialized and copy
+ * only the path they change, then publish the new root; readers never lock and
+ * always walk one consistent version.
+ */
+final class ReservationIntervalTree {
+    private volatile Node root;
+    private volatile int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds the booking of the room by the reservation; does nothing if it is already present.
+     */
+    synchronized void insert(Reservation reservation, Room room) {
+        Node entry = new Node(reservation, room);
+        Node updated = insert(root, entry);
+        if (updated != root) {
+            root = updated;
+            size++;
+        }
+    }
+
+    /**
+     * Removes the booking of the room by the reservation, returning whether it was present.
+     */
+    synchronized boolean remove(Reservation reservation, Room room) {
+        Node key = new Node(reservation, room);
+        Node updated = remove(root, key);
+        if (updated == root) {
+            return false;
+        }
+        root = updated;
+        size--;
+        return true;
+    }
+
+    /**
+     * Visits, in start order, every booking holding a day in [fromDay, toDay].
+     */
+    void forEachOverlapping(long fromDay, long toDay, BiConsumer<? super Reservation, ? super Room> action) {
+        if (fromDay > toDay) {
+            throw new IllegalArgumentException("Start day must not be after end day");
+        }
+        visitOverlapping(root, fromDay, toDay, action);
+    }
+
+    /**
+     * Visits, in start order, every booking whose last day lies in [fromDay, toDay].
+     */
+    void forEachEndingBetween(long fromDay, long toDay, BiConsumer<? super Reservation, ? super Room> action) {
+        forEachOverlapping(fromDay, toDay, (reservation, room) -> {
+            if (reservation.getEndDate().toEpochDay() <= toDay) {
+                action.accept(reservation, room);
+            }
+        });
+    }
+
+    /**
+     * Iterates, in key order, the reservations holding a day in [fromDay, toDay]
+     * whose key is greater than afterKey. A reservation holding several rooms is
+     * returned once. The iterator walks the version of the tree current when it
+     * was created.
+     */
+    Iterator<Reservation> overlappingAfter(long afterKey, long fromDay, long toDay) {
+        if (fromDay > toDay) {
+            throw new IllegalArgumentException("Start day must not be after end day");
+        }
+        return new OverlapCursor(root, afterKey, fromDay, toDay);
+    }
+
+    private static void visitOverlapping(Node node, long fromDay, long toDay,
+                                         BiConsumer<? super Reservation, ? super Room> action) {
+        while (node != null && node.maxEnd >= fromDay) {
+            visitOverlapping(node.left, fromDay, toDay, action);
+            if (node.start > toDay) {
+                // Everything to the right starts even later.
+                return;
+            }
+            if (node.end >= fromDay) {
+                action.accept(node.reservation, node.room);
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node insert(Node node, Node entry) {
+        if (node == null) {
+            return entry;
+        }
+        int order = compare(entry, node);
+        if (order == 0) {
+            return node;
+        }
+        if (order < 0) {
+            Node left = insert(node.left, entry);
+            return left == node.left ? node : balance(node.withChildren(left, node.right));
+        }
+        Node right = insert(node.right, entry);
+        return right == node.right ? node : balance(node.withChildren(node.left, right));
+    }
+
+    private static Node remove(Node node, Node key) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(key, node);
+        if (order < 0) {
+            Node left = remove(node.left, key);
+            return left == node.left ? node : balance(node.withChildren(left, node.right));
+        }
+        if (order > 0) {
+            Node right = remove(node.right, key);
+            return right == node.right ? node : balance(node.withChildren(node.left, right));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.withChildren(node.left, removeFirst(node.right)));
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.withChildren(removeFirst(node.left), node.right));
+    }
+
+    private static Node balance(Node node) {
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            Node left = node.left;
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left);
+            }
+            return rotateRight(node.withChildren(left, node.right));
+        }
+        if (skew < -1) {
+            Node right = node.right;
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right);
+            }
+            return rotateLeft(node.withChildren(node.left, right));
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        return pivot.withChildren(node.withChildren(node.left, pivot.left), pivot.right);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        return pivot.withChildren(pivot.left, node.withChildren(pivot.right, node.right));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(Node a, Node b) {
+        int order = Long.compare(a.key, b.key);
+        if (order == 0) {
+            order = Integer.compare(a.room.getNumber(), b.room.getNumber());
+        }
+        return order;
+    }
+
+    /**
+     * Immutable tree node; height and maxEnd are derived from the children at construction.
+     */
+    private static final class Node {
+        final long start;
+        final long end;
+        final long key;
+        final Reservation reservation;
+        final Room room;
+        final Node left;
+        final Node right;
+        final int height;
+        final long maxEnd;
+
+        Node(Reservation reservation, Room room) {
+            this(reservation.getStartDate().toEpochDay(), reservation.getEndDate().toEpochDay(),
+                    reservation, room, null, null);
+        }
+
+        private Node(long start, long end, Reservation reservation, Room room, Node left, Node right) {
+            this.start = start;
+            this.end = end;
+            this.key = ReservationOrder.key(start, reservation.getNumber());
+            this.reservation = reservation;
+            this.room = room;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            this.maxEnd = max;
+        }
+
+        Node withChildren(Node left, Node right) {
+            return new Node(start, end, reservation, room, left, right);
+        }
+    }
+
+    /**
+     * In-order walk with an explicit stack, pruning subtrees that end before the
+     * window or hold only keys up to afterKey, and stopping at the first node
+     * that starts after the window.
+     */
+    private static final class OverlapCursor implements Iterator<Reservation> {
+        private final Deque<Node> stack = new ArrayDeque<>();
+        private final long afterKey;
+        private final long fromDay;
+        private final long toDay;
+        private Reservation next;
+
+        OverlapCursor(Node root, long afterKey, long fromDay, long toDay) {
+            this.afterKey = afterKey;
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            pushLeft(root);
+            next = advance(null);
+        }
+
+        private void pushLeft(Node node) {
+            while (node != null && node.maxEnd >= fromDay) {
+                if (node.key <= afterKey) {
+                    // The node and everything left of it were already returned
+                    node = node.right;
+                    continue;
+                }
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        private Reservation advance(Reservation previous) {
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                if (node.start > toDay) {
+                    // Every node still stacked starts even later
+                    stack.clear();
+                    return null;
+                }
+                pushLeft(node.right);
+                // A reservation's rooms are adjacent in key order; return it once
+                if (node.end >= fromDay && node.reservation != previous) {
+                    return node.reservation;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Reservation next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Reservation current = next;
+            next = advance(current);
+            return current;
+        }
+    }
+}
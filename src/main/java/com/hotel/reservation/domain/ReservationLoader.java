@@ -0,0 +1,47 @@
+package com.hotel.reservation.domain;
+
+import com.hotel.reservation.model.Date;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Restores reservations into a {@link HotelChain} in bulk, holding every room
+ * type's write lock from {@link HotelChain#openReservationLoader()} until
+ * {@link #close()}. Nothing it restores is logged.
+ */
+public final class ReservationLoader implements AutoCloseable {
+    private final HotelChain hotelChain;
+    private final List<Lock> locks;
+    private boolean closed;
+
+    ReservationLoader(HotelChain hotelChain, List<Lock> locks) {
+        this.hotelChain = hotelChain;
+        this.locks = locks;
+    }
+
+    /**
+     * Re-applies a reservation exactly as recorded, like
+     * {@link HotelChain#restoreReservation}.
+     */
+    public Reservation restore(int reservationNumber, int reserverPayerNumber, String hotelName,
+                               Date reservationDate, Date startDate, Date endDate,
+                               int quantity, int[] roomNumbers) {
+        if (closed) {
+            throw new IllegalStateException("Reservation loader is closed");
+        }
+        return hotelChain.restoreLocked(reservationNumber, reserverPayerNumber, hotelName, reservationDate,
+                                        startDate, endDate, quantity, roomNumbers);
+    }
+
+    /**
+     * Releases the room type locks; later calls do nothing.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            HotelChain.unlockAll(locks);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.hotel.reservation.domain;
+
+/**
+ * Source of reservation numbers for a hotel chain.
+ * Implementations must be thread-safe and never hand out the same number twice.
+ */
+public interface ReservationNumberAllocator {
+
+    /**
+     * Returns a positive reservation number that has not been returned before.
+     *
+     * @throws IllegalStateException if the number space is exhausted
+     */
+    int allocate();
+
+    /**
+     * Tells the allocator a number is already in use, for example after recovery
+     * restored it from a log. The default does nothing.
+     */
+    default void markUsed(int number) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.hotel.reservation.domain;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * The order every reservation index is kept in: start day, then reservation
+ * number, packed into one long. Because payer histories, the chain's start-date
+ * index and the room type interval trees all share it, a cursor over any of
+ * them can be resumed from the key of the last reservation it returned.
+ */
+final class ReservationOrder {
+
+    private ReservationOrder() {
+    }
+
+    /**
+     * Start day in the high half and the (positive) reservation number in the
+     * low half, so keys sort by start date and then number.
+     */
+    static long key(long startDay, int reservationNumber) {
+        return (startDay << 32) | (reservationNumber & 0xFFFFFFFFL);
+    }
+
+    static long key(Reservation reservation) {
+        return key(reservation.getStartDate().toEpochDay(), reservation.getNumber());
+    }
+
+    /**
+     * Smallest key of any reservation starting on the given day.
+     */
+    static long firstKey(long startDay) {
+        return key(startDay, 0);
+    }
+
+    /**
+     * Largest key of any reservation starting on the given day.
+     */
+    static long lastKey(long startDay) {
+        return key(startDay, -1);
+    }
+
+    static Iterator<Reservation> filter(Iterator<Reservation> source, Predicate<? super Reservation> predicate) {
+        return new Iterator<>() {
+            private Reservation next = advance();
+
+            private Reservation advance() {
+                while (source.hasNext()) {
+                    Reservation candidate = source.next();
+                    if (predicate.test(candidate)) {
+                        return candidate;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Reservation next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Reservation current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Merges iterators that are each in key order into one iterator in key order.
+     */
+    static Iterator<Reservation> merge(List<Iterator<Reservation>> sources) {
+        if (sources.size() == 1) {
+            return sources.get(0);
+        }
+        List<Iterator<Reservation>> iterators = new ArrayList<>(sources);
+        Reservation[] heads = new Reservation[iterators.size()];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = iterators.get(i).hasNext() ? iterators.get(i).next() : null;
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                for (Reservation head : heads) {
+                    if (head != null) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public Reservation next() {
+                // Few sources (one per room kind), so a linear scan beats a heap
+                int smallest = -1;
+                for (int i = 0; i < heads.length; i++) {
+                    if (heads[i] != null && (smallest < 0 || key(heads[i]) < key(heads[smallest]))) {
+                        smallest = i;
+                    }
+                }
+                if (smallest < 0) {
+                    throw new NoSuchElementException();
+                }
+                Reservation current = heads[smallest];
+                Iterator<Reservation> source = iterators.get(smallest);
+                heads[smallest] = source.hasNext() ? source.next() : null;
+                return current;
+            }
+        };
+    }
+}
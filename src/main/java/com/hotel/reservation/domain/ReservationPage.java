@@ -0,0 +1,42 @@
+package com.hotel.reservation.domain;
+
+import java.util.List;
+
+/**
+ * One page of {@link HotelChain#getReservations(ReservationQuery, String, int)}.
+ * The continuation token names the last reservation on the page, so the next
+ * page starts right after it even if reservations were booked or cancelled in
+ * between.
+ */
+public final class ReservationPage {
+    private final List<Reservation> reservations;
+    private final String continuationToken;
+
+    ReservationPage(List<Reservation> reservations, String continuationToken) {
+        this.reservations = reservations;
+        this.continuationToken = continuationToken;
+    }
+
+    /**
+     * Returns the page's reservations, ordered by start date and then number.
+     */
+    public List<Reservation> getReservations() {
+        return reservations;
+    }
+
+    /**
+     * Token to pass for the next page, or null when this is the last page.
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean hasMore() {
+        return continuationToken != null;
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationPage{reservations=" + reservations.size() + ", hasMore=" + hasMore() + "}";
+    }
+}
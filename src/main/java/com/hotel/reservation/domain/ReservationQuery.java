@@ -0,0 +1,127 @@
+package com.hotel.reservation.domain;
+
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+
+/**
+ * Filters for {@link HotelChain#streamReservations(ReservationQuery)} and
+ * {@link HotelChain#getReservations(ReservationQuery, String, int)}.
+ * Immutable; each method returns a copy with one more filter set. The chain
+ * answers from the narrowest index the filters allow: a payer's history, a
+ * room type's interval tree, or its own start-date index.
+ */
+public final class ReservationQuery {
+    private static final ReservationQuery ALL = new ReservationQuery(null, null, null, null, 0);
+
+    private final String hotelName;
+    private final RoomKind roomKind;
+    private final Date startDate;
+    private final Date endDate;
+    private final int reserverPayerNumber;
+
+    private ReservationQuery(String hotelName, RoomKind roomKind, Date startDate, Date endDate,
+                             int reserverPayerNumber) {
+        this.hotelName = hotelName;
+        this.roomKind = roomKind;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.reserverPayerNumber = reserverPayerNumber;
+    }
+
+    /**
+     * Matches every reservation.
+     */
+    public static ReservationQuery all() {
+        return ALL;
+    }
+
+    public ReservationQuery forHotel(String hotelName) {
+        if (hotelName == null) {
+            throw new IllegalArgumentException("Hotel name cannot be null");
+        }
+        return new ReservationQuery(hotelName, roomKind, startDate, endDate, reserverPayerNumber);
+    }
+
+    public ReservationQuery ofKind(RoomKind roomKind) {
+        if (roomKind == null) {
+            throw new IllegalArgumentException("Room kind cannot be null");
+        }
+        return new ReservationQuery(hotelName, roomKind, startDate, endDate, reserverPayerNumber);
+    }
+
+    /**
+     * Keeps reservations holding a room on any day between the dates (both inclusive).
+     */
+    public ReservationQuery overlapping(Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        return new ReservationQuery(hotelName, roomKind, startDate, endDate, reserverPayerNumber);
+    }
+
+    public ReservationQuery forReserverPayer(int reserverPayerNumber) {
+        if (reserverPayerNumber <= 0) {
+            throw new IllegalArgumentException("ReserverPayer number must be positive");
+        }
+        return new ReservationQuery(hotelName, roomKind, startDate, endDate, reserverPayerNumber);
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public RoomKind getRoomKind() {
+        return roomKind;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * The payer filter, or 0 when reservations of every payer match.
+     */
+    public int getReserverPayerNumber() {
+        return reserverPayerNumber;
+    }
+
+    boolean hasWindow() {
+        return startDate != null;
+    }
+
+    /**
+     * Checks every filter; used for whatever the chosen index did not already narrow.
+     */
+    boolean matches(Reservation reservation) {
+        if (reserverPayerNumber != 0 && reservation.getReserverPayer().getNumber() != reserverPayerNumber) {
+            return false;
+        }
+        if (startDate != null
+                && (reservation.getEndDate().isBefore(startDate) || reservation.getStartDate().isAfter(endDate))) {
+            return false;
+        }
+        if (hotelName == null && roomKind == null) {
+            return true;
+        }
+        for (Room room : reservation.getRooms()) {
+            if ((hotelName == null || hotelName.equals(room.getHotel().getName().getValue()))
+                    && (roomKind == null || roomKind == room.getRoomType().getKind())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationQuery{hotel=" + hotelName + ", kind=" + roomKind + ", startDate=" + startDate
+                + ", endDate=" + endDate + ", payer=" + reserverPayerNumber + "}";
+    }
+}
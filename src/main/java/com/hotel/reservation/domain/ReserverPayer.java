@@ -1,19 +1,33 @@
 package com.hotel.reservation.domain;
 
 import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
 import com.hotel.reservation.model.Identity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Represents a person who reserves and pays for hotel rooms.
  * As per UML: has creditCardDetails, id, and create() operation.
+ * <p>
+ * Besides the current reservation, a payer keeps every reservation it holds in
+ * a skip list ordered by start date and then number, so lookups and date-range
+ * scans stay logarithmic for accounts with many bookings and readers never lock.
  */
 public class ReserverPayer {
     private final CreditCard creditCardDetails;
     private final Identity id;
     private final int number;
-    private Reservation reservation;
+    private volatile Reservation reservation;
+    private final ConcurrentSkipListMap<Long, Reservation> reservations;
+    private volatile int reservationCount;
 
     private ReserverPayer(CreditCard creditCardDetails, Identity id, int number) {
         validateCreditCard(creditCardDetails);
@@ -23,6 +37,7 @@ public class ReserverPayer {
         this.creditCardDetails = creditCardDetails;
         this.id = id;
         this.number = number;
+        this.reservations = new ConcurrentSkipListMap<>();
     }
 
     public static ReserverPayer create(CreditCard creditCardDetails, Identity id, int number) {
@@ -59,6 +74,9 @@ public class ReserverPayer {
         return number;
     }
 
+    /**
+     * Returns the reservation booked most recently, or null if it has been cancelled.
+     */
     public Reservation getReservation() {
         return reservation;
     }
@@ -67,6 +85,77 @@ public class ReserverPayer {
         this.reservation = reservation;
     }
 
+    /**
+     * Returns every reservation this payer holds, ordered by start date and then
+     * number. The view is unmodifiable but live: it reflects later bookings and
+     * cancellations, and iterating it never fails because of them.
+     */
+    public Collection<Reservation> getReservations() {
+        return Collections.unmodifiableCollection(reservations.values());
+    }
+
+    /**
+     * Reservations with keys in (afterKey, lastKey], in {@link ReservationOrder} key order.
+     */
+    Iterator<Reservation> reservationsBetween(long afterKey, long lastKey) {
+        if (afterKey >= lastKey) {
+            return Collections.emptyIterator();
+        }
+        return reservations.subMap(afterKey, false, lastKey, true).values().iterator();
+    }
+
+    public int getReservationCount() {
+        return reservationCount;
+    }
+
+    /**
+     * Returns the reservations starting between the dates (both inclusive), ordered by start date.
+     */
+    public List<Reservation> getReservationsStartingBetween(Date from, Date to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (from.isAfter(to)) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(reservations.subMap(ReservationOrder.firstKey(from.toEpochDay()), true,
+                                                   ReservationOrder.lastKey(to.toEpochDay()), true).values());
+    }
+
+    /**
+     * Returns the first reservation starting on or after the given date, or null if there is none.
+     */
+    public Reservation getNextReservation(Date from) {
+        if (from == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        Map.Entry<Long, Reservation> next = reservations.ceilingEntry(ReservationOrder.firstKey(from.toEpochDay()));
+        return next == null ? null : next.getValue();
+    }
+
+    /**
+     * Adds the reservation to this payer's history and makes it the current one.
+     */
+    synchronized void addReservation(Reservation reservation) {
+        if (reservations.putIfAbsent(ReservationOrder.key(reservation), reservation) == null) {
+            reservationCount++;
+        }
+        this.reservation = reservation;
+    }
+
+    /**
+     * Drops the reservation from this payer's history, clearing the current
+     * reservation if it was this one.
+     */
+    synchronized void removeReservation(Reservation reservation) {
+        if (reservations.remove(ReservationOrder.key(reservation), reservation)) {
+            reservationCount--;
+        }
+        if (this.reservation == reservation) {
+            this.reservation = null;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
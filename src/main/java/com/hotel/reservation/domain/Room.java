@@ -1,8 +1,11 @@
 package com.hotel.reservation.domain;
 
-import java.util.ArrayList;
+import com.hotel.reservation.model.Date;
+
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
 
 /**
  * Represents a physical room in a hotel.
@@ -12,8 +15,11 @@ public class Room {
     private final int number;
     private final Hotel hotel;
     private final RoomType roomType;
-    private Guest occupant;
-    private final List<Reservation> reservations;
+    private volatile Guest occupant;
+    private final ConcurrentSkipListMap<Long, Reservation> reservations;
+    private volatile List<Reservation> reservationsView;
+    private final OccupancyCalendar calendar;
+    private long longestStayDays;
 
     public Room(int number, Hotel hotel, RoomType roomType) {
         validateNumber(number);
@@ -23,7 +29,9 @@ public class Room {
         this.number = number;
         this.hotel = hotel;
         this.roomType = roomType;
-        this.reservations = new ArrayList<>();
+        this.reservations = new ConcurrentSkipListMap<>();
+        this.reservationsView = List.of();
+        this.calendar = new OccupancyCalendar();
     }
 
     private void validateNumber(int number) {
@@ -60,8 +68,26 @@ public class Room {
         return occupant;
     }
 
+    /**
+     * Returns the reservations, ordered by start date and then number, as an
+     * unmodifiable list; it does not change when reservations are added or
+     * cancelled later. The list is built on the first call after a change and
+     * shared until the next one.
+     */
     public List<Reservation> getReservations() {
-        return new ArrayList<>(reservations);
+        List<Reservation> view = reservationsView;
+        return view != null ? view : snapshotReservations();
+    }
+
+    private synchronized List<Reservation> snapshotReservations() {
+        if (reservationsView == null) {
+            reservationsView = List.copyOf(reservations.values());
+        }
+        return reservationsView;
+    }
+
+    public void forEachReservation(Consumer<? super Reservation> action) {
+        reservations.values().forEach(action);
     }
 
     public boolean isOccupied() {
@@ -72,6 +98,40 @@ public class Room {
         return !isOccupied();
     }
 
+    /**
+     * Checks whether any reservation holds this room on a day between the given
+     * dates (both inclusive). Answered from the occupancy calendar, so the cost
+     * does not depend on how many reservations the room has seen.
+     */
+    public boolean isReservedBetween(Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (startDate.isAfter(endDate)) {
+            return false;
+        }
+        return !calendar.isFree(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Returns the earliest start date on or after the given date for which a stay
+     * of the given number of nights (ending nights days after the start) would find
+     * this room free. Scanned from the occupancy calendar a word at a time.
+     */
+    public Date findNextFreeStart(Date from, int nights) {
+        if (from == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (nights <= 0) {
+            throw new IllegalArgumentException("Nights must be positive");
+        }
+        return Date.ofEpochDay(nextFreeStartDay(from.toEpochDay(), nights));
+    }
+
+    long nextFreeStartDay(long fromDay, int nights) {
+        return calendar.nextFreeRun(fromDay, nights + 1);
+    }
+
     public Guest createGuest() {
         if (isOccupied()) {
             throw new IllegalStateException("Room is already occupied");
@@ -81,21 +141,56 @@ public class Room {
         return occupant;
     }
 
-    void setOccupant(Guest guest) {
+    synchronized void setOccupant(Guest guest) {
+        Guest previous = occupant;
         this.occupant = guest;
+        if (previous == null && guest != null) {
+            roomType.occupancyChanged(1);
+        } else if (previous != null && guest == null) {
+            roomType.occupancyChanged(-1);
+        }
     }
 
-    void addReservation(Reservation reservation) {
+    /**
+     * Books the room for the reservation. Membership is a skip-list lookup by
+     * {@link ReservationOrder} key, so the cost is logarithmic in the room's history.
+     */
+    synchronized void addReservation(Reservation reservation) {
         if (reservation == null) {
             throw new IllegalArgumentException("Reservation cannot be null");
         }
-        if (!reservations.contains(reservation)) {
-            reservations.add(reservation);
+        if (reservations.putIfAbsent(ReservationOrder.key(reservation), reservation) == null) {
+            reservationsView = null;
+            long fromDay = reservation.getStartDate().toEpochDay();
+            long toDay = reservation.getEndDate().toEpochDay();
+            calendar.mark(fromDay, toDay);
+            longestStayDays = Math.max(longestStayDays, toDay - fromDay);
+            roomType.recordSold(reservation.getStartDate(), reservation.getEndDate());
+            roomType.indexReservation(reservation, this);
         }
     }
 
-    void removeReservation(Reservation reservation) {
-        reservations.remove(reservation);
+    synchronized void removeReservation(Reservation reservation) {
+        if (!reservations.remove(ReservationOrder.key(reservation), reservation)) {
+            return;
+        }
+        reservationsView = null;
+        long fromDay = reservation.getStartDate().toEpochDay();
+        long toDay = reservation.getEndDate().toEpochDay();
+        calendar.clear(fromDay, toDay);
+        roomType.releaseSold(reservation.getStartDate(), reservation.getEndDate());
+        roomType.unindexReservation(reservation, this);
+        // Reservations added directly may overlap; restore any days they still hold.
+        // Only those starting within the longest stay before the range can reach it.
+        long firstKey = ReservationOrder.firstKey(fromDay - longestStayDays);
+        long lastKey = ReservationOrder.lastKey(toDay);
+        for (Reservation remaining : reservations.subMap(firstKey, true, lastKey, true).values()) {
+            long overlapFrom = Math.max(fromDay, remaining.getStartDate().toEpochDay());
+            long overlapTo = Math.min(toDay, remaining.getEndDate().toEpochDay());
+            if (overlapFrom <= overlapTo) {
+                calendar.mark(overlapFrom, overlapTo);
+            }
+        }
     }
 
     @Override
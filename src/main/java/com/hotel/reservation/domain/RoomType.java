@@ -1,11 +1,20 @@
 package com.hotel.reservation.domain;
 
+import com.hotel.reservation.model.CompactMoney;
+import com.hotel.reservation.model.Date;
 import com.hotel.reservation.model.Money;
 import com.hotel.reservation.model.RoomKind;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * Represents a type of room in a hotel.
@@ -14,9 +23,15 @@ import java.util.Objects;
 public class RoomType {
     private final RoomKind kind;
     private final Money cost;
+    private volatile CompactMoney compactCost;
     private final Hotel hotel;
-    private final List<Room> rooms;
+    private volatile ArrayView<Room> rooms;
     private final List<HowMany> quantities;
+    private final NightlySoldCounts soldCounts;
+    private final ReservationIntervalTree bookings;
+    private final StampedLock bookingLock;
+    private final LongAdder bookingRetries;
+    private final AtomicInteger occupiedRooms;
 
     public RoomType(RoomKind kind, Money cost, Hotel hotel) {
         validateKind(kind);
@@ -26,8 +41,13 @@ public class RoomType {
         this.kind = kind;
         this.cost = cost;
         this.hotel = hotel;
-        this.rooms = new ArrayList<>();
+        this.rooms = ArrayView.empty();
         this.quantities = new ArrayList<>();
+        this.soldCounts = new NightlySoldCounts();
+        this.bookings = new ReservationIntervalTree();
+        this.bookingLock = new StampedLock();
+        this.bookingRetries = new LongAdder();
+        this.occupiedRooms = new AtomicInteger();
     }
 
     private void validateKind(RoomKind kind) {
@@ -60,20 +80,71 @@ public class RoomType {
         return hotel;
     }
 
+    /**
+     * The cost as {@link CompactMoney}, converted on first use.
+     */
+    public CompactMoney getCompactCost() {
+        CompactMoney converted = compactCost;
+        if (converted == null) {
+            // Racing threads convert the same value, so either result may be kept
+            converted = CompactMoney.from(cost);
+            compactCost = converted;
+        }
+        return converted;
+    }
+
+    /**
+     * Total for quantity rooms of this type from the start date to the end date,
+     * in minor units of the cost's currency; one night is charged per day between
+     * the dates. Allocates nothing once the compact cost has been converted.
+     * Throws ArithmeticException if the total does not fit in a long.
+     */
+    public long quoteMinorUnits(Date startDate, Date endDate, int quantity) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (!startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        long nights = endDate.toEpochDay() - startDate.toEpochDay();
+        return Math.multiplyExact(Math.multiplyExact(getCompactCost().getMinorUnits(), nights), quantity);
+    }
+
+    public CompactMoney quote(Date startDate, Date endDate, int quantity) {
+        return CompactMoney.ofCode(quoteMinorUnits(startDate, endDate, quantity), getCompactCost().getCurrencyCode());
+    }
+
+    /**
+     * Returns the rooms as an unmodifiable list; it does not change when rooms are added later.
+     */
     public List<Room> getRooms() {
-        return new ArrayList<>(rooms);
+        return rooms;
+    }
+
+    public void forEachRoom(Consumer<? super Room> action) {
+        rooms.forEach(action);
     }
 
     public List<HowMany> getQuantities() {
         return new ArrayList<>(quantities);
     }
 
+    /**
+     * Adds a room to this type, registering it with the hotel first (which logs
+     * it when the hotel belongs to a chain) so it is never bookable unlogged.
+     */
     public void addRoom(Room room) {
         if (room == null) {
             throw new IllegalArgumentException("Room cannot be null");
         }
-        if (!rooms.contains(room)) {
-            rooms.add(room);
+        hotel.addRoom(room);
+        synchronized (this) {
+            if (!rooms.contains(room)) {
+                rooms = rooms.with(room);
+            }
         }
     }
 
@@ -86,8 +157,179 @@ public class RoomType {
         }
     }
 
+    /**
+     * Returns how many rooms of this type are sold on the given day.
+     */
+    public int getSoldCount(Date date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        return soldCounts.get(date.toEpochDay());
+    }
+
+    /**
+     * Quick upper-bound check from the nightly sold counts: returns false when
+     * some day between the dates (both inclusive) has fewer than quantity unsold
+     * rooms. A true answer still needs confirming room by room, since rooms free
+     * on separate nights are not necessarily free for the whole stay.
+     */
+    boolean mayHaveCapacity(Date startDate, Date endDate, int quantity) {
+        return rooms.size() - maxSold(startDate, endDate) >= quantity;
+    }
+
+    /**
+     * Highest number of rooms sold on any day between the dates (both inclusive);
+     * 0 for an inverted range, which no reservation can overlap.
+     */
+    int maxSold(Date startDate, Date endDate) {
+        if (startDate.isAfter(endDate)) {
+            return 0;
+        }
+        return soldCounts.max(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Counts of this type's rooms for one night, read from the running totals
+     * without visiting any room.
+     */
+    public RoomTypeSummary summarize(Date date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        return new RoomTypeSummary(kind, date, rooms.size(), occupiedRooms.get(), getSoldCount(date));
+    }
+
+    public int getOccupiedRoomCount() {
+        return occupiedRooms.get();
+    }
+
+    void occupancyChanged(int delta) {
+        occupiedRooms.addAndGet(delta);
+    }
+
+    /**
+     * Lock stripe guarding bookings, cancellations and check-ins for rooms of this type.
+     * Its stamp doubles as the room type's version: any write invalidates optimistic reads.
+     */
+    StampedLock bookingLock() {
+        return bookingLock;
+    }
+
+    /**
+     * Number of optimistic bookings on this room type that had to retry because of a concurrent write.
+     */
+    public long getBookingRetryCount() {
+        return bookingRetries.sum();
+    }
+
+    void recordBookingRetry() {
+        bookingRetries.increment();
+    }
+
+    void recordSold(Date startDate, Date endDate) {
+        soldCounts.increment(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    void releaseSold(Date startDate, Date endDate) {
+        soldCounts.decrement(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    void indexReservation(Reservation reservation, Room room) {
+        bookings.insert(reservation, room);
+    }
+
+    void unindexReservation(Reservation reservation, Room room) {
+        bookings.remove(reservation, room);
+    }
+
+    /**
+     * Returns, ordered by start date, the reservations holding a room of this type
+     * on any day between the dates (both inclusive). Answered from the interval
+     * tree, so only bookings near the window are visited.
+     */
+    public List<Reservation> findReservationsOverlapping(Date startDate, Date endDate) {
+        validateWindow(startDate, endDate);
+        List<Reservation> result = new ArrayList<>();
+        bookings.forEachOverlapping(startDate.toEpochDay(), endDate.toEpochDay(), (reservation, room) -> {
+            // A reservation's rooms are adjacent in start order; keep it once.
+            if (result.isEmpty() || result.get(result.size() - 1) != reservation) {
+                result.add(reservation);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Reservations holding a room of this type on a day in [fromDay, toDay] with
+     * keys after afterKey, in {@link ReservationOrder} key order.
+     */
+    Iterator<Reservation> reservationsAfter(long afterKey, long fromDay, long toDay) {
+        return bookings.overlappingAfter(afterKey, fromDay, toDay);
+    }
+
+    /**
+     * Returns, ordered by start date, the reservations holding a room of this type on the given day.
+     */
+    public List<Reservation> findReservationsOn(Date date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        return findReservationsOverlapping(date, date);
+    }
+
+    /**
+     * Returns the rooms of this type whose booking ends on a day between the dates
+     * (both inclusive), each once, in the start order of the first such booking.
+     */
+    public List<Room> findRoomsFreeingUpBetween(Date startDate, Date endDate) {
+        validateWindow(startDate, endDate);
+        Set<Room> result = new LinkedHashSet<>();
+        bookings.forEachEndingBetween(startDate.toEpochDay(), endDate.toEpochDay(),
+                (reservation, room) -> result.add(room));
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Returns the earliest start date on or after the given date for which some
+     * room of this type is free for a stay of the given number of nights, or null
+     * when the type has no rooms.
+     */
+    public Date findNextFreeStart(Date from, int nights) {
+        if (from == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (nights <= 0) {
+            throw new IllegalArgumentException("Nights must be positive");
+        }
+        long fromDay = from.toEpochDay();
+        long earliest = Long.MAX_VALUE;
+        for (Room room : rooms) {
+            earliest = Math.min(earliest, room.nextFreeStartDay(fromDay, nights));
+            if (earliest == fromDay) {
+                break;
+            }
+        }
+        return earliest == Long.MAX_VALUE ? null : Date.ofEpochDay(earliest);
+    }
+
+    /**
+     * Number of room bookings (a reservation counted once per room) in the interval tree.
+     */
+    int getIndexedBookingCount() {
+        return bookings.size();
+    }
+
+    private static void validateWindow(Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+    }
+
     public int getAvailableRoomCount() {
-        return (int) rooms.stream().filter(room -> !room.isOccupied()).count();
+        return rooms.size() - occupiedRooms.get();
     }
 
     @Override
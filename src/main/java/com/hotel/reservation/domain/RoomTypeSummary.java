@@ -0,0 +1,61 @@
+package com.hotel.reservation.domain;
+
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+
+/**
+ * Point-in-time counts for one room kind of a hotel on one night, for
+ * dashboards and per-kind queries.
+ * <p>
+ * Occupied rooms are guests checked in right now; sold rooms are reservations
+ * covering the night. The two overlap when a checked-in guest holds a
+ * reservation, so they are not added together.
+ */
+public final class RoomTypeSummary {
+    private final RoomKind kind;
+    private final Date date;
+    private final int totalRooms;
+    private final int occupiedRooms;
+    private final int soldRooms;
+
+    RoomTypeSummary(RoomKind kind, Date date, int totalRooms, int occupiedRooms, int soldRooms) {
+        this.kind = kind;
+        this.date = date;
+        this.totalRooms = totalRooms;
+        this.occupiedRooms = occupiedRooms;
+        this.soldRooms = soldRooms;
+    }
+
+    public RoomKind getKind() {
+        return kind;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public int getTotalRooms() {
+        return totalRooms;
+    }
+
+    public int getOccupiedRooms() {
+        return occupiedRooms;
+    }
+
+    public int getSoldRooms() {
+        return soldRooms;
+    }
+
+    /**
+     * Rooms not sold for the night, whether or not someone is checked in to them.
+     */
+    public int getUnsoldRooms() {
+        return Math.max(0, totalRooms - soldRooms);
+    }
+
+    @Override
+    public String toString() {
+        return "RoomTypeSummary{kind=" + kind + ", date=" + date + ", total=" + totalRooms
+                + ", occupied=" + occupiedRooms + ", sold=" + soldRooms + "}";
+    }
+}
@@ -0,0 +1,38 @@
+package com.hotel.reservation.loadgen;
+
+/**
+ * A reservation made by the load generator: enough to cancel it or check its guest in.
+ */
+public final class Booking {
+    private final int number;
+    private final String hotelName;
+    private final int[] roomNumbers;
+
+    public Booking(int number, String hotelName, int[] roomNumbers) {
+        if (hotelName == null) {
+            throw new IllegalArgumentException("Hotel name cannot be null");
+        }
+        if (roomNumbers == null || roomNumbers.length == 0) {
+            throw new IllegalArgumentException("A booking must hold at least one room");
+        }
+        this.number = number;
+        this.hotelName = hotelName;
+        this.roomNumbers = roomNumbers.clone();
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public int getRoomCount() {
+        return roomNumbers.length;
+    }
+
+    public int getRoomNumber(int index) {
+        return roomNumbers[index];
+    }
+}
@@ -0,0 +1,126 @@
+package com.hotel.reservation.loadgen;
+
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+
+import java.math.BigDecimal;
+
+/**
+ * Builds a synthetic chain of a given shape: hotels, room types per hotel (the
+ * first kinds of {@link RoomKind}), rooms per type, and guests each paired with
+ * a reserver payer. Names and numbers follow from the indexes, so two
+ * synthesizers with the same shape describe the same chain; a load generator
+ * can drive a chain populated elsewhere, such as behind an HTTP server.
+ */
+public final class ChainSynthesizer {
+    private static final int[] BASE_RATES = {80, 120, 250, 400, 1200};
+
+    private final int hotels;
+    private final int roomTypesPerHotel;
+    private final int roomsPerType;
+    private final int guests;
+
+    public ChainSynthesizer(int hotels, int roomTypesPerHotel, int roomsPerType, int guests) {
+        if (hotels <= 0 || roomsPerType <= 0 || guests <= 0) {
+            throw new IllegalArgumentException("Hotel, room and guest counts must be positive");
+        }
+        if (roomTypesPerHotel <= 0 || roomTypesPerHotel > RoomKind.values().length) {
+            throw new IllegalArgumentException("Room types per hotel must be between 1 and " + RoomKind.values().length);
+        }
+        this.hotels = hotels;
+        this.roomTypesPerHotel = roomTypesPerHotel;
+        this.roomsPerType = roomsPerType;
+        this.guests = guests;
+    }
+
+    /**
+     * Adds the hotels, rooms, guests and payers to the chain, which should not
+     * already hold any of them.
+     */
+    public HotelChain populate(HotelChain hotelChain) {
+        if (hotelChain == null) {
+            throw new IllegalArgumentException("Hotel chain cannot be null");
+        }
+        for (int h = 0; h < hotels; h++) {
+            Hotel hotel = new Hotel(new Name(hotelName(h)));
+            hotelChain.addHotel(hotel);
+            int roomNumber = 1;
+            for (int t = 0; t < roomTypesPerHotel; t++) {
+                // Rates vary a little from hotel to hotel so cost filters have something to select
+                BigDecimal rate = BigDecimal.valueOf(BASE_RATES[t] + (h % 7) * 5L);
+                RoomType roomType = new RoomType(roomKind(t), new Money(rate, "USD"), hotel);
+                hotel.addRoomType(roomType);
+                for (int r = 0; r < roomsPerType; r++) {
+                    Room room = new Room(roomNumber++, hotel, roomType);
+                    hotel.addRoom(room);
+                    roomType.addRoom(room);
+                }
+            }
+        }
+        for (int g = 0; g < guests; g++) {
+            hotelChain.addGuest(Guest.create(new Name(guestName(g)),
+                                             new Address("1 Main St", "Springfield", "IL", "62701", "USA")));
+            hotelChain.createReserverPayer(new CreditCard(String.format("4%015d", g), guestName(g), "12/99", "123"),
+                                           new Identity(String.format("ID%08d", g), Identity.IdentityType.PASSPORT),
+                                           payerNumber(g));
+        }
+        return hotelChain;
+    }
+
+    public int getHotels() {
+        return hotels;
+    }
+
+    public int getRoomTypesPerHotel() {
+        return roomTypesPerHotel;
+    }
+
+    public int getRoomsPerType() {
+        return roomsPerType;
+    }
+
+    public int getGuests() {
+        return guests;
+    }
+
+    public String hotelName(int index) {
+        return "Hotel " + letters(index);
+    }
+
+    public RoomKind roomKind(int typeIndex) {
+        return RoomKind.values()[typeIndex];
+    }
+
+    /**
+     * Guest names must be letters only, so the index is spelled in base 26.
+     */
+    public String guestName(int index) {
+        return "Guest " + letters(index);
+    }
+
+    /**
+     * The payer paired with the guest of the same index.
+     */
+    public int payerNumber(int index) {
+        return index + 1;
+    }
+
+    private static String letters(int index) {
+        StringBuilder name = new StringBuilder();
+        int value = index;
+        do {
+            name.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return name.toString();
+    }
+}
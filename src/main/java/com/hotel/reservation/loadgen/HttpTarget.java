@@ -0,0 +1,151 @@
+package com.hotel.reservation.loadgen;
+
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Drives the HTTP API of {@link com.hotel.reservation.api.BookingApiServer}
+ * over keep-alive connections. 400 answers become IllegalArgumentException,
+ * 404 and 409 IllegalStateException, so they are reported as rejections like
+ * their in-process counterparts; any other failure is an IOException.
+ */
+public final class HttpTarget implements LoadTarget {
+    private static final String FORM = "application/x-www-form-urlencoded";
+
+    private final String baseUrl;
+
+    /**
+     * Targets the server at the base URL, for example http://localhost:8080.
+     */
+    public HttpTarget(String baseUrl) {
+        if (baseUrl == null || !(baseUrl.startsWith("http://") || baseUrl.startsWith("https://"))) {
+            throw new IllegalArgumentException("Base URL must start with http:// or https://");
+        }
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public int searchAvailability(RoomKind roomKind, Date startDate, Date endDate, int quantity) throws IOException {
+        String body = send("GET", "/availability?kind=" + roomKind + "&start=" + startDate + "&end=" + endDate
+                + "&quantity=" + quantity, null);
+        int matches = 0;
+        for (int i = body.indexOf("\"hotel\":"); i >= 0; i = body.indexOf("\"hotel\":", i + 1)) {
+            matches++;
+        }
+        return matches;
+    }
+
+    @Override
+    public Booking book(int reserverPayerNumber, String guestName, String hotelName, RoomKind roomKind,
+                        Date startDate, Date endDate, int quantity) throws IOException {
+        String body = send("POST", "/reservations", "payer=" + reserverPayerNumber
+                + "&guest=" + encode(guestName) + "&hotel=" + encode(hotelName) + "&kind=" + roomKind
+                + "&start=" + startDate + "&end=" + endDate + "&quantity=" + quantity);
+        return new Booking(readNumber(body, "\"number\":"), hotelName, readRooms(body));
+    }
+
+    @Override
+    public void cancel(int reservationNumber) throws IOException {
+        send("DELETE", "/reservations/" + reservationNumber, null);
+    }
+
+    @Override
+    public void checkIn(String guestName, int roomNumber, String hotelName) throws IOException {
+        send("POST", "/checkin", "guest=" + encode(guestName) + "&hotel=" + encode(hotelName) + "&room=" + roomNumber);
+    }
+
+    @Override
+    public void checkOut(String guestName) throws IOException {
+        send("POST", "/checkout", "guest=" + encode(guestName));
+    }
+
+    @Override
+    public String describe() {
+        return baseUrl;
+    }
+
+    /**
+     * Sends the request and returns the response body, read to the end so the
+     * connection goes back to the keep-alive pool.
+     */
+    private String send(String method, String path, String form) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(baseUrl + path).toURL().openConnection();
+        connection.setRequestMethod(method);
+        if (form != null) {
+            byte[] content = form.getBytes(StandardCharsets.UTF_8);
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", FORM);
+            connection.setFixedLengthStreamingMode(content.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(content);
+            }
+        }
+        int status = connection.getResponseCode();
+        String body = readAll(status < 400 ? connection.getInputStream() : connection.getErrorStream());
+        if (status < 300) {
+            return body;
+        }
+        if (status == 400) {
+            throw new IllegalArgumentException(body);
+        }
+        if (status == 404 || status == 409) {
+            throw new IllegalStateException(body);
+        }
+        throw new IOException("HTTP " + status + " from " + method + " " + path + ": " + body);
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        if (in == null) {
+            return "";
+        }
+        try (in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static int readNumber(String body, String field) throws IOException {
+        int start = body.indexOf(field);
+        if (start < 0) {
+            throw new IOException("Response has no " + field + " field: " + body);
+        }
+        start += field.length();
+        int end = start;
+        while (end < body.length() && Character.isDigit(body.charAt(end))) {
+            end++;
+        }
+        return Integer.parseInt(body.substring(start, end));
+    }
+
+    private static int[] readRooms(String body) throws IOException {
+        int start = body.indexOf("\"rooms\":[");
+        int end = body.indexOf(']', start);
+        if (start < 0 || end < 0) {
+            throw new IOException("Response has no rooms: " + body);
+        }
+        String list = body.substring(start + "\"rooms\":[".length(), end);
+        if (list.isEmpty()) {
+            return new int[0];
+        }
+        String[] parts = list.split(",");
+        int[] rooms = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            rooms[i] = Integer.parseInt(parts[i]);
+        }
+        return rooms;
+    }
+}
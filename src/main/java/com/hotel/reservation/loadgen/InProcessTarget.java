@@ -0,0 +1,62 @@
+package com.hotel.reservation.loadgen;
+
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+
+import java.util.List;
+
+/**
+ * Calls a {@link HotelChain} in this process directly.
+ */
+public final class InProcessTarget implements LoadTarget {
+    private final HotelChain hotelChain;
+
+    public InProcessTarget(HotelChain hotelChain) {
+        if (hotelChain == null) {
+            throw new IllegalArgumentException("Hotel chain cannot be null");
+        }
+        this.hotelChain = hotelChain;
+    }
+
+    @Override
+    public int searchAvailability(RoomKind roomKind, Date startDate, Date endDate, int quantity) {
+        return (int) hotelChain.searchAvailability(roomKind, startDate, endDate, quantity, availability -> true)
+                .count();
+    }
+
+    @Override
+    public Booking book(int reserverPayerNumber, String guestName, String hotelName, RoomKind roomKind,
+                        Date startDate, Date endDate, int quantity) {
+        Reservation reservation = hotelChain.makeReservation(reserverPayerNumber, guestName, hotelName, roomKind,
+                                                             startDate, endDate, quantity);
+        List<Room> rooms = reservation.getRooms();
+        int[] roomNumbers = new int[rooms.size()];
+        for (int i = 0; i < roomNumbers.length; i++) {
+            roomNumbers[i] = rooms.get(i).getNumber();
+        }
+        return new Booking(reservation.getNumber(), hotelName, roomNumbers);
+    }
+
+    @Override
+    public void cancel(int reservationNumber) {
+        hotelChain.cancelReservation(reservationNumber);
+    }
+
+    @Override
+    public void checkIn(String guestName, int roomNumber, String hotelName) {
+        hotelChain.checkinGuest(guestName, roomNumber, hotelName);
+    }
+
+    @Override
+    public void checkOut(String guestName) {
+        hotelChain.checkOutGuest(guestName);
+    }
+
+    @Override
+    public String describe() {
+        return "in-process";
+    }
+}
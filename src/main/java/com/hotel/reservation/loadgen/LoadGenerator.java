@@ -0,0 +1,421 @@
+package com.hotel.reservation.loadgen;
+
+import com.hotel.reservation.api.BookingApiServer;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.metrics.ChainMetrics;
+import com.hotel.reservation.model.BusinessClock;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Closed-loop load generator. Each thread owns a slice of the synthetic
+ * chain's guests and loops: wait for its next slot at the target rate, pick an
+ * operation from the profile's mix, run it against the target and record the
+ * outcome. Hotels and room types are drawn with Zipfian popularity, stays book
+ * mostly a few weeks ahead for a few nights, and a thread only cancels or
+ * checks in bookings it made itself, so threads never race one another over
+ * the same guest.
+ * <p>
+ * Run {@link #main(String[])} with --help for the command line.
+ */
+public final class LoadGenerator {
+    private static final int[] STAY_NIGHTS = {1, 2, 3, 4, 5, 6, 7, 10, 14};
+    private static final int[] STAY_WEIGHTS = {30, 25, 17, 10, 6, 4, 5, 2, 1};
+    private static final int MEAN_LEAD_DAYS = 30;
+    private static final int MAX_LEAD_DAYS = 365;
+
+    private final LoadProfile profile;
+    private final ChainSynthesizer chain;
+    private final LoadTarget target;
+    private final long firstDay;
+    private final ZipfianGenerator hotels;
+    private final ZipfianGenerator roomTypes;
+
+    /**
+     * Drives the target, which must serve a chain populated by the synthesizer;
+     * stays start from firstDay onwards.
+     */
+    public LoadGenerator(LoadProfile profile, ChainSynthesizer chain, LoadTarget target, Date firstDay) {
+        if (profile == null || chain == null || target == null || firstDay == null) {
+            throw new IllegalArgumentException("Profile, chain, target and first day cannot be null");
+        }
+        if (chain.getGuests() < profile.getThreads()) {
+            throw new IllegalArgumentException("Every thread needs at least one guest of its own");
+        }
+        this.profile = profile;
+        this.chain = chain;
+        this.target = target;
+        this.firstDay = firstDay.toEpochDay();
+        this.hotels = new ZipfianGenerator(chain.getHotels(), profile.getTheta());
+        this.roomTypes = new ZipfianGenerator(chain.getRoomTypesPerHotel(), profile.getTheta());
+    }
+
+    /**
+     * Runs the warm-up and the measured period, and returns the report for the latter.
+     */
+    public LoadReport run() throws InterruptedException {
+        LoadReport report = new LoadReport(target.describe(), profile);
+        int threads = profile.getThreads();
+        long start = System.nanoTime();
+        long measureFrom = start + profile.getWarmupMillis() * 1_000_000;
+        long measureUntil = measureFrom + profile.getDurationMillis() * 1_000_000;
+        long interval = profile.getTargetRate() == 0 ? 0 : threads * 1_000_000_000L / profile.getTargetRate();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            // Stagger the threads so their slots interleave evenly
+            Worker worker = new Worker(t, report, start + interval * t / threads, interval, measureFrom, measureUntil);
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.run();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + t);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        report.setMeasuredNanos(measureUntil - measureFrom);
+        return report;
+    }
+
+    /**
+     * Options are --name=value; see --help. With --serve=PORT, synthesizes the
+     * chain and serves it over HTTP until killed, for a generator elsewhere
+     * started with --target=http://host:PORT and the same chain shape.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("help")) {
+            System.out.println("Options (defaults in brackets):\n"
+                    + "  --hotels=N [20]  --types=N [3]  --rooms=N rooms per type [50]  --guests=N [2000]\n"
+                    + "  --threads=N [4]  --rate=OPS per second, 0 for unthrottled [0]\n"
+                    + "  --duration=SECONDS [30]  --warmup=SECONDS [5]  --zipf=THETA [0.99]  --seed=N [42]\n"
+                    + "  --mix=search:30,book:40,cancel:15,check_in:8,check_out:7\n"
+                    + "  --target=in-process | http (embedded server) | http://host:port [in-process]\n"
+                    + "  --metrics=FILE  write the chain's Prometheus metrics there after the run (not with a URL target)\n"
+                    + "  --serve=PORT  serve the synthetic chain over HTTP instead of generating load");
+            return;
+        }
+        ChainSynthesizer synthesizer = new ChainSynthesizer(intOption(options, "hotels", 20),
+                intOption(options, "types", 3), intOption(options, "rooms", 50), intOption(options, "guests", 2000));
+        LoadProfile profile = LoadProfile.defaults()
+                .withThreads(intOption(options, "threads", 4))
+                .withTargetRate(intOption(options, "rate", 0))
+                .withDurationMillis(intOption(options, "duration", 30) * 1000L)
+                .withWarmupMillis(intOption(options, "warmup", 5) * 1000L)
+                .withTheta(Double.parseDouble(options.getOrDefault("zipf", "0.99")))
+                .withSeed(intOption(options, "seed", 42));
+        if (options.containsKey("mix")) {
+            for (String part : options.get("mix").split(",")) {
+                String[] pair = part.split(":");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Mix entries look like book:40");
+                }
+                profile = profile.withWeight(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+            }
+        }
+
+        if (options.containsKey("serve")) {
+            HotelChain hotelChain = synthesizer.populate(new HotelChain());
+            BookingApiServer server = new BookingApiServer(hotelChain, new InetSocketAddress(intOption(options, "serve", 8080)));
+            server.start();
+            System.out.println("Serving the synthetic chain on port " + server.getPort());
+            return;
+        }
+
+        String targetOption = options.getOrDefault("target", "in-process");
+        HotelChain hotelChain = null;
+        BookingApiServer server = null;
+        LoadTarget target;
+        if (targetOption.equals("in-process") || targetOption.equals("http")) {
+            hotelChain = synthesizer.populate(new HotelChain());
+            if (targetOption.equals("http")) {
+                server = new BookingApiServer(hotelChain, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                server.start();
+                target = new HttpTarget("http://127.0.0.1:" + server.getPort());
+            } else {
+                target = new InProcessTarget(hotelChain);
+            }
+        } else {
+            target = new HttpTarget(targetOption);
+        }
+        if (options.containsKey("metrics") && hotelChain == null) {
+            throw new IllegalArgumentException("--metrics needs the chain in this process");
+        }
+        ChainMetrics metrics = options.containsKey("metrics") ? ChainMetrics.attach(hotelChain) : null;
+        Date today = hotelChain != null ? hotelChain.getClock().today() : BusinessClock.system().today();
+        try (LoadTarget closing = target) {
+            new LoadGenerator(profile, synthesizer, closing, today).run().print(System.out);
+            if (metrics != null) {
+                metrics.writePrometheus(Path.of(options.get("metrics")));
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + arg + "; options look like --threads=8");
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " must be an integer");
+        }
+    }
+
+    /**
+     * One generator thread with its own guests, bookings and random source.
+     */
+    private final class Worker {
+        private final LoadReport report;
+        private final long interval;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final SplittableRandom random;
+        private final int[] guests;
+        private final boolean[] checkedIn;
+        private final List<HeldBooking> bookings = new ArrayList<>();
+        private final List<Integer> checkedInGuests = new ArrayList<>();
+        private final int totalWeight;
+        private long nextSlot;
+
+        Worker(int index, LoadReport report, long firstSlot, long interval, long measureFrom, long measureUntil) {
+            this.report = report;
+            this.interval = interval;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+            this.nextSlot = firstSlot;
+            this.random = new SplittableRandom(profile.getSeed() * 31 + index);
+            int threads = profile.getThreads();
+            int owned = (chain.getGuests() - index + threads - 1) / threads;
+            this.guests = new int[owned];
+            for (int i = 0; i < owned; i++) {
+                guests[i] = index + i * threads;
+            }
+            this.checkedIn = new boolean[owned];
+            int sum = 0;
+            for (Operation operation : Operation.values()) {
+                sum += profile.getWeight(operation);
+            }
+            this.totalWeight = sum;
+        }
+
+        void run() {
+            while (true) {
+                long scheduled;
+                if (interval > 0) {
+                    scheduled = nextSlot;
+                    nextSlot += interval;
+                    long wait = scheduled - System.nanoTime();
+                    while (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                        wait = scheduled - System.nanoTime();
+                    }
+                } else {
+                    scheduled = System.nanoTime();
+                }
+                if (scheduled >= measureUntil) {
+                    return;
+                }
+                Operation operation = feasible(pickOperation());
+                int outcome = execute(operation);
+                long latency = System.nanoTime() - scheduled;
+                if (scheduled >= measureFrom) {
+                    if (outcome == 0) {
+                        report.recordSuccess(operation, latency);
+                    } else if (outcome == 1) {
+                        report.recordRejection(operation, latency);
+                    } else {
+                        report.recordError(operation, latency);
+                    }
+                }
+            }
+        }
+
+        private Operation pickOperation() {
+            int choice = random.nextInt(totalWeight);
+            for (Operation operation : Operation.values()) {
+                choice -= profile.getWeight(operation);
+                if (choice < 0) {
+                    return operation;
+                }
+            }
+            throw new IllegalStateException("Weights changed while running");
+        }
+
+        /**
+         * Replaces an operation this thread cannot issue right now with the nearest one it can.
+         */
+        private Operation feasible(Operation operation) {
+            switch (operation) {
+                case BOOK:
+                    return bookings.size() >= profile.getMaxHeldBookings() ? Operation.CANCEL : Operation.BOOK;
+                case CANCEL:
+                case CHECK_IN:
+                    return bookings.isEmpty() ? Operation.BOOK : operation;
+                case CHECK_OUT:
+                    if (!checkedInGuests.isEmpty()) {
+                        return operation;
+                    }
+                    return bookings.isEmpty() ? Operation.BOOK : Operation.CHECK_IN;
+                default:
+                    return operation;
+            }
+        }
+
+        /**
+         * Returns 0 on success, 1 when the chain refused, 2 on any other failure.
+         */
+        private int execute(Operation operation) {
+            try {
+                switch (operation) {
+                    case SEARCH:
+                        search();
+                        break;
+                    case BOOK:
+                        book();
+                        break;
+                    case CANCEL:
+                        cancel();
+                        break;
+                    case CHECK_IN:
+                        checkIn();
+                        break;
+                    case CHECK_OUT:
+                        checkOut();
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown operation " + operation);
+                }
+                return 0;
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                return 1;
+            } catch (Exception e) {
+                return 2;
+            }
+        }
+
+        private void search() throws Exception {
+            long start = nextStart();
+            target.searchAvailability(nextRoomKind(), Date.ofEpochDay(start), Date.ofEpochDay(start + nextNights()),
+                                      nextQuantity());
+        }
+
+        private void book() throws Exception {
+            int local = random.nextInt(guests.length);
+            int guest = guests[local];
+            long start = nextStart();
+            Booking booking = target.book(chain.payerNumber(guest), chain.guestName(guest),
+                    chain.hotelName(hotels.next(random)), nextRoomKind(),
+                    Date.ofEpochDay(start), Date.ofEpochDay(start + nextNights()), nextQuantity());
+            bookings.add(new HeldBooking(booking, local));
+        }
+
+        private void cancel() throws Exception {
+            HeldBooking held = removeBooking(random.nextInt(bookings.size()));
+            target.cancel(held.booking.getNumber());
+        }
+
+        private void checkIn() throws Exception {
+            HeldBooking held = bookings.get(random.nextInt(bookings.size()));
+            if (checkedIn[held.guest]) {
+                throw new IllegalStateException("Guest is already checked in");
+            }
+            Booking booking = held.booking;
+            target.checkIn(chain.guestName(guests[held.guest]), booking.getRoomNumber(0), booking.getHotelName());
+            checkedIn[held.guest] = true;
+            checkedInGuests.add(held.guest);
+        }
+
+        private void checkOut() throws Exception {
+            int position = random.nextInt(checkedInGuests.size());
+            int local = checkedInGuests.get(position);
+            // Forget the stay whatever the answer, so a failed check-out is not retried forever
+            checkedInGuests.set(position, checkedInGuests.get(checkedInGuests.size() - 1));
+            checkedInGuests.remove(checkedInGuests.size() - 1);
+            checkedIn[local] = false;
+            target.checkOut(chain.guestName(guests[local]));
+        }
+
+        private HeldBooking removeBooking(int position) {
+            HeldBooking held = bookings.get(position);
+            bookings.set(position, bookings.get(bookings.size() - 1));
+            bookings.remove(bookings.size() - 1);
+            return held;
+        }
+
+        /**
+         * Lead time is exponential around a month ahead, capped at a year.
+         */
+        private long nextStart() {
+            double lead = -Math.log(1 - random.nextDouble()) * MEAN_LEAD_DAYS;
+            return firstDay + Math.min((long) lead, MAX_LEAD_DAYS);
+        }
+
+        private int nextNights() {
+            int choice = random.nextInt(100);
+            for (int i = 0; i < STAY_NIGHTS.length; i++) {
+                choice -= STAY_WEIGHTS[i];
+                if (choice < 0) {
+                    return STAY_NIGHTS[i];
+                }
+            }
+            return STAY_NIGHTS[STAY_NIGHTS.length - 1];
+        }
+
+        private RoomKind nextRoomKind() {
+            return chain.roomKind(roomTypes.next(random));
+        }
+
+        /**
+         * Mostly one room; one booking in ten takes two and one in fifty three.
+         */
+        private int nextQuantity() {
+            int choice = random.nextInt(100);
+            return choice < 88 ? 1 : choice < 98 ? 2 : 3;
+        }
+    }
+
+    private static final class HeldBooking {
+        final Booking booking;
+        final int guest;
+
+        HeldBooking(Booking booking, int guest) {
+            this.booking = booking;
+            this.guest = guest;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.hotel.reservation.loadgen;
+
+import java.util.Arrays;
+
+/**
+ * How hard and in what mix the load generator drives its target. Immutable;
+ * start from {@link #defaults()} and adjust with the with-methods.
+ */
+public final class LoadProfile {
+    private final int threads;
+    private final int targetRate;
+    private final long durationMillis;
+    private final long warmupMillis;
+    private final double theta;
+    private final int[] weights;
+    private final int maxHeldBookings;
+    private final long seed;
+
+    private LoadProfile(int threads, int targetRate, long durationMillis, long warmupMillis, double theta,
+                        int[] weights, int maxHeldBookings, long seed) {
+        this.threads = threads;
+        this.targetRate = targetRate;
+        this.durationMillis = durationMillis;
+        this.warmupMillis = warmupMillis;
+        this.theta = theta;
+        this.weights = weights;
+        this.maxHeldBookings = maxHeldBookings;
+        this.seed = seed;
+    }
+
+    /**
+     * Four threads as fast as the target answers for 30 seconds after 5 of
+     * warm-up; Zipf theta 0.99; 30% searches, 40% bookings, 15% cancellations,
+     * 8% check-ins and 7% check-outs.
+     */
+    public static LoadProfile defaults() {
+        int[] weights = new int[Operation.values().length];
+        weights[Operation.SEARCH.ordinal()] = 30;
+        weights[Operation.BOOK.ordinal()] = 40;
+        weights[Operation.CANCEL.ordinal()] = 15;
+        weights[Operation.CHECK_IN.ordinal()] = 8;
+        weights[Operation.CHECK_OUT.ordinal()] = 7;
+        return new LoadProfile(4, 0, 30_000, 5_000, 0.99, weights, 1_000, 42);
+    }
+
+    public LoadProfile withThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        return new LoadProfile(threads, targetRate, durationMillis, warmupMillis, theta, weights, maxHeldBookings, seed);
+    }
+
+    /**
+     * Operations per second across all threads; 0 runs each thread as fast as the target answers.
+     */
+    public LoadProfile withTargetRate(int targetRate) {
+        if (targetRate < 0) {
+            throw new IllegalArgumentException("Target rate cannot be negative");
+        }
+        return new LoadProfile(threads, targetRate, durationMillis, warmupMillis, theta, weights, maxHeldBookings, seed);
+    }
+
+    /**
+     * Measured time, not counting warm-up.
+     */
+    public LoadProfile withDurationMillis(long durationMillis) {
+        if (durationMillis <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        return new LoadProfile(threads, targetRate, durationMillis, warmupMillis, theta, weights, maxHeldBookings, seed);
+    }
+
+    public LoadProfile withWarmupMillis(long warmupMillis) {
+        if (warmupMillis < 0) {
+            throw new IllegalArgumentException("Warm-up cannot be negative");
+        }
+        return new LoadProfile(threads, targetRate, durationMillis, warmupMillis, theta, weights, maxHeldBookings, seed);
+    }
+
+    /**
+     * Skew of hotel and room type popularity; 0 is uniform.
+     */
+    public LoadProfile withTheta(double theta) {
+        if (theta < 0 || theta >= 1) {
+            throw new IllegalArgumentException("Theta must be at least 0 and below 1");
+        }
+        return new LoadProfile(threads, targetRate, durationMillis, warmupMillis, theta, weights, maxHeldBookings, seed);
+    }
+
+    /**
+     * Relative weight of the operation in the mix.
+     */
+    public LoadProfile withWeight(Operation operation, int weight) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+        int[] changed = weights.clone();
+        changed[operation.ordinal()] = weight;
+        if (Arrays.stream(changed).sum() == 0) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight");
+        }
+        return new LoadProfile(threads, targetRate, durationMillis, warmupMillis, theta, changed, maxHeldBookings, seed);
+    }
+
+    /**
+     * Bookings one thread may hold before it cancels instead of booking more.
+     */
+    public LoadProfile withMaxHeldBookings(int maxHeldBookings) {
+        if (maxHeldBookings <= 0) {
+            throw new IllegalArgumentException("Held bookings must be positive");
+        }
+        return new LoadProfile(threads, targetRate, durationMillis, warmupMillis, theta, weights, maxHeldBookings, seed);
+    }
+
+    public LoadProfile withSeed(long seed) {
+        return new LoadProfile(threads, targetRate, durationMillis, warmupMillis, theta, weights, maxHeldBookings, seed);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getTargetRate() {
+        return targetRate;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getWarmupMillis() {
+        return warmupMillis;
+    }
+
+    public double getTheta() {
+        return theta;
+    }
+
+    public int getWeight(Operation operation) {
+        return weights[operation.ordinal()];
+    }
+
+    public int getMaxHeldBookings() {
+        return maxHeldBookings;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,130 @@
+package com.hotel.reservation.loadgen;
+
+import com.hotel.reservation.metrics.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes and latencies of one load run, per operation. Latency runs from the
+ * moment an operation was scheduled to start, not from when it did, so a
+ * target that falls behind the requested rate shows the queueing it causes
+ * instead of hiding it (no coordinated omission).
+ */
+public final class LoadReport {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final String targetDescription;
+    private final LoadProfile profile;
+    private final LatencyHistogram[] latencies;
+    private final LongAdder[] successes;
+    private final LongAdder[] rejections;
+    private final LongAdder[] errors;
+    private volatile long measuredNanos;
+
+    LoadReport(String targetDescription, LoadProfile profile) {
+        this.targetDescription = targetDescription;
+        this.profile = profile;
+        int operations = Operation.values().length;
+        this.latencies = new LatencyHistogram[operations];
+        this.successes = new LongAdder[operations];
+        this.rejections = new LongAdder[operations];
+        this.errors = new LongAdder[operations];
+        for (int i = 0; i < operations; i++) {
+            latencies[i] = new LatencyHistogram();
+            successes[i] = new LongAdder();
+            rejections[i] = new LongAdder();
+            errors[i] = new LongAdder();
+        }
+    }
+
+    void recordSuccess(Operation operation, long latencyNanos) {
+        successes[operation.ordinal()].increment();
+        latencies[operation.ordinal()].record(latencyNanos);
+    }
+
+    void recordRejection(Operation operation, long latencyNanos) {
+        rejections[operation.ordinal()].increment();
+        latencies[operation.ordinal()].record(latencyNanos);
+    }
+
+    void recordError(Operation operation, long latencyNanos) {
+        errors[operation.ordinal()].increment();
+        latencies[operation.ordinal()].record(latencyNanos);
+    }
+
+    void setMeasuredNanos(long measuredNanos) {
+        this.measuredNanos = measuredNanos;
+    }
+
+    /**
+     * Latencies in nanoseconds of every attempt at the operation, whatever its outcome.
+     */
+    public LatencyHistogram getLatencies(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    public long getSuccessCount(Operation operation) {
+        return successes[operation.ordinal()].sum();
+    }
+
+    /**
+     * Attempts the chain refused, such as a booking with no room free.
+     */
+    public long getRejectionCount(Operation operation) {
+        return rejections[operation.ordinal()].sum();
+    }
+
+    public long getErrorCount(Operation operation) {
+        return errors[operation.ordinal()].sum();
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            total += latencies[operation.ordinal()].getCount();
+        }
+        return total;
+    }
+
+    /**
+     * Operations completed per second of measured time.
+     */
+    public double getThroughput() {
+        return measuredNanos == 0 ? 0 : getTotalCount() * 1e9 / measuredNanos;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Target %s, %d threads, rate %s, measured %.1f s: %.0f ops/s%n",
+                targetDescription, profile.getThreads(),
+                profile.getTargetRate() == 0 ? "unthrottled" : profile.getTargetRate() + " ops/s",
+                measuredNanos / 1e9, getThroughput());
+        out.printf("%-10s %10s %10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "ok", "rejected", "errors", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us");
+        LatencyHistogram all = new LatencyHistogram();
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = getLatencies(operation);
+            all.add(histogram);
+            printRow(out, operation.name(), histogram, getSuccessCount(operation),
+                     getRejectionCount(operation), getErrorCount(operation));
+        }
+        long ok = 0;
+        long rejected = 0;
+        long failed = 0;
+        for (Operation operation : Operation.values()) {
+            ok += getSuccessCount(operation);
+            rejected += getRejectionCount(operation);
+            failed += getErrorCount(operation);
+        }
+        printRow(out, "ALL", all, ok, rejected, failed);
+    }
+
+    private static void printRow(PrintStream out, String label, LatencyHistogram histogram,
+                                 long ok, long rejected, long failed) {
+        out.printf("%-10s %10d %10d %10d %8d", label, histogram.getCount(), ok, rejected, failed);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %10.1f", histogram.getValueAtPercentile(percentile) / 1e3);
+        }
+        out.printf(" %10.1f%n", histogram.getMax() / 1e3);
+    }
+}
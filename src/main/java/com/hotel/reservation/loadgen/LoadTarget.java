@@ -0,0 +1,42 @@
+package com.hotel.reservation.loadgen;
+
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+
+/**
+ * What the load generator drives: a chain in this process or an API in front
+ * of one. A request the chain refuses (nothing free, room occupied, guest not
+ * checked in) throws IllegalStateException or IllegalArgumentException and is
+ * reported as rejected; any other exception counts as an error.
+ * <p>
+ * Implementations are called from many threads at once.
+ */
+public interface LoadTarget extends AutoCloseable {
+
+    /**
+     * Returns how many hotels have enough rooms of the kind free for the stay.
+     */
+    int searchAvailability(RoomKind roomKind, Date startDate, Date endDate, int quantity) throws Exception;
+
+    Booking book(int reserverPayerNumber, String guestName, String hotelName, RoomKind roomKind,
+                 Date startDate, Date endDate, int quantity) throws Exception;
+
+    void cancel(int reservationNumber) throws Exception;
+
+    void checkIn(String guestName, int roomNumber, String hotelName) throws Exception;
+
+    void checkOut(String guestName) throws Exception;
+
+    /**
+     * Short description for the report, such as "in-process" or the base URL.
+     */
+    String describe();
+
+    /**
+     * Releases what the target holds; by default nothing. Declares no checked
+     * exception, so closing a target never has to handle InterruptedException.
+     */
+    @Override
+    default void close() {
+    }
+}
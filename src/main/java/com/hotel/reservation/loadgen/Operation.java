@@ -0,0 +1,12 @@
+package com.hotel.reservation.loadgen;
+
+/**
+ * Kinds of request the load generator issues.
+ */
+public enum Operation {
+    SEARCH,
+    BOOK,
+    CANCEL,
+    CHECK_IN,
+    CHECK_OUT
+}
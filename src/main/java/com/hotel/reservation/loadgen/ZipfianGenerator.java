@@ -0,0 +1,69 @@
+package com.hotel.reservation.loadgen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks in [0, n) with Zipfian popularity: rank 0 is the most popular
+ * and the chance of rank i falls off as 1 / (i + 1)^theta. Uses the constant-
+ * time method of Gray et al. ("Quickly Generating Billion-Record Synthetic
+ * Databases"), so only construction costs O(n). Theta 0 draws uniformly.
+ * <p>
+ * Immutable; callers pass their own random source, so one generator can be
+ * shared by many threads.
+ */
+public final class ZipfianGenerator {
+    private final int items;
+    private final double theta;
+    private final double zetaN;
+    private final double alpha;
+    private final double eta;
+    private final double secondRankThreshold;
+
+    public ZipfianGenerator(int items, double theta) {
+        if (items <= 0) {
+            throw new IllegalArgumentException("Item count must be positive");
+        }
+        if (theta < 0 || theta >= 1) {
+            throw new IllegalArgumentException("Theta must be at least 0 and below 1");
+        }
+        this.items = items;
+        this.theta = theta;
+        this.zetaN = zeta(items, theta);
+        double zeta2 = zeta(Math.min(items, 2), theta);
+        this.alpha = 1 / (1 - theta);
+        this.eta = items <= 2 ? 0 : (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetaN);
+        this.secondRankThreshold = 1 + Math.pow(0.5, theta);
+    }
+
+    public int getItems() {
+        return items;
+    }
+
+    public double getTheta() {
+        return theta;
+    }
+
+    public int next(SplittableRandom random) {
+        if (theta == 0) {
+            return random.nextInt(items);
+        }
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1) {
+            return 0;
+        }
+        if (uz < secondRankThreshold || items <= 2) {
+            return Math.min(1, items - 1);
+        }
+        int rank = (int) (items * Math.pow(eta * u - eta + 1, alpha));
+        return Math.min(rank, items - 1);
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
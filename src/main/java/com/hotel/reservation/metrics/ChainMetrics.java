@@ -0,0 +1,219 @@
+package com.hotel.reservation.metrics;
+
+import com.hotel.reservation.domain.ChainOperation;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.OperationListener;
+import com.hotel.reservation.domain.OperationOutcome;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * Operation metrics of one {@link HotelChain}: for every operation and outcome
+ * a count, a rate meter and a latency histogram, plus per-hotel gauges of
+ * occupied rooms and held reservations read when the metrics are written.
+ * <p>
+ * Recording is lock-free and allocation-free; see {@link RateMeter} and
+ * {@link LatencyHistogram}. The metrics are written in the Prometheus text
+ * exposition format, to a stream (as the HTTP API's /metrics does) or to a
+ * file replaced atomically, for the node exporter's textfile collector.
+ */
+public final class ChainMetrics implements OperationListener {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final int OUTCOMES = OperationOutcome.values().length;
+
+    private final HotelChain hotelChain;
+    private final RateMeter[] rates;
+    private final LatencyHistogram[] latencies;
+
+    private ChainMetrics(HotelChain hotelChain) {
+        this.hotelChain = hotelChain;
+        int series = ChainOperation.values().length * OUTCOMES;
+        this.rates = new RateMeter[series];
+        this.latencies = new LatencyHistogram[series];
+        for (int i = 0; i < series; i++) {
+            rates[i] = new RateMeter();
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns the metrics attached to the chain, attaching new ones if it has no
+     * listener yet. Attach while setting the chain up, before it takes traffic.
+     */
+    public static ChainMetrics attach(HotelChain hotelChain) {
+        if (hotelChain == null) {
+            throw new IllegalArgumentException("Hotel chain cannot be null");
+        }
+        OperationListener current = hotelChain.getOperationListener();
+        if (current instanceof ChainMetrics && ((ChainMetrics) current).hotelChain == hotelChain) {
+            return (ChainMetrics) current;
+        }
+        if (current != OperationListener.NONE) {
+            throw new IllegalStateException("Hotel chain already has an operation listener");
+        }
+        ChainMetrics metrics = new ChainMetrics(hotelChain);
+        hotelChain.setOperationListener(metrics);
+        return metrics;
+    }
+
+    @Override
+    public void operationCompleted(ChainOperation operation, OperationOutcome outcome, long elapsedNanos) {
+        int series = operation.ordinal() * OUTCOMES + outcome.ordinal();
+        rates[series].mark();
+        latencies[series].record(elapsedNanos);
+    }
+
+    public long getCount(ChainOperation operation, OperationOutcome outcome) {
+        return getRate(operation, outcome).getCount();
+    }
+
+    public RateMeter getRate(ChainOperation operation, OperationOutcome outcome) {
+        return rates[operation.ordinal() * OUTCOMES + outcome.ordinal()];
+    }
+
+    /**
+     * Latencies in nanoseconds.
+     */
+    public LatencyHistogram getLatencies(ChainOperation operation, OperationOutcome outcome) {
+        return latencies[operation.ordinal() * OUTCOMES + outcome.ordinal()];
+    }
+
+    /**
+     * Writes every metric in the Prometheus text format (version 0.0.4).
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        header(out, "hotel_chain_operations_total", "counter", "Operations completed, by outcome.");
+        for (ChainOperation operation : ChainOperation.values()) {
+            for (OperationOutcome outcome : outcomesOf(operation)) {
+                sample(out, "hotel_chain_operations_total", labels(operation, outcome), getCount(operation, outcome));
+            }
+        }
+
+        header(out, "hotel_chain_operation_rate", "gauge",
+               "Operations per second, exponentially weighted over the window.");
+        for (ChainOperation operation : ChainOperation.values()) {
+            for (OperationOutcome outcome : outcomesOf(operation)) {
+                RateMeter rate = getRate(operation, outcome);
+                String labels = labels(operation, outcome);
+                sample(out, "hotel_chain_operation_rate", labels + ",window=\"1m\"", rate.getOneMinuteRate());
+                sample(out, "hotel_chain_operation_rate", labels + ",window=\"5m\"", rate.getFiveMinuteRate());
+                sample(out, "hotel_chain_operation_rate", labels + ",window=\"15m\"", rate.getFifteenMinuteRate());
+            }
+        }
+
+        header(out, "hotel_chain_operation_duration_seconds", "summary", "Time spent in the operation.");
+        for (ChainOperation operation : ChainOperation.values()) {
+            for (OperationOutcome outcome : outcomesOf(operation)) {
+                LatencyHistogram histogram = getLatencies(operation, outcome);
+                String labels = labels(operation, outcome);
+                long count = histogram.getCount();
+                for (double quantile : QUANTILES) {
+                    double seconds = count == 0 ? Double.NaN : histogram.getValueAtPercentile(quantile * 100) / 1e9;
+                    sample(out, "hotel_chain_operation_duration_seconds", labels + ",quantile=\"" + quantile + "\"",
+                           seconds);
+                }
+                sample(out, "hotel_chain_operation_duration_seconds_sum", labels, histogram.getSum() / 1e9);
+                sample(out, "hotel_chain_operation_duration_seconds_count", labels, count);
+            }
+        }
+
+        header(out, "hotel_chain_optimistic_retries_total", "counter",
+               "Bookings that re-read availability after a concurrent write to the same room type.");
+        sample(out, "hotel_chain_optimistic_retries_total", null, hotelChain.getOptimisticRetryCount());
+
+        header(out, "hotel_rooms_occupied", "gauge", "Rooms with a guest checked in.");
+        for (Hotel hotel : hotelChain.getHotels()) {
+            sample(out, "hotel_rooms_occupied", hotelLabel(hotel), hotel.getOccupiedRoomCount());
+        }
+        header(out, "hotel_reservations_held", "gauge", "Reservations on the books and not cancelled.");
+        for (Hotel hotel : hotelChain.getHotels()) {
+            sample(out, "hotel_reservations_held", hotelLabel(hotel), hotel.getHeldReservationCount());
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the metrics to the file, replacing it atomically so a reader never
+     * sees half a dump.
+     */
+    public void writePrometheus(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            writePrometheus(out);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Only bookings can find no rooms, so other operations leave that outcome out.
+     */
+    private static OperationOutcome[] outcomesOf(ChainOperation operation) {
+        if (operation == ChainOperation.MAKE_RESERVATION || operation == ChainOperation.MAKE_RESERVATIONS) {
+            return OperationOutcome.values();
+        }
+        return new OperationOutcome[] {
+                OperationOutcome.SUCCESS, OperationOutcome.VALIDATION_FAILURE, OperationOutcome.ERROR
+        };
+    }
+
+    private static String labels(ChainOperation operation, OperationOutcome outcome) {
+        return "operation=\"" + operation.name().toLowerCase(Locale.ROOT)
+                + "\",outcome=\"" + outcome.name().toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    private static String hotelLabel(Hotel hotel) {
+        return "hotel=\"" + escape(hotel.getName().getValue()) + "\"";
+    }
+
+    /**
+     * Escapes a label value: backslash, double quote and line feed.
+     */
+    static String escape(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = c == '\\' ? "\\\\" : c == '"' ? "\\\"" : c == '\n' ? "\\n" : null;
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 8).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped == null ? value : escaped.toString();
+    }
+
+    private static void header(Writer out, String name, String type, String help) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void sample(Writer out, String name, String labels, long value) throws IOException {
+        out.write(labels == null ? name : name + "{" + labels + "}");
+        out.write(' ');
+        out.write(Long.toString(value));
+        out.write('\n');
+    }
+
+    private static void sample(Writer out, String name, String labels, double value) throws IOException {
+        out.write(labels == null ? name : name + "{" + labels + "}");
+        out.write(' ');
+        out.write(Double.isNaN(value) ? "NaN" : Double.toString(value));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,118 @@
+package com.hotel.reservation.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts events and tracks their rate per second as exponentially weighted
+ * moving averages over one, five and fifteen minutes, like the Unix load
+ * average, updated in five-second ticks.
+ * <p>
+ * Marking is one striped increment: lock-free, allocation-free, and without a
+ * clock read. The averages catch up when read, spreading the events counted
+ * since the last read evenly over the ticks that have passed; read every few
+ * seconds (any scrape interval will do), they match per-tick updates closely.
+ */
+public final class RateMeter {
+    private static final long TICK_NANOS = 5_000_000_000L;
+    private static final double TICK_SECONDS = TICK_NANOS / 1e9;
+    private static final double ONE_MINUTE_ALPHA = 1 - Math.exp(-TICK_SECONDS / 60);
+    private static final double FIVE_MINUTE_ALPHA = 1 - Math.exp(-TICK_SECONDS / 300);
+    private static final double FIFTEEN_MINUTE_ALPHA = 1 - Math.exp(-TICK_SECONDS / 900);
+
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final LongAdder count = new LongAdder();
+    private final AtomicLong lastTick;
+    private long countAtLastTick;
+    private boolean ticked;
+    private volatile double oneMinuteRate;
+    private volatile double fiveMinuteRate;
+    private volatile double fifteenMinuteRate;
+
+    public RateMeter() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Creates a meter reading time from the given nanosecond clock.
+     */
+    RateMeter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.lastTick = new AtomicLong(startNanos);
+    }
+
+    public void mark() {
+        count.increment();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Events per second since the meter was created.
+     */
+    public double getMeanRate() {
+        long elapsed = nanoClock.getAsLong() - startNanos;
+        return elapsed <= 0 ? 0 : count.sum() * 1e9 / elapsed;
+    }
+
+    public double getOneMinuteRate() {
+        tickIfDue();
+        return oneMinuteRate;
+    }
+
+    public double getFiveMinuteRate() {
+        tickIfDue();
+        return fiveMinuteRate;
+    }
+
+    public double getFifteenMinuteRate() {
+        tickIfDue();
+        return fifteenMinuteRate;
+    }
+
+    private void tickIfDue() {
+        long last = lastTick.get();
+        long ticks = (nanoClock.getAsLong() - last) / TICK_NANOS;
+        if (ticks <= 0) {
+            return;
+        }
+        // Only the reader that moves the tick forward updates the averages
+        if (lastTick.compareAndSet(last, last + ticks * TICK_NANOS)) {
+            synchronized (this) {
+                tick(ticks);
+            }
+        }
+    }
+
+    /**
+     * Advances the averages over the elapsed ticks, each taken to have seen an
+     * equal share of the events counted since the last tick.
+     */
+    private void tick(long ticks) {
+        long total = count.sum();
+        double rate = (total - countAtLastTick) / (ticks * TICK_SECONDS);
+        countAtLastTick = total;
+        if (!ticked) {
+            oneMinuteRate = rate;
+            fiveMinuteRate = rate;
+            fifteenMinuteRate = rate;
+            ticked = true;
+            return;
+        }
+        oneMinuteRate = advance(oneMinuteRate, rate, ONE_MINUTE_ALPHA, ticks);
+        fiveMinuteRate = advance(fiveMinuteRate, rate, FIVE_MINUTE_ALPHA, ticks);
+        fifteenMinuteRate = advance(fifteenMinuteRate, rate, FIFTEEN_MINUTE_ALPHA, ticks);
+    }
+
+    /**
+     * The average after the given number of ticks that each saw the given rate.
+     */
+    private static double advance(double average, double rate, double alpha, long ticks) {
+        return rate + (average - rate) * Math.pow(1 - alpha, ticks);
+    }
+}
@@ -0,0 +1,100 @@
+package com.hotel.reservation.model;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Source of the current business day. Each time zone's day is worked out once
+ * and cached with the instants it covers, so asking for today costs one read
+ * of the underlying clock until the zone passes midnight.
+ * <p>
+ * Pass a {@link Clock#fixed fixed} or otherwise controlled clock to make time
+ * deterministic in tests. Safe for concurrent use.
+ */
+public final class BusinessClock {
+    private static final BusinessClock SYSTEM = new BusinessClock(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private final ZoneId defaultZone;
+    private final Map<ZoneId, BusinessDay> days;
+
+    /**
+     * Creates a business clock reading the given clock; the clock's zone is
+     * used when no zone is asked for.
+     */
+    public BusinessClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+        this.defaultZone = clock.getZone();
+        this.days = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Business clock on the system clock and the zone that was the default when the class loaded.
+     */
+    public static BusinessClock system() {
+        return SYSTEM;
+    }
+
+    public ZoneId getDefaultZone() {
+        return defaultZone;
+    }
+
+    /**
+     * Today in the clock's own zone.
+     */
+    public Date today() {
+        return today(defaultZone);
+    }
+
+    /**
+     * Today in the given zone. Returns the same instance until the zone's day rolls over.
+     */
+    public Date today(ZoneId zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException("Zone cannot be null");
+        }
+        long now = clock.millis();
+        BusinessDay day = days.get(zone);
+        if (day == null || !day.covers(now)) {
+            // Racing threads compute the same day, so either may be kept
+            day = BusinessDay.containing(now, zone);
+            days.put(zone, day);
+        }
+        return day.date;
+    }
+
+    /**
+     * One calendar day in one zone, with the instants [startMillis, endMillis) it spans.
+     */
+    private static final class BusinessDay {
+        final Date date;
+        final long startMillis;
+        final long endMillis;
+
+        private BusinessDay(Date date, long startMillis, long endMillis) {
+            this.date = date;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+
+        static BusinessDay containing(long millis, ZoneId zone) {
+            LocalDate localDate = LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone);
+            // atStartOfDay follows the zone's rules, so days shortened or stretched by DST roll correctly
+            long start = localDate.atStartOfDay(zone).toInstant().toEpochMilli();
+            long end = localDate.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            return new BusinessDay(new Date(localDate), start, end);
+        }
+
+        boolean covers(long millis) {
+            // A clock set back is handled too, by recomputing
+            return millis >= startMillis && millis < endMillis;
+        }
+    }
+}
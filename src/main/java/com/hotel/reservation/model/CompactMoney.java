@@ -0,0 +1,152 @@
+package com.hotel.reservation.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Fast-path counterpart of {@link Money} for pricing hot paths.
+ * Holds the amount as a count of minor units (cents) in a long and the
+ * currency as its three ASCII characters packed into an int, so arithmetic
+ * and currency checks are plain integer operations. Arithmetic is exact:
+ * results that do not fit in a long throw {@link ArithmeticException}
+ * instead of wrapping.
+ * <p>
+ * The static methods on raw minor units and currency codes let callers such
+ * as {@code RoomType.quoteMinorUnits} price a stay without allocating.
+ */
+public final class CompactMoney {
+    private static final int SCALE = 2;
+    private static final int CHAR_BITS = 7;
+    private static final int CHAR_MASK = (1 << CHAR_BITS) - 1;
+
+    private final long minorUnits;
+    private final int currency;
+
+    private CompactMoney(long minorUnits, int currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * Creates an amount from minor units (cents) in the given currency.
+     */
+    public static CompactMoney of(long minorUnits, String currency) {
+        return ofCode(minorUnits, currencyCode(currency));
+    }
+
+    /**
+     * Creates an amount from minor units and a code made by {@link #currencyCode(String)}.
+     */
+    public static CompactMoney ofCode(long minorUnits, int currencyCode) {
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        currencyName(currencyCode);
+        return new CompactMoney(minorUnits, currencyCode);
+    }
+
+    /**
+     * Converts exactly; a {@link Money} always has two decimal places.
+     */
+    public static CompactMoney from(Money money) {
+        if (money == null) {
+            throw new IllegalArgumentException("Money cannot be null");
+        }
+        return new CompactMoney(minorUnits(money), currencyCode(money.getCurrency()));
+    }
+
+    /**
+     * Minor units of a {@link Money} amount; throws ArithmeticException if it does not fit in a long.
+     */
+    public static long minorUnits(Money money) {
+        return money.getAmount().movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Packs a three-letter currency code (case-insensitive) into an int. Accepts
+     * exactly the codes {@link Money} does. Equal codes pack to equal ints, so
+     * currencies compare with ==.
+     */
+    public static int currencyCode(String currency) {
+        if (currency == null || !Validation.isCurrencyCode(currency)) {
+            throw new IllegalArgumentException("Currency must be a 3-letter code (e.g., USD, EUR)");
+        }
+        int code = 0;
+        for (int i = 0; i < 3; i++) {
+            code = (code << CHAR_BITS) | Character.toUpperCase(currency.charAt(i));
+        }
+        return code;
+    }
+
+    /**
+     * Unpacks a code made by {@link #currencyCode(String)}, rejecting any int that
+     * does not hold three upper-case ASCII letters.
+     */
+    public static String currencyName(int currencyCode) {
+        char[] letters = new char[3];
+        int code = currencyCode;
+        for (int i = 2; i >= 0; i--) {
+            letters[i] = (char) (code & CHAR_MASK);
+            if (letters[i] < 'A' || letters[i] > 'Z') {
+                throw new IllegalArgumentException("Invalid currency code " + currencyCode);
+            }
+            code >>>= CHAR_BITS;
+        }
+        if (code != 0) {
+            throw new IllegalArgumentException("Invalid currency code " + currencyCode);
+        }
+        return new String(letters);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int getCurrencyCode() {
+        return currency;
+    }
+
+    public String getCurrency() {
+        return currencyName(currency);
+    }
+
+    public CompactMoney add(CompactMoney other) {
+        if (other.currency != currency) {
+            throw new IllegalArgumentException("Cannot add amounts in different currencies");
+        }
+        return new CompactMoney(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public CompactMoney multiply(long multiplier) {
+        if (multiplier < 0) {
+            throw new IllegalArgumentException("Multiplier cannot be negative");
+        }
+        return new CompactMoney(Math.multiplyExact(minorUnits, multiplier), currency);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public Money toMoney() {
+        return new Money(BigDecimal.valueOf(minorUnits, SCALE), getCurrency());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompactMoney that = (CompactMoney) o;
+        return minorUnits == that.minorUnits && currency == that.currency;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency;
+    }
+
+    @Override
+    public String toString() {
+        long cents = minorUnits % 100;
+        return (minorUnits / 100) + (cents < 10 ? ".0" : ".") + cents + " " + getCurrency();
+    }
+}
@@ -1,16 +1,16 @@
 package com.hotel.reservation.model;
 
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 /**
  * Value object representing credit card details.
  * Implements defensive programming with validation.
+ * <p>
+ * A card may also be masked: every digit of the number but the last four
+ * replaced by '*' and no CVV. That is the only form that may be written to
+ * storage; see {@link #masked()}.
  */
 public class CreditCard {
-    private static final Pattern CARD_NUMBER_PATTERN = Pattern.compile("\\d{13,19}");
-    private static final Pattern CVV_PATTERN = Pattern.compile("\\d{3,4}");
-    
     private final String cardNumber;
     private final String cardHolderName;
     private final String expiryDate;
@@ -28,17 +28,37 @@ public class CreditCard {
         this.cvv = cvv;
     }
 
+    private CreditCard(String maskedCardNumber, String cardHolderName, String expiryDate) {
+        this.cardNumber = maskedCardNumber;
+        this.cardHolderName = cardHolderName;
+        this.expiryDate = expiryDate;
+        this.cvv = null;
+    }
+
+    /**
+     * Recreates a card stored in masked form, as returned by {@link #masked()}.
+     */
+    public static CreditCard fromMasked(String maskedCardNumber, String cardHolderName, String expiryDate) {
+        if (maskedCardNumber == null || !Validation.isMaskedDigits(maskedCardNumber, 13, 19)) {
+            throw new IllegalArgumentException("Masked card number must be 13-19 characters, all '*' but the last 4 digits");
+        }
+        CreditCard card = new CreditCard(maskedCardNumber, cardHolderName, expiryDate);
+        card.validateCardHolderName(cardHolderName);
+        card.validateExpiryDate(expiryDate);
+        return card;
+    }
+
     private void validateCardNumber(String cardNumber) {
-        if (cardNumber == null || cardNumber.trim().isEmpty()) {
+        if (cardNumber == null || Validation.isBlank(cardNumber)) {
             throw new IllegalArgumentException("Card number cannot be null or empty");
         }
-        if (!CARD_NUMBER_PATTERN.matcher(cardNumber.replaceAll("\\s", "")).matches()) {
+        if (!Validation.isDigitsIgnoringWhitespace(cardNumber, 13, 19)) {
             throw new IllegalArgumentException("Card number must be 13-19 digits");
         }
     }
 
     private void validateCardHolderName(String name) {
-        if (name == null || name.trim().isEmpty()) {
+        if (name == null || Validation.isBlank(name)) {
             throw new IllegalArgumentException("Card holder name cannot be null or empty");
         }
         if (name.length() < 2 || name.length() > 50) {
@@ -47,19 +67,19 @@ public class CreditCard {
     }
 
     private void validateExpiryDate(String expiryDate) {
-        if (expiryDate == null || expiryDate.trim().isEmpty()) {
+        if (expiryDate == null || Validation.isBlank(expiryDate)) {
             throw new IllegalArgumentException("Expiry date cannot be null or empty");
         }
-        if (!expiryDate.matches("\\d{2}/\\d{2}")) {
+        if (!Validation.isMonthYear(expiryDate)) {
             throw new IllegalArgumentException("Expiry date must be in MM/YY format");
         }
     }
 
     private void validateCvv(String cvv) {
-        if (cvv == null || cvv.trim().isEmpty()) {
+        if (cvv == null || Validation.isBlank(cvv)) {
             throw new IllegalArgumentException("CVV cannot be null or empty");
         }
-        if (!CVV_PATTERN.matcher(cvv).matches()) {
+        if (!Validation.isDigits(cvv, 3, 4)) {
             throw new IllegalArgumentException("CVV must be 3 or 4 digits");
         }
     }
@@ -76,10 +96,39 @@ public class CreditCard {
         return expiryDate;
     }
 
+    /**
+     * Returns the CVV, or null if the card is masked.
+     */
     public String getCvv() {
         return cvv;
     }
 
+    public boolean isMasked() {
+        return cvv == null;
+    }
+
+    /**
+     * Returns this card with all but the last four digits of the number masked
+     * and without the CVV, fit to be logged or stored.
+     */
+    public CreditCard masked() {
+        if (isMasked()) {
+            return this;
+        }
+        char[] digits = new char[cardNumber.length()];
+        int length = 0;
+        for (int i = 0; i < cardNumber.length(); i++) {
+            char c = cardNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits[length++] = c;
+            }
+        }
+        for (int i = 0; i < length - 4; i++) {
+            digits[i] = '*';
+        }
+        return new CreditCard(new String(digits, 0, length), cardHolderName, expiryDate);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,20 +1,22 @@
 package com.hotel.reservation.model;
 
 import java.time.LocalDate;
-import java.util.Objects;
 
 /**
  * Value object representing a date.
- * Wraps java.time.LocalDate for domain modeling.
+ * Wraps java.time.LocalDate for domain modeling, and keeps its epoch day so
+ * comparisons, equality and day arithmetic are primitive operations.
  */
 public class Date {
     private final LocalDate localDate;
+    private final long epochDay;
 
     public Date(LocalDate localDate) {
         if (localDate == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
         this.localDate = localDate;
+        this.epochDay = localDate.toEpochDay();
     }
 
     public Date(int year, int month, int day) {
@@ -23,22 +25,31 @@ public class Date {
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid date: " + year + "-" + month + "-" + day, e);
         }
+        this.epochDay = localDate.toEpochDay();
+    }
+
+    public static Date ofEpochDay(long epochDay) {
+        return new Date(LocalDate.ofEpochDay(epochDay));
     }
 
     public boolean isBefore(Date other) {
-        return this.localDate.isBefore(other.localDate);
+        return epochDay < other.epochDay;
     }
 
     public boolean isAfter(Date other) {
-        return this.localDate.isAfter(other.localDate);
+        return epochDay > other.epochDay;
     }
 
     public boolean isEqual(Date other) {
-        return this.localDate.isEqual(other.localDate);
+        return epochDay == other.epochDay;
     }
 
     public long daysBetween(Date other) {
-        return Math.abs(java.time.temporal.ChronoUnit.DAYS.between(this.localDate, other.localDate));
+        return Math.abs(epochDay - other.epochDay);
+    }
+
+    public long toEpochDay() {
+        return epochDay;
     }
 
     public LocalDate getLocalDate() {
@@ -62,12 +73,12 @@ public class Date {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Date date = (Date) o;
-        return Objects.equals(localDate, date.localDate);
+        return epochDay == date.epochDay;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(localDate);
+        return Long.hashCode(epochDay);
     }
 
     @Override
@@ -22,7 +22,7 @@ public class Identity {
     }
 
     private void validateIdNumber(String idNumber) {
-        if (idNumber == null || idNumber.trim().isEmpty()) {
+        if (idNumber == null || Validation.isBlank(idNumber)) {
             throw new IllegalArgumentException("ID number cannot be null or empty");
         }
         if (idNumber.length() < 5 || idNumber.length() > 20) {
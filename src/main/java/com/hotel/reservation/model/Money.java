@@ -2,6 +2,7 @@ package com.hotel.reservation.model;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -17,7 +18,7 @@ public class Money {
         validateCurrency(currency);
         
         this.amount = amount.setScale(2, RoundingMode.HALF_UP);
-        this.currency = currency.toUpperCase();
+        this.currency = currency.toUpperCase(Locale.ROOT);
     }
 
     public Money(double amount, String currency) {
@@ -37,7 +38,7 @@ public class Money {
         if (currency == null || currency.trim().isEmpty()) {
             throw new IllegalArgumentException("Currency cannot be null or empty");
         }
-        if (currency.length() != 3) {
+        if (!Validation.isCurrencyCode(currency)) {
             throw new IllegalArgumentException("Currency must be a 3-letter code (e.g., USD, EUR)");
         }
     }
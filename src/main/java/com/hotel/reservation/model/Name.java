@@ -14,13 +14,13 @@ public class Name {
     }
 
     private void validateName(String name) {
-        if (name == null || name.trim().isEmpty()) {
+        if (name == null || Validation.isBlank(name)) {
             throw new IllegalArgumentException("Name cannot be null or empty");
         }
         if (name.length() < 2 || name.length() > 100) {
             throw new IllegalArgumentException("Name must be between 2 and 100 characters");
         }
-        if (!name.matches("^[a-zA-Z\\s'-]+$")) {
+        if (!Validation.isNameText(name)) {
             throw new IllegalArgumentException("Name can only contain letters, spaces, hyphens, and apostrophes");
         }
     }
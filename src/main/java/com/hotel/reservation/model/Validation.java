@@ -0,0 +1,124 @@
+package com.hotel.reservation.model;
+
+/**
+ * Character-scanning checks shared by the value objects' constructors.
+ * Each one accepts exactly what the regular expression in its comment would
+ * accept, without compiling a pattern or building intermediate strings, so
+ * bulk-loading guest and payer records stays cheap.
+ */
+final class Validation {
+
+    private Validation() {
+    }
+
+    /**
+     * Same as {@code value.trim().isEmpty()}: every char is at most a space.
+     */
+    static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@code value.matches("[a-zA-Z\\s'-]+")}.
+     */
+    static boolean isNameText(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetter(c) && !isWhitespace(c) && c != '\'' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@code value.matches("\\d{min,max}")}.
+     */
+    static boolean isDigits(String value, int min, int max) {
+        int length = value.length();
+        if (length < min || length > max) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@code value.replaceAll("\\s", "").matches("\\d{min,max}")}.
+     */
+    static boolean isDigitsIgnoringWhitespace(String value, int min, int max) {
+        int digits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isDigit(c)) {
+                digits++;
+            } else if (!isWhitespace(c)) {
+                return false;
+            }
+        }
+        return digits >= min && digits <= max;
+    }
+
+    /**
+     * Same as {@code value.matches("\\*{min-4,max-4}\\d{4}")}.
+     */
+    static boolean isMaskedDigits(String value, int min, int max) {
+        int length = value.length();
+        if (length < min || length > max || length < 4) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (i < length - 4 ? c != '*' : !isDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@code value.matches("[A-Za-z]{3}")}: the one currency code rule
+     * {@link Money} and {@link CompactMoney} share.
+     */
+    static boolean isCurrencyCode(String value) {
+        return value.length() == 3
+                && isAsciiLetter(value.charAt(0)) && isAsciiLetter(value.charAt(1)) && isAsciiLetter(value.charAt(2));
+    }
+
+    /**
+     * Same as {@code value.matches("\\d{2}/\\d{2}")}.
+     */
+    static boolean isMonthYear(String value) {
+        return value.length() == 5
+                && isDigit(value.charAt(0)) && isDigit(value.charAt(1))
+                && value.charAt(2) == '/'
+                && isDigit(value.charAt(3)) && isDigit(value.charAt(4));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * The regex class {@code \s}: space, tab, newline, vertical tab, form feed and carriage return.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+}
@@ -0,0 +1,109 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.RoomKind;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Binary encodings of the value objects shared by the log and snapshot formats.
+ * Dates are stored as epoch days and money as minor units, so neither needs
+ * text parsing when read back. Credit cards are stored masked.
+ */
+final class BinaryFormat {
+    private static final RoomKind[] ROOM_KINDS = RoomKind.values();
+    private static final Identity.IdentityType[] IDENTITY_TYPES = Identity.IdentityType.values();
+
+    private BinaryFormat() {
+    }
+
+    static void writeDate(DataOutput out, Date date) throws IOException {
+        out.writeInt(Math.toIntExact(date.toEpochDay()));
+    }
+
+    static Date readDate(DataInput in) throws IOException {
+        return new Date(LocalDate.ofEpochDay(in.readInt()));
+    }
+
+    static void writeZone(DataOutput out, ZoneId zone) throws IOException {
+        out.writeUTF(zone.getId());
+    }
+
+    static ZoneId readZone(DataInput in) throws IOException {
+        String id = in.readUTF();
+        try {
+            return ZoneId.of(id);
+        } catch (DateTimeException e) {
+            throw new IOException("Unknown time zone " + id, e);
+        }
+    }
+
+    static void writeMoney(DataOutput out, Money money) throws IOException {
+        out.writeLong(money.getAmount().unscaledValue().longValueExact());
+        out.writeUTF(money.getCurrency());
+    }
+
+    static Money readMoney(DataInput in) throws IOException {
+        long minorUnits = in.readLong();
+        return new Money(BigDecimal.valueOf(minorUnits, 2), in.readUTF());
+    }
+
+    static void writeRoomKind(DataOutput out, RoomKind kind) throws IOException {
+        out.writeByte(kind.ordinal());
+    }
+
+    static RoomKind readRoomKind(DataInput in) throws IOException {
+        return roomKind(in.readUnsignedByte());
+    }
+
+    static RoomKind roomKind(int ordinal) {
+        return ROOM_KINDS[ordinal];
+    }
+
+    /**
+     * Writes the card masked: the last four digits of the number, the holder and
+     * the expiry date. The full number and the CVV never reach the disk.
+     */
+    static void writeCreditCard(DataOutput out, CreditCard card) throws IOException {
+        CreditCard masked = card.masked();
+        out.writeUTF(masked.getCardNumber());
+        out.writeUTF(masked.getCardHolderName());
+        out.writeUTF(masked.getExpiryDate());
+    }
+
+    static CreditCard readCreditCard(DataInput in) throws IOException {
+        return CreditCard.fromMasked(in.readUTF(), in.readUTF(), in.readUTF());
+    }
+
+    static void writeIdentity(DataOutput out, Identity identity) throws IOException {
+        out.writeUTF(identity.getIdNumber());
+        out.writeByte(identity.getType().ordinal());
+    }
+
+    static Identity readIdentity(DataInput in) throws IOException {
+        String idNumber = in.readUTF();
+        return new Identity(idNumber, IDENTITY_TYPES[in.readUnsignedByte()]);
+    }
+
+    static void writeAddress(DataOutput out, Address address) throws IOException {
+        out.writeUTF(address.getStreet());
+        out.writeUTF(address.getCity());
+        out.writeUTF(address.getState());
+        out.writeUTF(address.getZipCode());
+        out.writeUTF(address.getCountry());
+    }
+
+    static Address readAddress(DataInput in) throws IOException {
+        return new Address(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+    }
+}
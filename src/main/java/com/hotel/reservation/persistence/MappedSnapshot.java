@@ -0,0 +1,422 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.RoomKind;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Read-only view of a snapshot file mapped into memory, for replicas and
+ * reporting jobs that only query.
+ * <p>
+ * Nothing is deserialised up front: opening reads the header and footer, and
+ * every query binary searches the index region written by {@link SnapshotFile}
+ * and decodes only the records it returns. Reservations and guests come back
+ * as views that decode their fields from the mapping when asked, so heap use
+ * does not grow with the size of the snapshot; the operating system pages the
+ * file in and out as needed.
+ * <p>
+ * The checksum is not verified on open, since that would read the whole file;
+ * snapshots are moved into place only once complete. Safe for concurrent use,
+ * as all reads are absolute.
+ */
+public final class MappedSnapshot {
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final long coveredSegment;
+    private final int hotelDirectory;
+    private final int reservationIndex;
+    private final int currentReservations;
+    private final int guestIndex;
+
+    private MappedSnapshot(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < Integer.BYTES * 2 + SnapshotFile.FOOTER_SIZE || buffer.getInt(0) != SnapshotFile.MAGIC) {
+            throw new IOException("Not a snapshot: " + file);
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version != SnapshotFile.FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        this.coveredSegment = buffer.getLong(Integer.BYTES * 2);
+        int footer = buffer.capacity() - SnapshotFile.FOOTER_SIZE;
+        this.hotelDirectory = buffer.getInt(footer);
+        this.reservationIndex = buffer.getInt(footer + Integer.BYTES);
+        this.currentReservations = buffer.getInt(footer + Integer.BYTES * 2);
+        this.guestIndex = buffer.getInt(footer + Integer.BYTES * 3);
+    }
+
+    /**
+     * Maps the given snapshot file.
+     */
+    public static MappedSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedSnapshot(file, mapped);
+        }
+    }
+
+    /**
+     * Maps the newest snapshot in a write-ahead log directory.
+     */
+    public static MappedSnapshot openLatest(Path directory) throws IOException {
+        List<Long> snapshots = SnapshotFile.list(directory);
+        if (snapshots.isEmpty()) {
+            throw new IOException("No snapshot in " + directory);
+        }
+        return open(SnapshotFile.path(directory, snapshots.get(snapshots.size() - 1)));
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Last write-ahead log segment reflected in this snapshot.
+     */
+    public long getCoveredSegment() {
+        return coveredSegment;
+    }
+
+    /**
+     * Same answer {@code Hotel.available} gave for the chain this snapshot was taken of.
+     */
+    public boolean available(String hotelName, RoomKind roomKind, Date startDate, Date endDate, int quantity) {
+        if (hotelName == null || roomKind == null || startDate == null || endDate == null) {
+            return false;
+        }
+        if (quantity <= 0) {
+            return false;
+        }
+        int position = findHotel(hotelName);
+        if (position < 0) {
+            return false;
+        }
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+
+        position += utfSize(position);
+        int roomTypeCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        for (int t = 0; t < roomTypeCount; t++) {
+            RoomKind kind = BinaryFormat.roomKind(buffer.get(position) & 0xFF);
+            int roomCount = buffer.getInt(position + 1);
+            position += 1 + Integer.BYTES;
+            int found = 0;
+            for (int r = 0; r < roomCount; r++) {
+                boolean occupied = buffer.get(position + Integer.BYTES) != 0;
+                int intervalCount = buffer.getInt(position + Integer.BYTES + 1);
+                int intervals = position + Integer.BYTES * 2 + 1;
+                if (kind == roomKind && !occupied && isFree(intervals, intervalCount, start, end)
+                        && ++found >= quantity) {
+                    return true;
+                }
+                position = intervals + intervalCount * Integer.BYTES * 2;
+            }
+            if (kind == roomKind) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A room's intervals never overlap, so sorted by start they are also sorted by
+     * end; the only candidate for a clash is the first interval ending on or after start.
+     */
+    private boolean isFree(int intervals, int count, long start, long end) {
+        if (start > end) {
+            return true;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getInt(intervals + mid * Integer.BYTES * 2 + Integer.BYTES) < start) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low == count || buffer.getInt(intervals + low * Integer.BYTES * 2) > end;
+    }
+
+    /**
+     * Every reservation in the snapshot, ordered by number.
+     * The list decodes nothing until its elements are read.
+     */
+    public List<ReservationView> getAllReservations() {
+        int count = buffer.getInt(reservationIndex);
+        int entries = reservationIndex + Integer.BYTES;
+        return new AbstractList<>() {
+            @Override
+            public ReservationView get(int index) {
+                if (index < 0 || index >= count) {
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+                }
+                return new ReservationView(buffer.getInt(entries + index * Integer.BYTES * 2 + Integer.BYTES));
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Every payer's current reservation, as {@code ReserverPayer.getReservation} returned them.
+     * The list decodes nothing until its elements are read.
+     */
+    public List<ReservationView> getCurrentReservations() {
+        int count = buffer.getInt(currentReservations);
+        return new AbstractList<>() {
+            @Override
+            public ReservationView get(int index) {
+                if (index < 0 || index >= count) {
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+                }
+                return new ReservationView(buffer.getInt(currentReservations + Integer.BYTES * (index + 1)));
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Returns the reservation with the given number, or null if there is none.
+     */
+    public ReservationView getReservation(int reservationNumber) {
+        int count = buffer.getInt(reservationIndex);
+        int entries = reservationIndex + Integer.BYTES;
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int number = buffer.getInt(entries + mid * Integer.BYTES * 2);
+            if (number < reservationNumber) {
+                low = mid + 1;
+            } else if (number > reservationNumber) {
+                high = mid - 1;
+            } else {
+                return new ReservationView(buffer.getInt(entries + mid * Integer.BYTES * 2 + Integer.BYTES));
+            }
+        }
+        return null;
+    }
+
+    public int getReservationCount() {
+        return buffer.getInt(reservationIndex);
+    }
+
+    /**
+     * Returns the guest with the given name, or null if there is none.
+     */
+    public GuestView getGuest(String name) {
+        if (name == null) {
+            return null;
+        }
+        final int entrySize = Integer.BYTES * 3;
+        int count = buffer.getInt(guestIndex);
+        int entries = guestIndex + Integer.BYTES;
+        for (int i = firstWithHash(entries, count, entrySize, name.hashCode()); i < count; i++) {
+            int entry = entries + i * entrySize;
+            if (buffer.getInt(entry) != name.hashCode()) {
+                break;
+            }
+            int guest = buffer.getInt(entry + Integer.BYTES);
+            if (name.equals(readUTF(guest))) {
+                return new GuestView(guest, buffer.getInt(entry + Integer.BYTES * 2));
+            }
+        }
+        return null;
+    }
+
+    private int findHotel(String name) {
+        final int entrySize = Integer.BYTES * 2;
+        int count = buffer.getInt(hotelDirectory);
+        int entries = hotelDirectory + Integer.BYTES;
+        for (int i = firstWithHash(entries, count, entrySize, name.hashCode()); i < count; i++) {
+            int entry = entries + i * entrySize;
+            if (buffer.getInt(entry) != name.hashCode()) {
+                break;
+            }
+            int hotel = buffer.getInt(entry + Integer.BYTES);
+            if (name.equals(readUTF(hotel))) {
+                return hotel;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index of the first entry whose leading hash is at least the given one.
+     */
+    private int firstWithHash(int entries, int count, int entrySize, int hash) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getInt(entries + mid * entrySize) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int utfSize(int position) {
+        return Short.BYTES + (buffer.getShort(position) & 0xFFFF);
+    }
+
+    private String readUTF(int position) {
+        byte[] bytes = new byte[utfSize(position)];
+        buffer.get(position, bytes);
+        try {
+            return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt string in snapshot " + file, e);
+        }
+    }
+
+    private Date readDate(int position) {
+        return new Date(LocalDate.ofEpochDay(buffer.getInt(position)));
+    }
+
+    /**
+     * Reservation decoded lazily from the mapped file.
+     */
+    public final class ReservationView {
+        private final int offset;
+
+        private ReservationView(int offset) {
+            this.offset = offset;
+        }
+
+        public int getNumber() {
+            return buffer.getInt(offset);
+        }
+
+        public int getReserverPayerNumber() {
+            return buffer.getInt(offset + Integer.BYTES);
+        }
+
+        public String getHotelName() {
+            return readUTF(hotelName());
+        }
+
+        public Date getReservationDate() {
+            return readDate(dates());
+        }
+
+        public Date getStartDate() {
+            return readDate(dates() + Integer.BYTES);
+        }
+
+        public Date getEndDate() {
+            return readDate(dates() + Integer.BYTES * 2);
+        }
+
+        public int getQuantity() {
+            return buffer.get(dates() + Integer.BYTES * 3) & 0xFF;
+        }
+
+        public int[] getRoomNumbers() {
+            int rooms = dates() + Integer.BYTES * 3 + 1;
+            int[] numbers = new int[buffer.getInt(rooms)];
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = buffer.getInt(rooms + Integer.BYTES * (i + 1));
+            }
+            return numbers;
+        }
+
+        private int hotelName() {
+            return offset + Integer.BYTES * 2;
+        }
+
+        private int dates() {
+            return hotelName() + utfSize(hotelName());
+        }
+
+        @Override
+        public String toString() {
+            return "Reservation{number=" + getNumber() + ", startDate=" + getStartDate()
+                    + ", endDate=" + getEndDate() + "}";
+        }
+    }
+
+    /**
+     * Guest decoded lazily from the mapped file.
+     */
+    public final class GuestView {
+        private final int offset;
+        private final int checkIn;
+
+        private GuestView(int offset, int checkIn) {
+            this.offset = offset;
+            this.checkIn = checkIn;
+        }
+
+        public String getName() {
+            return readUTF(offset);
+        }
+
+        public Address getAddressDetails() {
+            int position = offset + utfSize(offset);
+            String[] fields = new String[5];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = readUTF(position);
+                position += utfSize(position);
+            }
+            return new Address(fields[0], fields[1], fields[2], fields[3], fields[4]);
+        }
+
+        public boolean isCheckedIn() {
+            return checkIn >= 0;
+        }
+
+        /**
+         * Hotel of the room the guest is checked in to, or null.
+         */
+        public String getOccupiedHotelName() {
+            return isCheckedIn() ? readUTF(checkIn + utfSize(checkIn)) : null;
+        }
+
+        /**
+         * Number of the room the guest is checked in to, or 0.
+         */
+        public int getOccupiedRoomNumber() {
+            if (!isCheckedIn()) {
+                return 0;
+            }
+            int hotel = checkIn + utfSize(checkIn);
+            return buffer.getInt(hotel + utfSize(hotel));
+        }
+
+        @Override
+        public String toString() {
+            return "Guest{name=" + getName() + ", checkedIn=" + isCheckedIn() + "}";
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.domain.ReserverPayer;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Encodes chain mutations as framed binary records.
+ * A frame is the payload length, the payload (record type byte first) and a
+ * CRC-32 of the payload, so recovery can tell a complete record from a torn one.
+ */
+final class MutationRecords {
+    static final int FRAME_OVERHEAD = Integer.BYTES * 2;
+    static final int MAX_PAYLOAD = 1 << 20;
+
+    private MutationRecords() {
+    }
+
+    static byte[] reserverPayerCreated(ReserverPayer reserverPayer) {
+        return frame(RecordType.RESERVER_PAYER_CREATED, out -> {
+            out.writeInt(reserverPayer.getNumber());
+            BinaryFormat.writeCreditCard(out, reserverPayer.getCreditCardDetails());
+            BinaryFormat.writeIdentity(out, reserverPayer.getId());
+        });
+    }
+
+    static byte[] guestAdded(Guest guest) {
+        return frame(RecordType.GUEST_ADDED, out -> {
+            out.writeUTF(guest.getName().getValue());
+            BinaryFormat.writeAddress(out, guest.getAddressDetails());
+        });
+    }
+
+    static byte[] hotelAdded(Hotel hotel) {
+        return frame(RecordType.HOTEL_ADDED, out -> {
+            out.writeUTF(hotel.getName().getValue());
+            BinaryFormat.writeZone(out, hotel.getZone());
+            List<RoomType> roomTypes = hotel.getRoomTypes();
+            out.writeInt(roomTypes.size());
+            for (RoomType roomType : roomTypes) {
+                BinaryFormat.writeRoomKind(out, roomType.getKind());
+                BinaryFormat.writeMoney(out, roomType.getCost());
+            }
+            List<Room> rooms = hotel.getRooms();
+            out.writeInt(rooms.size());
+            for (Room room : rooms) {
+                out.writeInt(room.getNumber());
+                BinaryFormat.writeRoomKind(out, room.getRoomType().getKind());
+            }
+        });
+    }
+
+    static byte[] roomTypeAdded(RoomType roomType) {
+        return frame(RecordType.ROOM_TYPE_ADDED, out -> {
+            out.writeUTF(roomType.getHotel().getName().getValue());
+            BinaryFormat.writeRoomKind(out, roomType.getKind());
+            BinaryFormat.writeMoney(out, roomType.getCost());
+        });
+    }
+
+    static byte[] roomAdded(Room room) {
+        return frame(RecordType.ROOM_ADDED, out -> {
+            out.writeUTF(room.getHotel().getName().getValue());
+            out.writeInt(room.getNumber());
+            BinaryFormat.writeRoomKind(out, room.getRoomType().getKind());
+        });
+    }
+
+    static byte[] reservationMade(Reservation reservation) {
+        return frame(RecordType.RESERVATION_MADE, out -> writeReservation(out, reservation));
+    }
+
+    /**
+     * One record holding a whole batch, so a torn write loses all of it or none.
+     */
+    static byte[] reservationsMade(List<Reservation> reservations) {
+        return frame(RecordType.RESERVATIONS_MADE, out -> {
+            out.writeInt(reservations.size());
+            for (Reservation reservation : reservations) {
+                writeReservation(out, reservation);
+            }
+        });
+    }
+
+    private static void writeReservation(DataOutputStream out, Reservation reservation) throws IOException {
+        List<Room> rooms = reservation.getRooms();
+        if (rooms.isEmpty()) {
+            throw new IllegalArgumentException("Reservation " + reservation.getNumber() + " has no rooms");
+        }
+        out.writeInt(reservation.getNumber());
+        out.writeInt(reservation.getReserverPayer().getNumber());
+        out.writeUTF(rooms.get(0).getHotel().getName().getValue());
+        BinaryFormat.writeDate(out, reservation.getReservationDate());
+        BinaryFormat.writeDate(out, reservation.getStartDate());
+        BinaryFormat.writeDate(out, reservation.getEndDate());
+        out.writeByte(reservation.getQuantity() != null ? reservation.getQuantity().getNumber() : rooms.size());
+        out.writeInt(rooms.size());
+        for (Room room : rooms) {
+            out.writeInt(room.getNumber());
+        }
+    }
+
+    static byte[] reservationCancelled(Reservation reservation) {
+        return frame(RecordType.RESERVATION_CANCELLED, out -> out.writeInt(reservation.getNumber()));
+    }
+
+    static byte[] guestCheckedIn(Guest guest, Room room) {
+        return frame(RecordType.GUEST_CHECKED_IN, out -> {
+            out.writeUTF(guest.getName().getValue());
+            out.writeUTF(room.getHotel().getName().getValue());
+            out.writeInt(room.getNumber());
+        });
+    }
+
+    static byte[] guestCheckedOut(Guest guest) {
+        return frame(RecordType.GUEST_CHECKED_OUT, out -> out.writeUTF(guest.getName().getValue()));
+    }
+
+    private static byte[] frame(RecordType type, PayloadWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0); // length, patched below
+            out.writeByte(type.getCode());
+            writer.write(out);
+            out.writeInt(0); // checksum, patched below
+            byte[] frame = bytes.toByteArray();
+
+            int payloadLength = frame.length - FRAME_OVERHEAD;
+            if (payloadLength > MAX_PAYLOAD) {
+                throw new IllegalArgumentException("Record too large: " + payloadLength + " bytes");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(frame, Integer.BYTES, payloadLength);
+            putInt(frame, 0, payloadLength);
+            putInt(frame, frame.length - Integer.BYTES, (int) crc.getValue());
+            return frame;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
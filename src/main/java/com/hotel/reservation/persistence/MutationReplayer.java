@@ -0,0 +1,196 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+
+/**
+ * Reads framed mutation records and applies them to a {@link HotelChain}.
+ * Reading stops quietly at the first incomplete or corrupt frame, which is
+ * what a crash in the middle of a write leaves behind.
+ */
+final class MutationReplayer {
+    private final HotelChain hotelChain;
+    private int highestReservationNumber;
+    private long appliedCount;
+
+    MutationReplayer(HotelChain hotelChain) {
+        this.hotelChain = hotelChain;
+    }
+
+    /**
+     * Total records applied by this replayer across all streams.
+     */
+    long getAppliedCount() {
+        return appliedCount;
+    }
+
+    /**
+     * Highest reservation number made in the replayed records, including ones later cancelled.
+     */
+    int getHighestReservationNumber() {
+        return highestReservationNumber;
+    }
+
+    /**
+     * Applies every intact record in the stream and returns how many were applied.
+     */
+    long replay(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        long applied = 0;
+        byte[] payload = new byte[256];
+        CRC32 crc = new CRC32();
+        while (true) {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return applied;
+            }
+            if (length <= 0 || length > MutationRecords.MAX_PAYLOAD) {
+                return applied;
+            }
+            if (payload.length < length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+            }
+            int checksum;
+            try {
+                in.readFully(payload, 0, length);
+                checksum = in.readInt();
+            } catch (EOFException e) {
+                return applied;
+            }
+            crc.reset();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != checksum) {
+                return applied;
+            }
+            apply(new DataInputStream(new ByteArrayInputStream(payload, 0, length)));
+            applied++;
+            appliedCount++;
+        }
+    }
+
+    private void apply(DataInputStream in) throws IOException {
+        RecordType type = RecordType.fromCode(in.readByte());
+        switch (type) {
+            case RESERVER_PAYER_CREATED: {
+                int number = in.readInt();
+                CreditCard card = BinaryFormat.readCreditCard(in);
+                Identity identity = BinaryFormat.readIdentity(in);
+                hotelChain.createReserverPayer(card, identity, number);
+                break;
+            }
+            case GUEST_ADDED: {
+                Name name = new Name(in.readUTF());
+                hotelChain.addGuest(Guest.create(name, BinaryFormat.readAddress(in)));
+                break;
+            }
+            case HOTEL_ADDED: {
+                Name name = new Name(in.readUTF());
+                Hotel hotel = new Hotel(name, BinaryFormat.readZone(in));
+                int roomTypeCount = in.readInt();
+                for (int i = 0; i < roomTypeCount; i++) {
+                    RoomKind kind = BinaryFormat.readRoomKind(in);
+                    Money cost = BinaryFormat.readMoney(in);
+                    hotel.addRoomType(new RoomType(kind, cost, hotel));
+                }
+                int roomCount = in.readInt();
+                for (int i = 0; i < roomCount; i++) {
+                    int number = in.readInt();
+                    addRoom(hotel, number, BinaryFormat.readRoomKind(in));
+                }
+                hotelChain.addHotel(hotel);
+                break;
+            }
+            case ROOM_TYPE_ADDED: {
+                Hotel hotel = requireHotel(in.readUTF());
+                RoomKind kind = BinaryFormat.readRoomKind(in);
+                Money cost = BinaryFormat.readMoney(in);
+                hotel.addRoomType(new RoomType(kind, cost, hotel));
+                break;
+            }
+            case ROOM_ADDED: {
+                Hotel hotel = requireHotel(in.readUTF());
+                int number = in.readInt();
+                addRoom(hotel, number, BinaryFormat.readRoomKind(in));
+                break;
+            }
+            case RESERVATION_MADE:
+                restoreReservation(in);
+                break;
+            case RESERVATIONS_MADE: {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    restoreReservation(in);
+                }
+                break;
+            }
+            case RESERVATION_CANCELLED:
+                hotelChain.cancelReservation(in.readInt());
+                break;
+            case GUEST_CHECKED_IN: {
+                String guestName = in.readUTF();
+                String hotelName = in.readUTF();
+                hotelChain.checkinGuest(guestName, in.readInt(), hotelName);
+                break;
+            }
+            case GUEST_CHECKED_OUT:
+                hotelChain.checkOutGuest(in.readUTF());
+                break;
+            default:
+                throw new IllegalStateException("Unhandled record type " + type);
+        }
+    }
+
+    private void restoreReservation(DataInputStream in) throws IOException {
+        int number = in.readInt();
+        int payerNumber = in.readInt();
+        String hotelName = in.readUTF();
+        Date reservationDate = BinaryFormat.readDate(in);
+        Date startDate = BinaryFormat.readDate(in);
+        Date endDate = BinaryFormat.readDate(in);
+        int quantity = in.readUnsignedByte();
+        int[] roomNumbers = new int[in.readInt()];
+        for (int i = 0; i < roomNumbers.length; i++) {
+            roomNumbers[i] = in.readInt();
+        }
+        hotelChain.restoreReservation(number, payerNumber, hotelName, reservationDate,
+                                      startDate, endDate, quantity, roomNumbers);
+        highestReservationNumber = Math.max(highestReservationNumber, number);
+    }
+
+    private Hotel requireHotel(String name) {
+        Hotel hotel = hotelChain.getHotel(name);
+        if (hotel == null) {
+            throw new IllegalStateException("Log refers to unknown hotel " + name);
+        }
+        return hotel;
+    }
+
+    static void addRoom(Hotel hotel, int number, RoomKind kind) {
+        RoomType roomType = hotel.getRoomTypes().stream()
+                .filter(rt -> rt.getKind() == kind)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Log refers to missing room type " + kind
+                        + " in " + hotel.getName()));
+        Room room = new Room(number, hotel, roomType);
+        hotel.addRoom(room);
+        roomType.addRoom(room);
+    }
+}
@@ -0,0 +1,44 @@
+package com.hotel.reservation.persistence;
+
+/**
+ * Kinds of mutation stored in the write-ahead log.
+ * Codes are part of the on-disk format and must never be reused.
+ */
+enum RecordType {
+    RESERVER_PAYER_CREATED(1),
+    GUEST_ADDED(2),
+    HOTEL_ADDED(3),
+    ROOM_TYPE_ADDED(4),
+    ROOM_ADDED(5),
+    RESERVATION_MADE(6),
+    RESERVATION_CANCELLED(7),
+    GUEST_CHECKED_IN(8),
+    GUEST_CHECKED_OUT(9),
+    RESERVATIONS_MADE(10);
+
+    private static final RecordType[] BY_CODE = new RecordType[16];
+
+    static {
+        for (RecordType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    RecordType(int code) {
+        this.code = (byte) code;
+    }
+
+    byte getCode() {
+        return code;
+    }
+
+    static RecordType fromCode(byte code) {
+        RecordType type = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown record type " + code);
+        }
+        return type;
+    }
+}
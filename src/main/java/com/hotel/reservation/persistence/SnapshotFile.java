@@ -0,0 +1,443 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.domain.ReservationLoader;
+import com.hotel.reservation.domain.ReserverPayer;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary image of a whole {@link HotelChain}.
+ * <p>
+ * A snapshot named after log segment N holds the state after every record in
+ * segments up to and including N. The file is a header (magic, version, covered
+ * segment, highest reservation number ever issued), sections for hotels, guests,
+ * payers, reservations, current payer reservations and check-ins, an index
+ * region for {@link MappedSnapshot}, a footer locating the index, and a CRC-32
+ * of everything before it. Files are written under a temporary name and moved
+ * into place, so a snapshot is either complete or absent.
+ */
+final class SnapshotFile {
+    static final int MAGIC = 0x4852534E; // "HRSN"
+    static final int FORMAT_VERSION = 3;
+    static final int FOOTER_SIZE = Integer.BYTES * 4 + Long.BYTES;
+    static final int MAX_MAPPABLE_SIZE = Integer.MAX_VALUE - FOOTER_SIZE;
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{16})\\.snap");
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SnapshotFile() {
+    }
+
+    static Path path(Path directory, long coveredSegment) {
+        return directory.resolve(String.format("snapshot-%016d.snap", coveredSegment));
+    }
+
+    /**
+     * Returns the covered segment numbers of all snapshots in the directory, oldest first.
+     */
+    static List<Long> list(Path directory) throws IOException {
+        List<Long> snapshots = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return snapshots;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "snapshot-*.snap")) {
+            for (Path entry : entries) {
+                Matcher matcher = SNAPSHOT_NAME.matcher(entry.getFileName().toString());
+                if (matcher.matches()) {
+                    snapshots.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        Collections.sort(snapshots);
+        return snapshots;
+    }
+
+    static void write(Path directory, long coveredSegment, int highestReservationNumber,
+                      HotelChain hotelChain) throws IOException {
+        Path target = path(directory, coveredSegment);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(coveredSegment);
+            out.writeInt(highestReservationNumber);
+            Offsets offsets = writeBody(out, hotelChain);
+            writeIndex(out, hotelChain, offsets);
+            out.flush();
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Offsets writeBody(DataOutputStream out, HotelChain hotelChain) throws IOException {
+        List<Hotel> hotels = hotelChain.getHotels();
+        out.writeInt(hotels.size());
+        for (Hotel hotel : hotels) {
+            out.writeUTF(hotel.getName().getValue());
+            BinaryFormat.writeZone(out, hotel.getZone());
+            List<RoomType> roomTypes = hotel.getRoomTypes();
+            out.writeInt(roomTypes.size());
+            for (RoomType roomType : roomTypes) {
+                BinaryFormat.writeRoomKind(out, roomType.getKind());
+                BinaryFormat.writeMoney(out, roomType.getCost());
+            }
+            List<Room> rooms = hotel.getRooms();
+            out.writeInt(rooms.size());
+            for (Room room : rooms) {
+                out.writeInt(room.getNumber());
+                BinaryFormat.writeRoomKind(out, room.getRoomType().getKind());
+            }
+        }
+
+        List<Guest> guests = hotelChain.getGuests();
+        Offsets offsets = new Offsets(guests);
+        out.writeInt(guests.size());
+        for (int i = 0; i < guests.size(); i++) {
+            Guest guest = guests.get(i);
+            offsets.guests[i] = offset(out);
+            out.writeUTF(guest.getName().getValue());
+            BinaryFormat.writeAddress(out, guest.getAddressDetails());
+        }
+
+        List<ReserverPayer> reserverPayers = hotelChain.getReserverPayers();
+        out.writeInt(reserverPayers.size());
+        for (ReserverPayer reserverPayer : reserverPayers) {
+            out.writeInt(reserverPayer.getNumber());
+            BinaryFormat.writeCreditCard(out, reserverPayer.getCreditCardDetails());
+            BinaryFormat.writeIdentity(out, reserverPayer.getId());
+        }
+
+        // A reservation is written once, from the first of its rooms
+        List<Reservation> reservations = new ArrayList<>();
+        for (Hotel hotel : hotels) {
+            for (Room room : hotel.getRooms()) {
+                for (Reservation reservation : room.getReservations()) {
+                    if (reservation.getRooms().get(0) == room) {
+                        reservations.add(reservation);
+                    }
+                }
+            }
+        }
+        // In start date order, the order each room keys them in, so loading appends to each room
+        reservations.sort(Comparator.comparingLong((Reservation r) -> r.getStartDate().toEpochDay())
+                .thenComparingInt(Reservation::getNumber));
+        offsets.reservations = new long[reservations.size()];
+        out.writeInt(reservations.size());
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            List<Room> rooms = reservation.getRooms();
+            offsets.reservations[i] = ((long) reservation.getNumber() << 32) | offset(out);
+            out.writeInt(reservation.getNumber());
+            out.writeInt(reservation.getReserverPayer().getNumber());
+            out.writeUTF(rooms.get(0).getHotel().getName().getValue());
+            BinaryFormat.writeDate(out, reservation.getReservationDate());
+            BinaryFormat.writeDate(out, reservation.getStartDate());
+            BinaryFormat.writeDate(out, reservation.getEndDate());
+            out.writeByte(reservation.getQuantity() != null ? reservation.getQuantity().getNumber() : rooms.size());
+            out.writeInt(rooms.size());
+            for (Room room : rooms) {
+                out.writeInt(room.getNumber());
+            }
+        }
+        // Sorted by reservation number, so the index can be binary searched
+        Arrays.sort(offsets.reservations);
+
+        out.writeInt(reserverPayers.size());
+        for (ReserverPayer reserverPayer : reserverPayers) {
+            Reservation current = reserverPayer.getReservation();
+            out.writeInt(reserverPayer.getNumber());
+            out.writeInt(current == null ? 0 : current.getNumber());
+            if (current != null) {
+                offsets.current.add(offsets.reservationOffset(current.getNumber()));
+            }
+        }
+
+        int checkedIn = 0;
+        for (Guest guest : guests) {
+            if (guest.getOccupiedRoom() != null) {
+                checkedIn++;
+            }
+        }
+        out.writeInt(checkedIn);
+        for (int i = 0; i < guests.size(); i++) {
+            Guest guest = guests.get(i);
+            Room room = guest.getOccupiedRoom();
+            if (room != null) {
+                offsets.checkIns[i] = offset(out);
+                out.writeUTF(guest.getName().getValue());
+                out.writeUTF(room.getHotel().getName().getValue());
+                out.writeInt(room.getNumber());
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Writes the lookup structures a {@link MappedSnapshot} reads in place: a hotel
+     * directory with each room's booked intervals, a reservation index, the
+     * current reservations and a guest index, followed by a footer of their offsets.
+     * Sequential loading stops before this region.
+     */
+    private static void writeIndex(DataOutputStream out, HotelChain hotelChain, Offsets offsets) throws IOException {
+        List<Hotel> hotels = hotelChain.getHotels();
+        long[] hotelEntries = new long[hotels.size()];
+        for (int h = 0; h < hotels.size(); h++) {
+            Hotel hotel = hotels.get(h);
+            String name = hotel.getName().getValue();
+            hotelEntries[h] = ((long) name.hashCode() << 32) | offset(out);
+            out.writeUTF(name);
+            List<RoomType> roomTypes = hotel.getRoomTypes();
+            out.writeInt(roomTypes.size());
+            for (RoomType roomType : roomTypes) {
+                BinaryFormat.writeRoomKind(out, roomType.getKind());
+                List<Room> rooms = roomType.getRooms();
+                out.writeInt(rooms.size());
+                for (Room room : rooms) {
+                    out.writeInt(room.getNumber());
+                    out.writeByte(room.isOccupied() ? 1 : 0);
+                    long[] intervals = room.getReservations().stream()
+                            .mapToLong(r -> (r.getStartDate().toEpochDay() << 32)
+                                    | (r.getEndDate().toEpochDay() & 0xFFFF_FFFFL))
+                            .sorted()
+                            .toArray();
+                    out.writeInt(intervals.length);
+                    for (long interval : intervals) {
+                        out.writeInt((int) (interval >> 32));
+                        out.writeInt((int) interval);
+                    }
+                }
+            }
+        }
+        // Signed order of the packed longs sorts by hash, matching the reader's binary search
+        Arrays.sort(hotelEntries);
+        int hotelDirectory = offset(out);
+        writePacked(out, hotelEntries);
+
+        int reservationIndex = offset(out);
+        writePacked(out, offsets.reservations);
+
+        int currentReservations = offset(out);
+        out.writeInt(offsets.current.size());
+        for (int reservationOffset : offsets.current) {
+            out.writeInt(reservationOffset);
+        }
+
+        List<Guest> guests = offsets.guestList;
+        long[] guestEntries = new long[guests.size()];
+        for (int i = 0; i < guests.size(); i++) {
+            guestEntries[i] = ((long) guests.get(i).getName().getValue().hashCode() << 32) | i;
+        }
+        Arrays.sort(guestEntries);
+        int guestIndex = offset(out);
+        out.writeInt(guestEntries.length);
+        for (long entry : guestEntries) {
+            int i = (int) entry;
+            out.writeInt((int) (entry >> 32));
+            out.writeInt(offsets.guests[i]);
+            out.writeInt(offsets.checkIns[i]);
+        }
+
+        out.writeInt(hotelDirectory);
+        out.writeInt(reservationIndex);
+        out.writeInt(currentReservations);
+        out.writeInt(guestIndex);
+        offset(out);
+    }
+
+    private static void writePacked(DataOutputStream out, long[] entries) throws IOException {
+        out.writeInt(entries.length);
+        for (long entry : entries) {
+            out.writeInt((int) (entry >> 32));
+            out.writeInt((int) entry);
+        }
+    }
+
+    /**
+     * Current write position; offsets are ints because a mapped buffer cannot exceed 2 GiB.
+     */
+    private static int offset(DataOutputStream out) throws IOException {
+        int size = out.size();
+        if (size >= MAX_MAPPABLE_SIZE) {
+            throw new IOException("Snapshot exceeds " + MAX_MAPPABLE_SIZE + " bytes");
+        }
+        return size;
+    }
+
+    /**
+     * Positions of body records that the index region points back to.
+     */
+    private static final class Offsets {
+        final List<Guest> guestList;
+        final int[] guests;
+        final int[] checkIns;
+        final List<Integer> current = new ArrayList<>();
+        long[] reservations;
+
+        Offsets(List<Guest> guestList) {
+            this.guestList = guestList;
+            this.guests = new int[guestList.size()];
+            this.checkIns = new int[guestList.size()];
+            Arrays.fill(checkIns, -1);
+        }
+
+        int reservationOffset(int number) {
+            int low = 0;
+            int high = reservations.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int key = (int) (reservations[mid] >> 32);
+                if (key < number) {
+                    low = mid + 1;
+                } else if (key > number) {
+                    high = mid - 1;
+                } else {
+                    return (int) reservations[mid];
+                }
+            }
+            throw new IllegalStateException("Current reservation " + number + " is not in any room");
+        }
+    }
+
+    /**
+     * Loads the snapshot into the chain, which should be empty and have no log
+     * attached, and returns the highest reservation number it records.
+     */
+    static int read(Path file, HotelChain hotelChain) throws IOException {
+        verifyChecksum(file);
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            DataInputStream in = new DataInputStream(stream);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot: " + file);
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            in.readLong(); // covered segment, also encoded in the file name
+            int highestReservationNumber = in.readInt();
+            readBody(in, hotelChain);
+            return highestReservationNumber;
+        }
+    }
+
+    private static void verifyChecksum(Path file) throws IOException {
+        long size = Files.size(file);
+        if (size < Long.BYTES) {
+            throw new IOException("Snapshot is truncated: " + file);
+        }
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            CheckedInputStream checked = new CheckedInputStream(stream, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = size - Long.BYTES;
+            while (remaining > 0) {
+                int chunk = (int) Math.min(buffer.length, remaining);
+                in.readFully(buffer, 0, chunk);
+                remaining -= chunk;
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+        }
+    }
+
+    private static void readBody(DataInputStream in, HotelChain hotelChain) throws IOException {
+        int hotelCount = in.readInt();
+        for (int h = 0; h < hotelCount; h++) {
+            Name name = new Name(in.readUTF());
+            Hotel hotel = new Hotel(name, BinaryFormat.readZone(in));
+            int roomTypeCount = in.readInt();
+            for (int i = 0; i < roomTypeCount; i++) {
+                RoomKind kind = BinaryFormat.readRoomKind(in);
+                hotel.addRoomType(new RoomType(kind, BinaryFormat.readMoney(in), hotel));
+            }
+            int roomCount = in.readInt();
+            for (int i = 0; i < roomCount; i++) {
+                int number = in.readInt();
+                MutationReplayer.addRoom(hotel, number, BinaryFormat.readRoomKind(in));
+            }
+            hotelChain.addHotel(hotel);
+        }
+
+        int guestCount = in.readInt();
+        for (int i = 0; i < guestCount; i++) {
+            Name name = new Name(in.readUTF());
+            hotelChain.addGuest(Guest.create(name, BinaryFormat.readAddress(in)));
+        }
+
+        int payerCount = in.readInt();
+        for (int i = 0; i < payerCount; i++) {
+            int number = in.readInt();
+            hotelChain.createReserverPayer(BinaryFormat.readCreditCard(in), BinaryFormat.readIdentity(in), number);
+        }
+
+        int reservationCount = in.readInt();
+        try (ReservationLoader loader = hotelChain.openReservationLoader()) {
+            for (int i = 0; i < reservationCount; i++) {
+                int number = in.readInt();
+                int payerNumber = in.readInt();
+                String hotelName = in.readUTF();
+                Date reservationDate = BinaryFormat.readDate(in);
+                Date startDate = BinaryFormat.readDate(in);
+                Date endDate = BinaryFormat.readDate(in);
+                int quantity = in.readUnsignedByte();
+                int[] roomNumbers = new int[in.readInt()];
+                for (int r = 0; r < roomNumbers.length; r++) {
+                    roomNumbers[r] = in.readInt();
+                }
+                loader.restore(number, payerNumber, hotelName, reservationDate, startDate, endDate,
+                               quantity, roomNumbers);
+            }
+        }
+
+        int linkCount = in.readInt();
+        for (int i = 0; i < linkCount; i++) {
+            int payerNumber = in.readInt();
+            hotelChain.restoreCurrentReservation(payerNumber, in.readInt());
+        }
+
+        int checkedInCount = in.readInt();
+        for (int i = 0; i < checkedInCount; i++) {
+            String guestName = in.readUTF();
+            String hotelName = in.readUTF();
+            hotelChain.checkinGuest(guestName, in.readInt(), hotelName);
+        }
+    }
+}
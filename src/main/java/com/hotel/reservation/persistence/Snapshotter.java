@@ -0,0 +1,141 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.domain.HotelChain;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds closed write-ahead log segments into snapshots so recovery only has to
+ * load one file and replay the short tail of the log written after it.
+ * <p>
+ * A snapshot is never taken from the live chain. The log is rotated, and a
+ * private shadow chain is rebuilt from the previous snapshot plus the segments
+ * closed since, then written out. Bookings keep running against the live chain
+ * the whole time; the only cost is the memory of the shadow chain while the
+ * snapshot is being built. Segments and snapshots the new snapshot covers are
+ * deleted afterwards.
+ */
+public final class Snapshotter implements Closeable {
+    private final WriteAheadLog writeAheadLog;
+    private final ScheduledExecutorService executor;
+
+    public Snapshotter(WriteAheadLog writeAheadLog) {
+        if (writeAheadLog == null) {
+            throw new IllegalArgumentException("Write-ahead log cannot be null");
+        }
+        this.writeAheadLog = writeAheadLog;
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Rebuilds the chain from the latest snapshot in the directory and the log
+     * segments after it. The chain should be empty and have no log attached.
+     * Returns the number of log records replayed on top of the snapshot.
+     */
+    public static long restore(Path directory, HotelChain hotelChain) throws IOException {
+        MutationReplayer replayer = new MutationReplayer(hotelChain);
+        restoreThrough(directory, Long.MAX_VALUE, hotelChain, replayer);
+        return replayer.getAppliedCount();
+    }
+
+    /**
+     * Loads the newest snapshot covering no segment past throughSegment, replays the
+     * segments after it up to throughSegment, and returns the highest reservation
+     * number ever issued in that history.
+     */
+    private static int restoreThrough(Path directory, long throughSegment, HotelChain hotelChain,
+                                      MutationReplayer replayer) throws IOException {
+        long coveredSegment = 0;
+        int highestReservationNumber = 0;
+        List<Long> snapshots = SnapshotFile.list(directory);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            if (snapshots.get(i) <= throughSegment) {
+                coveredSegment = snapshots.get(i);
+                highestReservationNumber = SnapshotFile.read(SnapshotFile.path(directory, coveredSegment), hotelChain);
+                break;
+            }
+        }
+        WriteAheadLog.replaySegments(directory, coveredSegment, throughSegment, replayer);
+        // Cancelled reservations leave no trace in the chain, so carry their numbers forward
+        highestReservationNumber = Math.max(highestReservationNumber, replayer.getHighestReservationNumber());
+        if (highestReservationNumber > 0) {
+            hotelChain.reserveReservationNumbersThrough(highestReservationNumber);
+        }
+        return highestReservationNumber;
+    }
+
+    /**
+     * Writes a snapshot covering everything logged so far and returns the number
+     * of the last log segment it covers.
+     */
+    public synchronized long snapshot() throws IOException {
+        Path directory = writeAheadLog.getDirectory();
+        long coveredSegment = writeAheadLog.rotate();
+
+        HotelChain shadow = new HotelChain();
+        int highestReservationNumber = restoreThrough(directory, coveredSegment, shadow, new MutationReplayer(shadow));
+        SnapshotFile.write(directory, coveredSegment, highestReservationNumber, shadow);
+
+        for (long segment : WriteAheadLog.listSegments(directory)) {
+            if (segment <= coveredSegment) {
+                Files.deleteIfExists(WriteAheadLog.segmentPath(directory, segment));
+            }
+        }
+        for (long snapshot : SnapshotFile.list(directory)) {
+            if (snapshot < coveredSegment) {
+                Files.deleteIfExists(SnapshotFile.path(directory, snapshot));
+            }
+        }
+        return coveredSegment;
+    }
+
+    /**
+     * Takes a snapshot on the background thread.
+     */
+    public Future<Long> snapshotInBackground() {
+        return executor.submit(this::snapshot);
+    }
+
+    /**
+     * Takes a snapshot on the background thread every period, starting one period from now.
+     * A failed snapshot is retried at the next period.
+     */
+    public void scheduleEvery(long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Snapshot period must be positive");
+        }
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException | UncheckedIOException e) {
+                // Segments stay on disk, so nothing is lost; the next run covers them too
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Stops the background thread, letting a snapshot in progress finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
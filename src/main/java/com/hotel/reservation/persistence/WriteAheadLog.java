@@ -0,0 +1,405 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.MutationLog;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.domain.ReserverPayer;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Durable, append-only log of every {@link HotelChain} mutation.
+ * <p>
+ * Records are appended to an in-memory batch while the chain holds its locks.
+ * Durability uses group commit: the first caller to wait becomes the flusher,
+ * writes everything appended so far and forces it to disk once, and every caller
+ * whose record was in that batch returns together. Concurrent bookings therefore
+ * share fsyncs instead of queueing behind one flush each.
+ * <p>
+ * The log is a directory of numbered segment files. Each {@link #open(Path)}
+ * starts a fresh segment, so a record torn by a crash is only ever at the end of
+ * a segment and never gets appended to. {@link #rotate()} closes the current
+ * segment so a {@link Snapshotter} can fold it into a snapshot and delete it.
+ */
+public final class WriteAheadLog implements MutationLog, Closeable {
+    static final int MAGIC = 0x48524C47; // "HRLG"
+    static final int FORMAT_VERSION = 2;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d{16})\\.log");
+
+    private final Path directory;
+    private final Object monitor = new Object();
+    private final Object rotation = new Object();
+    private FileChannel channel;
+    private long segmentNumber;
+    private Batch pending = new Batch();
+    private Batch spare = new Batch();
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean flushing;
+    private boolean closed;
+    private IOException failure;
+    private long flushCount;
+
+    private WriteAheadLog(Path directory, long segmentNumber, FileChannel channel) {
+        this.directory = directory;
+        this.segmentNumber = segmentNumber;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the log in the given directory, starting a new segment after any existing ones.
+     */
+    public static WriteAheadLog open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> segments = listSegments(directory);
+        long next = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+        return new WriteAheadLog(directory, next, createSegment(directory, next));
+    }
+
+    /**
+     * Replays every segment in the directory into the chain, which should be
+     * empty and have no log attached. Returns the number of records applied.
+     * Snapshots are ignored; see {@link Snapshotter#restore(Path, HotelChain)}.
+     */
+    public static long replay(Path directory, HotelChain hotelChain) throws IOException {
+        return replaySegments(directory, 0, Long.MAX_VALUE, new MutationReplayer(hotelChain));
+    }
+
+    /**
+     * Rebuilds the chain from the latest snapshot and the log segments written
+     * after it, then attaches a freshly opened log so new changes are recorded.
+     */
+    public static WriteAheadLog recover(Path directory, HotelChain hotelChain) throws IOException {
+        if (Files.isDirectory(directory)) {
+            Snapshotter.restore(directory, hotelChain);
+        }
+        WriteAheadLog log = open(directory);
+        hotelChain.setMutationLog(log);
+        return log;
+    }
+
+    /**
+     * Replays the segments numbered in (afterSegment, throughSegment] and returns
+     * the number of records applied.
+     */
+    static long replaySegments(Path directory, long afterSegment, long throughSegment,
+                               MutationReplayer replayer) throws IOException {
+        long applied = 0;
+        for (long segment : listSegments(directory)) {
+            if (segment <= afterSegment || segment > throughSegment) {
+                continue;
+            }
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(segmentPath(directory, segment)), 1 << 16)) {
+                if (!readHeader(in)) {
+                    continue;
+                }
+                applied += replayer.replay(in);
+            }
+        }
+        return applied;
+    }
+
+    static List<Long> listSegments(Path directory) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "wal-*.log")) {
+            for (Path entry : entries) {
+                Matcher matcher = SEGMENT_NAME.matcher(entry.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("wal-%016d.log", segment));
+    }
+
+    private static FileChannel createSegment(Path directory, long segment) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(directory, segment),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        return channel;
+    }
+
+    private static boolean readHeader(InputStream in) throws IOException {
+        byte[] header = in.readNBytes(Integer.BYTES * 2);
+        if (header.length < Integer.BYTES * 2) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a write-ahead log segment");
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported write-ahead log version " + version);
+        }
+        return true;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Closes the current segment and continues in a new one, returning the number
+     * of the closed segment. Every record in the closed segment is already durable;
+     * records still waiting for a flush go to the new segment. Appends are only
+     * held up while the files are swapped, not while the new segment is created.
+     */
+    public long rotate() throws IOException {
+        synchronized (rotation) {
+            long closed;
+            synchronized (monitor) {
+                if (this.closed) {
+                    throw new IllegalStateException("Write-ahead log is closed");
+                }
+                closed = segmentNumber;
+            }
+            FileChannel next = createSegment(directory, closed + 1);
+            FileChannel previous;
+            synchronized (monitor) {
+                while (flushing) {
+                    waitForFlush();
+                }
+                previous = channel;
+                channel = next;
+                segmentNumber = closed + 1;
+            }
+            previous.close();
+            return closed;
+        }
+    }
+
+    /**
+     * Number of the segment new records are currently written to.
+     */
+    public long getCurrentSegment() {
+        synchronized (monitor) {
+            return segmentNumber;
+        }
+    }
+
+    /**
+     * Number of disk flushes so far; below the number of records when group commit is batching.
+     */
+    public long getFlushCount() {
+        synchronized (monitor) {
+            return flushCount;
+        }
+    }
+
+    @Override
+    public long reserverPayerCreated(ReserverPayer reserverPayer) {
+        return append(MutationRecords.reserverPayerCreated(reserverPayer));
+    }
+
+    @Override
+    public long guestAdded(Guest guest) {
+        return append(MutationRecords.guestAdded(guest));
+    }
+
+    @Override
+    public long hotelAdded(Hotel hotel) {
+        return append(MutationRecords.hotelAdded(hotel));
+    }
+
+    @Override
+    public long roomTypeAdded(RoomType roomType) {
+        return append(MutationRecords.roomTypeAdded(roomType));
+    }
+
+    @Override
+    public long roomAdded(Room room) {
+        return append(MutationRecords.roomAdded(room));
+    }
+
+    @Override
+    public long reservationMade(Reservation reservation) {
+        return append(MutationRecords.reservationMade(reservation));
+    }
+
+    @Override
+    public long reservationsMade(List<Reservation> reservations) {
+        return append(MutationRecords.reservationsMade(reservations));
+    }
+
+    @Override
+    public long reservationCancelled(Reservation reservation) {
+        return append(MutationRecords.reservationCancelled(reservation));
+    }
+
+    @Override
+    public long guestCheckedIn(Guest guest, Room room) {
+        return append(MutationRecords.guestCheckedIn(guest, room));
+    }
+
+    @Override
+    public long guestCheckedOut(Guest guest, Room room) {
+        return append(MutationRecords.guestCheckedOut(guest));
+    }
+
+    /**
+     * Queues a record, refusing once the log is closed or a flush has failed so
+     * callers can undo the change instead of keeping it unlogged.
+     */
+    private long append(byte[] record) {
+        synchronized (monitor) {
+            if (closed) {
+                throw new UncheckedIOException(new IOException("Write-ahead log is closed"));
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log failed", failure);
+            }
+            pending.add(record);
+            return ++appendedSequence;
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        Batch batch;
+        long batchEnd;
+        FileChannel target;
+        synchronized (monitor) {
+            while (true) {
+                if (durableSequence >= sequence) {
+                    return;
+                }
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log failed", failure);
+                }
+                if (!flushing) {
+                    break;
+                }
+                waitForFlush();
+            }
+            // Become the flusher for everything appended so far
+            flushing = true;
+            batch = pending;
+            pending = spare;
+            spare = null;
+            batchEnd = appendedSequence;
+            target = channel;
+        }
+
+        IOException error = null;
+        try {
+            batch.writeTo(target);
+            target.force(false);
+        } catch (IOException e) {
+            error = e;
+        }
+
+        synchronized (monitor) {
+            batch.clear();
+            spare = batch;
+            flushing = false;
+            if (error != null) {
+                failure = error;
+            } else {
+                durableSequence = batchEnd;
+                flushCount++;
+            }
+            monitor.notifyAll();
+        }
+        if (error != null) {
+            throw new UncheckedIOException("Write-ahead log failed", error);
+        }
+    }
+
+    private void waitForFlush() {
+        try {
+            monitor.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for write-ahead log flush", e);
+        }
+    }
+
+    /**
+     * Flushes anything still pending and closes the current segment.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (rotation) {
+            long last;
+            synchronized (monitor) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                last = appendedSequence;
+            }
+            try {
+                awaitDurable(last);
+            } finally {
+                synchronized (monitor) {
+                    while (flushing) {
+                        waitForFlush();
+                    }
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable byte buffer holding records appended since the last flush.
+     */
+    private static final class Batch {
+        private byte[] bytes = new byte[1 << 16];
+        private int size;
+
+        void add(byte[] record) {
+            if (size + record.length > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, size + record.length)];
+                System.arraycopy(bytes, 0, grown, 0, size);
+                bytes = grown;
+            }
+            System.arraycopy(record, 0, bytes, size, record.length);
+            size += record.length;
+        }
+
+        void writeTo(FileChannel channel) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, size);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.hotel.reservation.api;
+
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+import com.hotel.reservation.persistence.WriteAheadLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingApiServerTest {
+
+    @TempDir
+    Path logDirectory;
+
+    private HotelChain hotelChain;
+    private BookingApiServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        hotelChain = new HotelChain();
+        Hotel hotel = new Hotel(new Name("Grand Hotel"));
+        hotelChain.addHotel(hotel);
+        RoomType roomType = new RoomType(RoomKind.SINGLE, new Money(new BigDecimal("99.50"), "USD"), hotel);
+        hotel.addRoomType(roomType);
+        for (int number = 101; number <= 102; number++) {
+            Room room = new Room(number, hotel, roomType);
+            hotel.addRoom(room);
+            roomType.addRoom(room);
+        }
+        hotelChain.addGuest(Guest.create(new Name("John Doe"),
+                                         new Address("123 Main St", "New York", "NY", "10001", "USA")));
+        hotelChain.createReserverPayer(new CreditCard("1234567890123456", "John Doe", "12/25", "123"),
+                                       new Identity("ID123", Identity.IdentityType.PASSPORT), 1);
+
+        server = new BookingApiServer(hotelChain, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testAvailabilityListsHotelsWithFreeRooms() throws Exception {
+        // Act
+        HttpResponse<String> response = get("/availability?kind=single&start=2024-06-01&end=2024-06-05&quantity=2");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals("application/json; charset=utf-8", response.headers().firstValue("Content-Type").orElse(""));
+        assertEquals("{\"availability\":[{\"hotel\":\"Grand Hotel\",\"kind\":\"SINGLE\",\"availableRooms\":2,"
+                + "\"cost\":99.50,\"currency\":\"USD\"}]}", response.body());
+    }
+
+    @Test
+    void testBookLookUpAndCancelReservation() throws Exception {
+        // Act
+        HttpResponse<String> booked = post("/reservations",
+                "payer=1&guest=John+Doe&hotel=Grand%20Hotel&kind=SINGLE&start=2024-06-01&end=2024-06-05&quantity=2");
+        int number = hotelChain.getReserverPayer(1).getReservation().getNumber();
+        HttpResponse<String> found = get("/reservations/" + number);
+        HttpResponse<String> history = get("/payers/1/reservations");
+        HttpResponse<String> full = get("/availability?kind=SINGLE&start=2024-06-03&end=2024-06-04");
+        HttpResponse<String> cancelled = send(HttpRequest.newBuilder(uri("/reservations/" + number)).DELETE());
+        HttpResponse<String> gone = get("/reservations/" + number);
+        HttpResponse<String> cancelledAgain = send(HttpRequest.newBuilder(uri("/reservations/" + number)).DELETE());
+
+        // Assert
+        String reservation = "{\"number\":" + number + ",\"reserverPayer\":1,\"hotel\":\"Grand Hotel\","
+                + "\"reservationDate\":\"" + hotelChain.getHotel("Grand Hotel").today() + "\","
+                + "\"startDate\":\"2024-06-01\",\"endDate\":\"2024-06-05\",\"rooms\":[101,102]}";
+        assertEquals(201, booked.statusCode());
+        assertEquals(reservation, booked.body());
+        assertEquals(200, found.statusCode());
+        assertEquals(reservation, found.body());
+        assertEquals("{\"reservations\":[" + reservation + "]}", history.body());
+        assertEquals("{\"availability\":[]}", full.body());
+        assertEquals(204, cancelled.statusCode());
+        assertEquals(404, gone.statusCode());
+        assertEquals(404, cancelledAgain.statusCode());
+        assertNull(hotelChain.getReservation(number));
+    }
+
+    @Test
+    void testCancelThatCannotBeLoggedAnswersServerError() throws Exception {
+        // Arrange
+        post("/reservations", "payer=1&guest=John+Doe&hotel=Grand+Hotel&kind=SINGLE&start=2024-06-01&end=2024-06-05");
+        int number = hotelChain.getReserverPayer(1).getReservation().getNumber();
+        WriteAheadLog log = WriteAheadLog.open(logDirectory);
+        hotelChain.setMutationLog(log);
+        log.close();
+
+        // Act
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/reservations/" + number)).DELETE());
+
+        // Assert
+        assertEquals(500, response.statusCode());
+        assertNotNull(hotelChain.getReservation(number));
+    }
+
+    @Test
+    void testCheckInAndOut() throws Exception {
+        // Act
+        HttpResponse<String> checkedIn = post("/checkin", "guest=John+Doe&hotel=Grand+Hotel&room=101");
+        HttpResponse<String> occupied = post("/checkin", "guest=John+Doe&hotel=Grand+Hotel&room=102");
+        HttpResponse<String> checkedOut = post("/checkout", "guest=John+Doe");
+        HttpResponse<String> again = post("/checkout", "guest=John+Doe");
+
+        // Assert
+        assertEquals(204, checkedIn.statusCode());
+        assertEquals(409, occupied.statusCode());
+        assertEquals(204, checkedOut.statusCode());
+        assertEquals(409, again.statusCode());
+    }
+
+    @Test
+    void testErrorsMapToStatusCodes() throws Exception {
+        // Act
+        HttpResponse<String> badDate = get("/availability?kind=SINGLE&start=June&end=2024-06-05");
+        HttpResponse<String> missing = get("/availability?kind=SINGLE&start=2024-06-01");
+        HttpResponse<String> unknown = get("/reservations/999");
+        HttpResponse<String> wrongMethod = post("/availability", "");
+        HttpResponse<String> noRooms = post("/reservations",
+                "payer=1&guest=John+Doe&hotel=Grand+Hotel&kind=SINGLE&start=2024-06-01&end=2024-06-05&quantity=3");
+        HttpResponse<String> noSuchPath = get("/reservationsX");
+
+        // Assert
+        assertEquals(400, badDate.statusCode());
+        assertEquals("{\"error\":\"Parameter start must be a date like 2024-06-01\"}", badDate.body());
+        assertEquals(400, missing.statusCode());
+        assertEquals("{\"error\":\"Missing parameter: end\"}", missing.body());
+        assertEquals(404, unknown.statusCode());
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals("GET", wrongMethod.headers().firstValue("Allow").orElse(""));
+        assertEquals(409, noRooms.statusCode());
+        assertEquals(404, noSuchPath.statusCode());
+    }
+
+    @Test
+    void testMetricsCountOperationsByOutcome() throws Exception {
+        // Arrange
+        post("/reservations", "payer=1&guest=John+Doe&hotel=Grand+Hotel&kind=SINGLE&start=2024-06-01&end=2024-06-05");
+        post("/reservations", "payer=1&guest=John+Doe&hotel=Grand+Hotel&kind=SINGLE&start=2024-06-01&end=2024-06-05"
+                + "&quantity=5");
+
+        // Act
+        HttpResponse<String> response = get("/metrics");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals("text/plain; version=0.0.4; charset=utf-8",
+                     response.headers().firstValue("Content-Type").orElse(""));
+        assertTrue(response.body().contains(
+                "hotel_chain_operations_total{operation=\"make_reservation\",outcome=\"success\"} 1\n"));
+        assertTrue(response.body().contains(
+                "hotel_chain_operations_total{operation=\"make_reservation\",outcome=\"no_availability\"} 1\n"));
+        assertTrue(response.body().contains("hotel_reservations_held{hotel=\"Grand Hotel\"} 1\n"));
+        assertEquals(405, post("/metrics", "").statusCode());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    private HttpResponse<String> post(String path, String form) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
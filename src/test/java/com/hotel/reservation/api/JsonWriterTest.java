@@ -0,0 +1,101 @@
+package com.hotel.reservation.api;
+
+import com.hotel.reservation.model.Date;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonWriterTest {
+
+    @Test
+    void testWritesNestedDocument() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject()
+                    .name("number").value(42)
+                    .name("negative").value(Long.MIN_VALUE)
+                    .name("active").value(true)
+                    .name("hotel").nullValue()
+                    .name("startDate").value(new Date(2024, 6, 1))
+                    .name("rooms").beginArray().value(101).value(102).beginArray().endArray().endArray()
+                    .name("empty").beginObject().endObject()
+                    .endObject();
+        }
+
+        // Assert
+        assertEquals("{\"number\":42,\"negative\":-9223372036854775808,\"active\":true,\"hotel\":null,"
+                + "\"startDate\":\"2024-06-01\",\"rooms\":[101,102,[]],\"empty\":{}}",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEscapesAndEncodesStrings() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String text = "quote \" backslash \\ tab \t newline \n bell \u0007 café 日本 😀";
+
+        // Act
+        try (JsonWriter json = new JsonWriter(out, 64)) {
+            json.beginArray().value(text).endArray();
+        }
+
+        // Assert
+        assertEquals("[\"quote \\\" backslash \\\\ tab \\t newline \\n bell \\u0007 café 日本 😀\"]",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWritesDecimals() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginArray().decimal(12345, 2).decimal(5, 2).decimal(-5, 2).decimal(-12305, 2).decimal(7, 0).endArray();
+        }
+
+        // Assert
+        assertEquals("[123.45,0.05,-0.05,-123.05,7]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testLongDocumentSpansManyBuffers() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder("[");
+
+        // Act
+        try (JsonWriter json = new JsonWriter(out, 64)) {
+            json.beginArray();
+            for (int i = 0; i < 1000; i++) {
+                json.value(i * 1_000_003L);
+                expected.append(i == 0 ? "" : ",").append(i * 1_000_003L);
+            }
+            json.endArray();
+        }
+
+        // Assert
+        assertEquals(expected.append(']').toString(), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRejectsMalformedDocuments() throws IOException {
+        // Arrange
+        JsonWriter json = new JsonWriter(new ByteArrayOutputStream());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> json.name("outside"));
+        json.beginObject();
+        assertThrows(IllegalStateException.class, () -> json.value(1));
+        assertThrows(IllegalStateException.class, json::endArray);
+        json.name("key");
+        assertThrows(IllegalStateException.class, json::endObject);
+    }
+}
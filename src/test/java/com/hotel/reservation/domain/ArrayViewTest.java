@@ -0,0 +1,83 @@
+package com.hotel.reservation.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayViewTest {
+
+    @Test
+    void testAppendLeavesEarlierViewsUnchanged() {
+        // Arrange
+        ArrayView<String> first = ArrayView.<String>empty().with("a").with("b");
+
+        // Act
+        ArrayView<String> second = first.with("c");
+
+        // Assert
+        assertEquals(List.of("a", "b"), first);
+        assertEquals(List.of("a", "b", "c"), second);
+    }
+
+    @Test
+    void testAppendToStaleViewDoesNotOverwriteNewerOne() {
+        // Arrange
+        ArrayView<String> base = ArrayView.<String>empty().with("a");
+        ArrayView<String> newer = base.with("b");
+
+        // Act
+        ArrayView<String> branch = base.with("x");
+
+        // Assert
+        assertEquals(List.of("a", "b"), newer);
+        assertEquals(List.of("a", "x"), branch);
+    }
+
+    @Test
+    void testWithoutRemovesFirstMatchOnly() {
+        // Arrange
+        ArrayView<String> view = ArrayView.<String>empty().with("a").with("b").with("a");
+
+        // Act
+        ArrayView<String> removed = view.without("a");
+        ArrayView<String> unchanged = view.without("z");
+
+        // Assert
+        assertEquals(List.of("b", "a"), removed);
+        assertEquals(List.of("a", "b", "a"), view);
+        assertSame(view, unchanged);
+        assertEquals(List.of("b", "a", "c"), removed.with("c"));
+    }
+
+    @Test
+    void testIsUnmodifiable() {
+        // Arrange
+        ArrayView<String> view = ArrayView.<String>empty().with("a");
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> view.add("b"));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove("a"));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(1));
+    }
+
+    @Test
+    void testForEachVisitsInOrder() {
+        // Arrange
+        ArrayView<Integer> view = ArrayView.empty();
+        for (int i = 0; i < 100; i++) {
+            view = view.with(i);
+        }
+        List<Integer> visited = new ArrayList<>();
+
+        // Act
+        view.forEach(visited::add);
+
+        // Assert
+        assertEquals(100, visited.size());
+        assertEquals(99, visited.get(99));
+        assertEquals(view, visited);
+    }
+}
@@ -0,0 +1,131 @@
+package com.hotel.reservation.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockLeasingReservationNumberAllocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSingleThreadNumbersAreSequential() {
+        // Arrange
+        BlockLeasingReservationNumberAllocator allocator = new BlockLeasingReservationNumberAllocator(null, 4);
+
+        // Act
+        int[] numbers = new int[10];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = allocator.allocate();
+        }
+
+        // Assert
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(i + 1, numbers[i]);
+        }
+    }
+
+    @Test
+    void testInvalidBlockSize() {
+        // Arrange, Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new BlockLeasingReservationNumberAllocator(null, 0));
+    }
+
+    @Test
+    void testNumbersStayUniqueAcrossRestarts() {
+        // Arrange
+        Path markFile = tempDir.resolve("reservation-numbers.hwm");
+        BlockLeasingReservationNumberAllocator first = new BlockLeasingReservationNumberAllocator(markFile, 8);
+        int highest = 0;
+        for (int i = 0; i < 100; i++) {
+            highest = Math.max(highest, first.allocate());
+        }
+
+        // Act
+        BlockLeasingReservationNumberAllocator restarted = new BlockLeasingReservationNumberAllocator(markFile, 8);
+
+        // Assert
+        assertTrue(restarted.allocate() > highest);
+    }
+
+    @Test
+    void testConcurrentAllocationNeverRepeatsANumber() throws Exception {
+        // Arrange
+        int threads = 16;
+        int perThread = 250_000;
+        BlockLeasingReservationNumberAllocator allocator =
+                new BlockLeasingReservationNumberAllocator(tempDir.resolve("stress.hwm"), 64);
+        int[][] results = new int[threads][perThread];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int[] out = results[t];
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        out[i] = allocator.allocate();
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        // Act
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Assert
+        assertTrue(failures.isEmpty(), () -> "Worker failed: " + failures);
+        int[] all = new int[threads * perThread];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(results[t], 0, all, t * perThread, perThread);
+        }
+        Arrays.sort(all);
+        assertTrue(all[0] > 0);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i], "duplicate reservation number");
+        }
+        assertTrue(new BlockLeasingReservationNumberAllocator(tempDir.resolve("stress.hwm"), 64).allocate()
+                   > all[all.length - 1]);
+    }
+
+    @Test
+    void testShortLivedThreadsDoNotBurnNumbers() throws Exception {
+        // Arrange
+        int allocations = 300;
+        int blockSize = 64;
+        BlockLeasingReservationNumberAllocator allocator =
+                new BlockLeasingReservationNumberAllocator(tempDir.resolve("short.hwm"), blockSize);
+        int[] numbers = new int[allocations];
+
+        // Act
+        for (int i = 0; i < allocations; i++) {
+            int allocation = i;
+            Thread request = new Thread(() -> numbers[allocation] = allocator.allocate());
+            request.start();
+            request.join();
+        }
+
+        // Assert
+        int highest = Arrays.stream(numbers).max().getAsInt();
+        assertEquals(allocations, Arrays.stream(numbers).distinct().count());
+        assertTrue(highest <= allocations + 64 * blockSize, () -> "highest number " + highest);
+    }
+}
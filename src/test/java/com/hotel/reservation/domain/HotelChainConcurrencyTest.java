@@ -0,0 +1,187 @@
+package com.hotel.reservation.domain;
+
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotelChainConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ROOMS = 20;
+
+    private HotelChain hotelChain;
+    private Hotel hotel;
+    private RoomType roomType;
+
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain();
+        hotel = new Hotel(new Name("Grand Hotel"));
+        hotelChain.addHotel(hotel);
+        roomType = new RoomType(RoomKind.SINGLE, new Money(100.0, "USD"), hotel);
+        hotel.addRoomType(roomType);
+        for (int number = 1; number <= ROOMS; number++) {
+            Room room = new Room(number, hotel, roomType);
+            hotel.addRoom(room);
+            roomType.addRoom(room);
+        }
+        hotelChain.addGuest(Guest.create(new Name("John Doe"),
+                                         new Address("123 Main St", "New York", "NY", "10001", "USA")));
+        for (int payer = 1; payer <= THREADS; payer++) {
+            hotelChain.createReserverPayer(new CreditCard("1234567890123456", "John Doe", "12/25", "123"),
+                                           new Identity("ID" + (10_000 + payer), Identity.IdentityType.PASSPORT),
+                                           payer);
+        }
+    }
+
+    @Test
+    void testSameWindowNeverOversells() throws Exception {
+        // Arrange
+        Date startDate = new Date(2024, 6, 1);
+        Date endDate = new Date(2024, 6, 5);
+        AtomicInteger successes = new AtomicInteger();
+
+        // Act
+        runConcurrently(thread -> {
+            for (int attempt = 0; attempt < 5; attempt++) {
+                try {
+                    hotelChain.makeReservation(thread + 1, "John Doe", "Grand Hotel",
+                                               RoomKind.SINGLE, startDate, endDate, 1);
+                    successes.incrementAndGet();
+                } catch (IllegalStateException expected) {
+                    // sold out
+                }
+            }
+        });
+
+        // Assert
+        assertEquals(ROOMS, successes.get());
+        assertFalse(hotel.available(RoomKind.SINGLE, startDate, endDate, 1));
+        assertEquals(ROOMS, roomType.getSoldCount(new Date(2024, 6, 3)));
+        assertEquals(roomType.getBookingRetryCount(), hotelChain.getOptimisticRetryCount());
+    }
+
+    @Test
+    void testShortLivedThreadsDoNotBurnReservationNumbers() throws Exception {
+        // Arrange
+        int bookings = 300;
+        LocalDate first = LocalDate.of(2024, 6, 1);
+        int[] numbers = new int[bookings];
+
+        // Act
+        for (int i = 0; i < bookings; i++) {
+            int booking = i;
+            Date startDate = new Date(first.plusDays(booking));
+            Date endDate = new Date(first.plusDays(booking + 1));
+            Thread request = new Thread(() -> numbers[booking] = hotelChain.makeReservation(
+                    1, "John Doe", "Grand Hotel", RoomKind.SINGLE, startDate, endDate, 1).getNumber());
+            request.start();
+            request.join();
+        }
+
+        // Assert
+        int highest = Arrays.stream(numbers).max().getAsInt();
+        assertTrue(Arrays.stream(numbers).allMatch(number -> number > 0));
+        // At most one partly used block per stripe, not one block per thread
+        assertTrue(highest <= bookings + 64 * BlockLeasingReservationNumberAllocator.DEFAULT_BLOCK_SIZE,
+                   () -> "highest reservation number " + highest);
+    }
+
+    @Test
+    void testRandomBookingsAndCancellationsKeepRoomsConsistent() throws Exception {
+        // Arrange
+        ConcurrentLinkedQueue<Reservation> held = new ConcurrentLinkedQueue<>();
+
+        // Act
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            List<Reservation> mine = new ArrayList<>();
+            for (int attempt = 0; attempt < 200; attempt++) {
+                if (!mine.isEmpty() && random.nextInt(4) == 0) {
+                    Reservation cancelled = mine.remove(random.nextInt(mine.size()));
+                    hotelChain.cancelReservation(cancelled.getNumber());
+                    continue;
+                }
+                int startDay = 1 + random.nextInt(25);
+                int nights = 1 + random.nextInt(4);
+                try {
+                    mine.add(hotelChain.makeReservation(thread + 1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                        new Date(2024, 7, startDay),
+                                                        new Date(2024, 7, startDay + nights), 1 + random.nextInt(2)));
+                } catch (IllegalStateException expected) {
+                    // no availability for this window
+                }
+            }
+            held.addAll(mine);
+        });
+
+        // Assert
+        for (Room room : hotel.getRooms()) {
+            List<Reservation> reservations = room.getReservations();
+            for (int i = 0; i < reservations.size(); i++) {
+                for (int j = i + 1; j < reservations.size(); j++) {
+                    Reservation a = reservations.get(i);
+                    Reservation b = reservations.get(j);
+                    assertTrue(a.getEndDate().isBefore(b.getStartDate()) || b.getEndDate().isBefore(a.getStartDate()),
+                               "room " + room.getNumber() + " double-booked");
+                }
+            }
+        }
+        for (int day = 1; day <= 31; day++) {
+            Date date = new Date(2024, 7, day);
+            long expected = held.stream()
+                    .filter(r -> !r.getStartDate().isAfter(date) && !r.getEndDate().isBefore(date))
+                    .mapToLong(r -> r.getRooms().size())
+                    .sum();
+            assertEquals(expected, roomType.getSoldCount(date), "sold count for " + date);
+        }
+    }
+
+    private void runConcurrently(ThreadBody body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    body.run(thread);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertTrue(failures.isEmpty(), () -> "Worker failed: " + failures);
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+}
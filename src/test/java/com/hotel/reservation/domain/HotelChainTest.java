@@ -1,6 +1,7 @@
 package com.hotel.reservation.domain;
 
 import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.BusinessClock;
 import com.hotel.reservation.model.CreditCard;
 import com.hotel.reservation.model.Date;
 import com.hotel.reservation.model.Identity;
@@ -10,6 +11,17 @@ import com.hotel.reservation.model.RoomKind;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class HotelChainTest {
@@ -75,6 +87,7 @@ class HotelChainTest {
         assertNotNull(reservation);
         assertEquals(reserverPayer, reservation.getReserverPayer());
         assertFalse(reservation.getRooms().isEmpty());
+        assertEquals(0, hotelChain.getOptimisticRetryCount());
     }
 
     @Test
@@ -105,6 +118,73 @@ class HotelChainTest {
         assertNull(reserverPayer.getReservation());
     }
 
+    @Test
+    void testCancelUnknownReservation() {
+        // Arrange, Act & Assert
+        assertThrows(IllegalStateException.class, () -> hotelChain.cancelReservation(424242));
+    }
+
+    @Test
+    void testCancelEarlierReservationKeepsLatestPayerLink() {
+        // Arrange
+        Reservation first = hotelChain.makeReservation(1, "John Doe", "Grand Hotel",
+                                                       RoomKind.SINGLE, new Date(2024, 6, 1), new Date(2024, 6, 5), 1);
+        Reservation second = hotelChain.makeReservation(1, "John Doe", "Grand Hotel",
+                                                        RoomKind.SINGLE, new Date(2024, 7, 1), new Date(2024, 7, 5), 1);
+
+        // Act
+        hotelChain.cancelReservation(first.getNumber());
+
+        // Assert
+        assertNotEquals(first.getNumber(), second.getNumber());
+        assertEquals(second, reserverPayer.getReservation());
+        assertFalse(room.isReservedBetween(new Date(2024, 6, 1), new Date(2024, 6, 5)));
+        assertThrows(IllegalStateException.class, () -> hotelChain.cancelReservation(first.getNumber()));
+    }
+
+    @Test
+    void testReservationNumbersComeFromAllocator() {
+        // Arrange
+        HotelChain chain = new HotelChain(() -> 5000);
+        Hotel otherHotel = new Hotel(new Name("Other Hotel"));
+        chain.addHotel(otherHotel);
+        RoomType otherType = new RoomType(RoomKind.SINGLE, new Money(100.0, "USD"), otherHotel);
+        otherHotel.addRoomType(otherType);
+        Room otherRoom = new Room(1, otherHotel, otherType);
+        otherHotel.addRoom(otherRoom);
+        otherType.addRoom(otherRoom);
+        chain.addGuest(guest);
+        chain.createReserverPayer(reserverPayer.getCreditCardDetails(), reserverPayer.getId(), 1);
+
+        // Act
+        Reservation reservation = chain.makeReservation(1, "John Doe", "Other Hotel",
+                                                        RoomKind.SINGLE, new Date(2024, 6, 1), new Date(2024, 6, 5), 1);
+
+        // Assert
+        assertEquals(5000, reservation.getNumber());
+    }
+
+    @Test
+    void testReservationLoaderRestoresAndReleasesLocksOnClose() {
+        // Arrange
+        Date startDate = new Date(2024, 6, 1);
+        Date endDate = new Date(2024, 6, 5);
+
+        // Act
+        Reservation restored;
+        try (ReservationLoader loader = hotelChain.openReservationLoader()) {
+            restored = loader.restore(7, 1, "Grand Hotel", new Date(2024, 5, 1), startDate, endDate, 1,
+                                      new int[] {101});
+        }
+        Reservation later = hotelChain.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                       new Date(2024, 7, 1), new Date(2024, 7, 5), 1);
+
+        // Assert
+        assertTrue(room.getReservations().contains(restored));
+        assertTrue(room.isReservedBetween(startDate, endDate));
+        assertNotEquals(7, later.getNumber());
+    }
+
     @Test
     void testCheckinGuest() {
         // Arrange
@@ -137,4 +217,350 @@ class HotelChainTest {
         assertFalse(guest.isCheckedIn());
         assertFalse(room.isOccupied());
     }
+
+    private Hotel addHotel(String name, RoomKind kind, double cost, int rooms) {
+        Hotel added = new Hotel(new Name(name));
+        hotelChain.addHotel(added);
+        RoomType type = new RoomType(kind, new Money(cost, "USD"), added);
+        added.addRoomType(type);
+        for (int number = 1; number <= rooms; number++) {
+            Room newRoom = new Room(number, added, type);
+            added.addRoom(newRoom);
+            type.addRoom(newRoom);
+        }
+        return added;
+    }
+
+    @Test
+    void testSearchAvailabilityAcrossHotels() {
+        // Arrange
+        addHotel("Harbour Hotel", RoomKind.SINGLE, 80.0, 3);
+        addHotel("Hill Hotel", RoomKind.SINGLE, 120.0, 1);
+        addHotel("Suite Hotel", RoomKind.SUITE, 300.0, 5);
+        hotelChain.makeReservation(1, "John Doe", "Hill Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 1);
+
+        // Act
+        List<HotelAvailability> matches = hotelChain.searchAvailability(RoomKind.SINGLE,
+                new Date(2024, 6, 2), new Date(2024, 6, 3), 1, availability -> true)
+                .sorted(Comparator.comparing(availability -> availability.getHotel().getName().getValue()))
+                .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(2, matches.size());
+        assertEquals("Grand Hotel", matches.get(0).getHotel().getName().getValue());
+        assertEquals(1, matches.get(0).getAvailableRooms());
+        assertEquals(3, matches.get(1).getAvailableRooms());
+        assertEquals(new Money(80.0, "USD"), matches.get(1).getCost());
+        assertEquals(RoomKind.SINGLE, matches.get(1).getKind());
+    }
+
+    @Test
+    void testSearchAvailabilityAppliesFilterAndQuantity() {
+        // Arrange
+        addHotel("Harbour Hotel", RoomKind.SINGLE, 80.0, 3);
+        addHotel("Hill Hotel", RoomKind.SINGLE, 120.0, 4);
+
+        // Act
+        List<HotelAvailability> cheap = hotelChain.searchAvailability(RoomKind.SINGLE,
+                new Date(2024, 6, 2), new Date(2024, 6, 3), 2,
+                availability -> availability.getCost().getAmount().compareTo(BigDecimal.valueOf(100)) < 0)
+                .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(1, cheap.size());
+        assertEquals("Harbour Hotel", cheap.get(0).getHotel().getName().getValue());
+    }
+
+    @Test
+    void testSearchAvailabilityStopsAtLimit() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            addHotel("Hotel " + (char) ('A' + i), RoomKind.SINGLE, 100.0, 2);
+        }
+
+        // Act
+        List<HotelAvailability> firstThree = hotelChain.searchAvailability(RoomKind.SINGLE,
+                new Date(2024, 6, 2), new Date(2024, 6, 3), 1, availability -> true, 3);
+
+        // Assert
+        assertEquals(3, firstThree.size());
+        assertThrows(IllegalArgumentException.class, () -> hotelChain.searchAvailability(RoomKind.SINGLE,
+                new Date(2024, 6, 2), new Date(2024, 6, 3), 1, availability -> true, 0));
+        assertThrows(IllegalArgumentException.class, () -> hotelChain.searchAvailability(RoomKind.SINGLE,
+                new Date(2024, 6, 3), new Date(2024, 6, 2), 1, availability -> true));
+    }
+
+    @Test
+    void testMakeReservationsBooksWholeBatch() {
+        // Arrange
+        addHotel("Harbour Hotel", RoomKind.SINGLE, 80.0, 3);
+        List<BookingRequest> requests = List.of(
+                new BookingRequest(1, "John Doe", "Harbour Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 2),
+                new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 1),
+                new BookingRequest(1, "John Doe", "Harbour Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 1));
+
+        // Act
+        List<Reservation> reservations = hotelChain.makeReservations(requests);
+
+        // Assert
+        assertEquals(3, reservations.size());
+        assertEquals("Harbour Hotel", reservations.get(0).getRooms().get(0).getHotel().getName().getValue());
+        assertEquals("Grand Hotel", reservations.get(1).getRooms().get(0).getHotel().getName().getValue());
+        assertEquals(2, reservations.get(0).getRooms().size());
+        assertFalse(reservations.get(0).getRooms().contains(reservations.get(2).getRooms().get(0)));
+        assertEquals(reservations.get(2), reserverPayer.getReservation());
+        assertEquals(3, hotelChain.getHotel("Harbour Hotel").findRoomType(RoomKind.SINGLE)
+                .getSoldCount(new Date(2024, 6, 3)));
+        assertFalse(hotelChain.getHotel("Harbour Hotel")
+                .available(RoomKind.SINGLE, new Date(2024, 6, 2), new Date(2024, 6, 3), 1));
+    }
+
+    @Test
+    void testMakeReservationsIsAllOrNothing() {
+        // Arrange
+        addHotel("Harbour Hotel", RoomKind.SINGLE, 80.0, 2);
+        Reservation earlier = hotelChain.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                         new Date(2024, 5, 1), new Date(2024, 5, 3), 1);
+        List<BookingRequest> requests = List.of(
+                new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 1),
+                new BookingRequest(1, "John Doe", "Harbour Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 2),
+                new BookingRequest(1, "John Doe", "Harbour Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 4), new Date(2024, 6, 6), 1));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> hotelChain.makeReservations(requests));
+        assertEquals(List.of(earlier), hotelChain.getAllReservations());
+        assertEquals(earlier, reserverPayer.getReservation());
+        assertEquals(0, hotelChain.getHotel("Harbour Hotel").findRoomType(RoomKind.SINGLE)
+                .getSoldCount(new Date(2024, 6, 2)));
+        assertTrue(hotelChain.getHotel("Grand Hotel")
+                .available(RoomKind.SINGLE, new Date(2024, 6, 1), new Date(2024, 6, 5), 1));
+    }
+
+    @Test
+    void testMakeReservationsRejectsInvalidRequestBeforeBooking() {
+        // Arrange
+        List<BookingRequest> requests = List.of(
+                new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 1),
+                new BookingRequest(1, "John Doe", "Unknown Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 1));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> hotelChain.makeReservations(requests));
+        assertTrue(hotelChain.getAllReservations().isEmpty());
+        assertTrue(hotelChain.makeReservations(List.of()).isEmpty());
+    }
+
+    @Test
+    void testPayerKeepsEveryReservation() {
+        // Arrange
+        Reservation july = hotelChain.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                      new Date(2024, 7, 1), new Date(2024, 7, 5), 1);
+        Reservation june = hotelChain.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                      new Date(2024, 6, 1), new Date(2024, 6, 5), 1);
+
+        // Act
+        List<Reservation> all = hotelChain.getAllReservations();
+
+        // Assert
+        assertEquals(List.of(june, july), all);
+        assertEquals(june, reserverPayer.getReservation());
+
+        // Act
+        hotelChain.cancelReservation(june.getNumber());
+
+        // Assert
+        assertEquals(List.of(july), hotelChain.getAllReservations());
+        assertNull(reserverPayer.getReservation());
+        assertEquals(1, reserverPayer.getReservationCount());
+    }
+
+    private List<Reservation> bookMixedReservations() {
+        addHotel("Harbour Hotel", RoomKind.SINGLE, 80.0, 4);
+        RoomType doubles = new RoomType(RoomKind.DOUBLE, new Money(150.0, "USD"), hotel);
+        hotel.addRoomType(doubles);
+        for (int number = 201; number <= 203; number++) {
+            Room newRoom = new Room(number, hotel, doubles);
+            hotel.addRoom(newRoom);
+            doubles.addRoom(newRoom);
+        }
+        hotelChain.createReserverPayer(new CreditCard("9876543210987654", "Jane Smith", "06/26", "456"),
+                                       new Identity("ID456", Identity.IdentityType.NATIONAL_ID), 2);
+        Random random = new Random(7);
+        List<Reservation> booked = new ArrayList<>();
+        String[] hotelNames = {"Grand Hotel", "Harbour Hotel"};
+        for (int i = 0; i < 60; i++) {
+            String hotelName = hotelNames[random.nextInt(2)];
+            RoomKind kind = hotelName.equals("Grand Hotel") && random.nextBoolean() ? RoomKind.DOUBLE : RoomKind.SINGLE;
+            Date start = new Date(java.time.LocalDate.of(2024, 1, 1).plusDays(random.nextInt(120)));
+            Date end = new Date(start.getLocalDate().plusDays(1 + random.nextInt(6)));
+            try {
+                booked.add(hotelChain.makeReservation(1 + random.nextInt(2), "John Doe", hotelName, kind, start, end, 1));
+            } catch (IllegalStateException e) {
+                // Fully booked for those dates
+            }
+        }
+        return booked;
+    }
+
+    private static List<Reservation> inStartOrder(List<Reservation> reservations) {
+        return reservations.stream()
+                .sorted(Comparator.comparing((Reservation r) -> r.getStartDate().getLocalDate())
+                        .thenComparingInt(Reservation::getNumber))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testStreamReservationsMatchesFilteredList() {
+        // Arrange
+        List<Reservation> booked = bookMixedReservations();
+        Date from = new Date(2024, 2, 1);
+        Date to = new Date(2024, 2, 20);
+        List<ReservationQuery> queries = List.of(
+                ReservationQuery.all(),
+                ReservationQuery.all().overlapping(from, to),
+                ReservationQuery.all().forHotel("Grand Hotel"),
+                ReservationQuery.all().forHotel("Grand Hotel").ofKind(RoomKind.DOUBLE).overlapping(from, to),
+                ReservationQuery.all().ofKind(RoomKind.SINGLE),
+                ReservationQuery.all().forReserverPayer(2).overlapping(from, to),
+                ReservationQuery.all().forReserverPayer(1).forHotel("Harbour Hotel"),
+                ReservationQuery.all().forHotel("Unknown Hotel"));
+
+        for (ReservationQuery query : queries) {
+            // Act
+            List<Reservation> streamed = hotelChain.streamReservations(query).collect(Collectors.toList());
+
+            // Assert
+            List<Reservation> expected = inStartOrder(booked.stream().filter(query::matches).collect(Collectors.toList()));
+            assertEquals(expected, streamed, query.toString());
+        }
+        assertEquals(booked.size(), hotelChain.streamReservations(ReservationQuery.all()).count());
+    }
+
+    @Test
+    void testPagesResumeFromContinuationToken() {
+        // Arrange
+        bookMixedReservations();
+        ReservationQuery query = ReservationQuery.all().forHotel("Grand Hotel");
+        List<Reservation> expected = hotelChain.streamReservations(query).collect(Collectors.toList());
+
+        // Act
+        List<Reservation> paged = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            ReservationPage page = hotelChain.getReservations(query, token, 4);
+            assertTrue(page.getReservations().size() <= 4);
+            paged.addAll(page.getReservations());
+            token = page.getContinuationToken();
+            pages++;
+        } while (token != null);
+
+        // Assert
+        assertEquals(expected, paged);
+        assertEquals((expected.size() + 3) / 4, Math.max(pages, 1));
+        assertThrows(IllegalArgumentException.class, () -> hotelChain.getReservations(query, "not a token!", 4));
+        assertThrows(IllegalArgumentException.class, () -> hotelChain.getReservations(query, null, 0));
+    }
+
+    @Test
+    void testPagingSkipsReservationCancelledBetweenPages() {
+        // Arrange
+        List<Reservation> booked = bookMixedReservations();
+        ReservationQuery query = ReservationQuery.all();
+        ReservationPage first = hotelChain.getReservations(query, null, 5);
+        List<Reservation> rest = hotelChain.streamReservations(query).skip(5).collect(Collectors.toList());
+
+        // Act
+        hotelChain.cancelReservation(rest.get(0).getNumber());
+        ReservationPage second = hotelChain.getReservations(query, first.getContinuationToken(), 5);
+
+        // Assert
+        assertTrue(booked.size() > 10);
+        assertEquals(rest.subList(1, 6), second.getReservations());
+    }
+
+    @Test
+    void testReservationDatedByChainClockInHotelZone() {
+        // Arrange: 16:30 UTC on 1 June is already 2 June in Tokyo
+        BusinessClock clock = new BusinessClock(Clock.fixed(Instant.parse("2024-06-01T16:30:00Z"), ZoneOffset.UTC));
+        HotelChain chain = new HotelChain(new BlockLeasingReservationNumberAllocator(), clock);
+        Hotel tokyo = new Hotel(new Name("Tokyo Hotel"), ZoneId.of("Asia/Tokyo"));
+        chain.addHotel(tokyo);
+        RoomType single = new RoomType(RoomKind.SINGLE, new Money(100.0, "USD"), tokyo);
+        tokyo.addRoomType(single);
+        Room tokyoRoom = new Room(1, tokyo, single);
+        tokyo.addRoom(tokyoRoom);
+        single.addRoom(tokyoRoom);
+        chain.addGuest(guest);
+        chain.createReserverPayer(new CreditCard("1234567890123456", "John Doe", "12/25", "123"),
+                                  new Identity("ID123", Identity.IdentityType.PASSPORT), 1);
+
+        // Act
+        Reservation reservation = chain.makeReservation(1, "John Doe", "Tokyo Hotel", RoomKind.SINGLE,
+                                                        new Date(2024, 6, 2), new Date(2024, 6, 4), 1);
+
+        // Assert
+        assertEquals(new Date(2024, 6, 2), reservation.getReservationDate());
+        assertTrue(reservation.isActive());
+        assertEquals(new Date(2024, 6, 1), clock.today());
+    }
+
+    @Test
+    void testListenerHearsOutcomesAndHotelCountsHeldReservations() {
+        // Arrange
+        List<String> heard = new ArrayList<>();
+        hotelChain.setOperationListener((operation, outcome, elapsedNanos) -> heard.add(operation + " " + outcome));
+        Date startDate = new Date(2024, 6, 1);
+        Date endDate = new Date(2024, 6, 5);
+
+        // Act
+        Reservation reservation = hotelChain.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                             startDate, endDate, 1);
+        long heldAfterBooking = hotel.getHeldReservationCount();
+        assertThrows(IllegalStateException.class, () -> hotelChain.makeReservation(1, "John Doe", "Grand Hotel",
+                RoomKind.SINGLE, startDate, endDate, 1));
+        hotelChain.checkinGuest("John Doe", 101, "Grand Hotel");
+        int occupied = hotel.getOccupiedRoomCount();
+        hotelChain.cancelReservation(reservation.getNumber());
+
+        // Assert
+        assertEquals(List.of("MAKE_RESERVATION SUCCESS", "MAKE_RESERVATION NO_AVAILABILITY", "CHECK_IN SUCCESS",
+                             "CANCEL_RESERVATION SUCCESS"), heard);
+        assertEquals(1, heldAfterBooking);
+        assertEquals(1, occupied);
+        assertEquals(0, hotel.getHeldReservationCount());
+        assertThrows(IllegalArgumentException.class, () -> hotelChain.setOperationListener(null));
+    }
+
+    @Test
+    void testBatchValidatesLikeSingleBookingAndReportsOutcomes() {
+        // Arrange
+        List<String> heard = new ArrayList<>();
+        hotelChain.setOperationListener((operation, outcome, elapsedNanos) -> heard.add(operation + " " + outcome));
+        Date day = new Date(2024, 6, 1);
+        Date nextDay = new Date(2024, 6, 2);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> hotelChain.makeReservation(1, "John Doe", "Grand Hotel",
+                RoomKind.SINGLE, day, day, 1));
+        assertThrows(IllegalStateException.class, () -> hotelChain.makeReservations(List.of(
+                new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.SINGLE, day, day, 1))));
+        assertThrows(IllegalStateException.class, () -> hotelChain.makeReservations(List.of(
+                new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.SINGLE, day, nextDay, 100))));
+        hotelChain.makeReservations(List.of(
+                new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.SINGLE, day, nextDay, 1)));
+
+        // Assert
+        assertEquals(List.of("MAKE_RESERVATION VALIDATION_FAILURE", "MAKE_RESERVATIONS VALIDATION_FAILURE",
+                             "MAKE_RESERVATIONS NO_AVAILABILITY", "MAKE_RESERVATIONS SUCCESS"), heard);
+        assertEquals(1, hotel.getHeldReservationCount());
+    }
 }
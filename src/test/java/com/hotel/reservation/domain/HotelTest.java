@@ -1,5 +1,6 @@
 package com.hotel.reservation.domain;
 
+import com.hotel.reservation.model.Address;
 import com.hotel.reservation.model.CreditCard;
 import com.hotel.reservation.model.Date;
 import com.hotel.reservation.model.Identity;
@@ -9,6 +10,8 @@ import com.hotel.reservation.model.RoomKind;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class HotelTest {
@@ -71,6 +74,22 @@ class HotelTest {
         assertFalse(available);
     }
 
+    @Test
+    void testNotAvailableWhenRoomReservedForOverlappingDates() {
+        // Arrange
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        Identity identity = new Identity("ID123", Identity.IdentityType.PASSPORT);
+        ReserverPayer payer = ReserverPayer.create(creditCard, identity, 1);
+        Reservation reservation = hotel.createReservation(new Date(2024, 1, 1), new Date(2024, 6, 1),
+                                                          new Date(2024, 6, 5), 1001, payer);
+        reservation.addRoom(room);
+
+        // Act & Assert
+        assertFalse(hotel.available(RoomKind.SINGLE, new Date(2024, 6, 3), new Date(2024, 6, 10), 1));
+        assertTrue(hotel.available(RoomKind.SINGLE, new Date(2024, 6, 6), new Date(2024, 6, 10), 1));
+        assertTrue(hotel.findAvailableRooms(RoomKind.SINGLE, new Date(2024, 5, 1), new Date(2024, 6, 1), 1).isEmpty());
+    }
+
     @Test
     void testCreateReservation() {
         // Arrange
@@ -88,4 +107,75 @@ class HotelTest {
         assertNotNull(reservation);
         assertEquals(payer, reservation.getReserverPayer());
     }
+
+    @Test
+    void testFindRoom() {
+        // Arrange
+        Room other = new Room(202, hotel, roomType);
+        hotel.addRoom(other);
+
+        // Act & Assert
+        assertSame(room, hotel.findRoom(101));
+        assertSame(other, hotel.findRoom(202));
+        assertNull(hotel.findRoom(303));
+    }
+
+    @Test
+    void testAddRoomIgnoresDuplicateNumber() {
+        // Arrange
+        Room duplicate = new Room(101, hotel, roomType);
+
+        // Act
+        hotel.addRoom(duplicate);
+
+        // Assert
+        assertEquals(1, hotel.getRooms().size());
+        assertSame(room, hotel.findRoom(101));
+    }
+
+    @Test
+    void testGetRoomsIsUnmodifiableSnapshot() {
+        // Arrange
+        List<Room> before = hotel.getRooms();
+
+        // Act
+        hotel.addRoom(new Room(202, hotel, roomType));
+
+        // Assert
+        assertEquals(1, before.size());
+        assertEquals(2, hotel.getRooms().size());
+        assertSame(hotel.getRooms(), hotel.getRooms());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(room));
+    }
+
+    @Test
+    void testSecondRoomTypeOfSameKindRejected() {
+        // Arrange
+        RoomType sameType = new RoomType(RoomKind.SINGLE, new Money(100.0, "USD"), hotel);
+        RoomType otherHotelsType = new RoomType(RoomKind.SINGLE, new Money(90.0, "USD"),
+                                                new Hotel(new Name("Other Hotel")));
+
+        // Act
+        hotel.addRoomType(sameType);
+
+        // Assert
+        assertEquals(1, hotel.getRoomTypes().size());
+        assertThrows(IllegalArgumentException.class, () -> hotel.addRoomType(otherHotelsType));
+    }
+
+    @Test
+    void testAvailableWithNoSalesCountsOnlyUnoccupiedRooms() {
+        // Arrange
+        hotel.addRoom(new Room(102, hotel, roomType));
+        roomType.addRoom(hotel.findRoom(102));
+        room.setOccupant(Guest.create(new Name("John Doe"),
+                                      new Address("123 Main St", "New York", "NY", "10001", "USA")));
+
+        // Act & Assert
+        assertTrue(hotel.available(RoomKind.SINGLE, new Date(2024, 6, 1), new Date(2024, 6, 5), 1));
+        assertFalse(hotel.available(RoomKind.SINGLE, new Date(2024, 6, 1), new Date(2024, 6, 5), 2));
+        assertEquals(1, hotel.summarize(RoomKind.SINGLE, new Date(2024, 6, 1)).getOccupiedRooms());
+        assertEquals(1, hotel.summarize(new Date(2024, 6, 1)).size());
+        assertNull(hotel.summarize(RoomKind.DOUBLE, new Date(2024, 6, 1)));
+    }
 }
@@ -0,0 +1,69 @@
+package com.hotel.reservation.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntHashMapTest {
+
+    private IntHashMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new IntHashMap<>();
+    }
+
+    @Test
+    void testPutGetAndRemove() {
+        // Arrange
+        map.put(7, "seven");
+        map.put(-3, "minus three");
+
+        // Act
+        String previous = map.put(7, "SEVEN");
+        String removed = map.remove(-3);
+
+        // Assert
+        assertEquals("seven", previous);
+        assertEquals("minus three", removed);
+        assertEquals("SEVEN", map.get(7));
+        assertNull(map.get(-3));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testNullValueRejected() {
+        // Arrange, Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        // Arrange
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(expected.size(), map.values().size());
+    }
+}
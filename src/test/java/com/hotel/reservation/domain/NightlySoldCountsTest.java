@@ -0,0 +1,68 @@
+package com.hotel.reservation.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NightlySoldCountsTest {
+
+    private NightlySoldCounts counts;
+
+    @BeforeEach
+    void setUp() {
+        counts = new NightlySoldCounts();
+    }
+
+    @Test
+    void testEmptyCountsAreZero() {
+        // Arrange, Act & Assert
+        assertEquals(0, counts.max(19_000, 19_100));
+    }
+
+    @Test
+    void testIncrementAndMax() {
+        // Arrange
+        counts.increment(19_875, 19_879);
+        counts.increment(19_878, 19_882);
+
+        // Act & Assert
+        assertEquals(1, counts.get(19_875));
+        assertEquals(2, counts.get(19_878));
+        assertEquals(2, counts.max(19_870, 19_890));
+        assertEquals(1, counts.max(19_880, 19_890));
+        assertEquals(0, counts.max(19_883, 19_890));
+    }
+
+    @Test
+    void testGrowsInBothDirections() {
+        // Arrange
+        counts.increment(20_000, 20_002);
+
+        // Act
+        counts.increment(10_000, 10_001);
+        counts.increment(30_000, 30_001);
+
+        // Assert
+        assertEquals(1, counts.get(20_001));
+        assertEquals(1, counts.get(10_000));
+        assertEquals(1, counts.get(30_001));
+        assertEquals(0, counts.max(10_002, 19_999));
+    }
+
+    @Test
+    void testDecrementBelowZeroThrowsAndChangesNothing() {
+        // Arrange
+        counts.increment(19_875, 19_876);
+
+        // Act
+        counts.decrement(19_875, 19_876);
+        counts.increment(19_875, 19_875);
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> counts.decrement(19_875, 19_876));
+        assertThrows(IllegalStateException.class, () -> counts.decrement(19_870, 19_875));
+        assertEquals(1, counts.get(19_875));
+        assertEquals(0, counts.get(19_876));
+    }
+}
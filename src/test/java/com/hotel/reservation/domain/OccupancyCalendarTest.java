@@ -0,0 +1,124 @@
+package com.hotel.reservation.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyCalendarTest {
+
+    private OccupancyCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new OccupancyCalendar();
+    }
+
+    @Test
+    void testEmptyCalendarIsFree() {
+        // Arrange, Act & Assert
+        assertTrue(calendar.isFree(19_000, 19_500));
+    }
+
+    @Test
+    void testMarkedRangeIsNotFree() {
+        // Arrange
+        calendar.mark(19_875, 19_879);
+
+        // Act & Assert
+        assertFalse(calendar.isFree(19_870, 19_875));
+        assertFalse(calendar.isFree(19_879, 19_890));
+        assertTrue(calendar.isFree(19_870, 19_874));
+        assertTrue(calendar.isFree(19_880, 19_890));
+    }
+
+    @Test
+    void testRangeSpanningSegmentsAndWords() {
+        // Arrange
+        long start = OccupancyCalendar.SEGMENT_DAYS * 50L - 70;
+        long end = start + 200;
+
+        // Act
+        calendar.mark(start, end);
+
+        // Assert
+        for (long day = start; day <= end; day++) {
+            assertTrue(calendar.isBooked(day));
+        }
+        assertFalse(calendar.isBooked(start - 1));
+        assertFalse(calendar.isBooked(end + 1));
+    }
+
+    @Test
+    void testGrowsBackwardsAndForwards() {
+        // Arrange
+        calendar.mark(20_000, 20_001);
+
+        // Act
+        calendar.mark(15_000, 15_002);
+        calendar.mark(25_000, 25_003);
+
+        // Assert
+        assertTrue(calendar.isBooked(20_001));
+        assertTrue(calendar.isBooked(15_000));
+        assertTrue(calendar.isBooked(25_003));
+        assertTrue(calendar.isFree(15_003, 19_999));
+    }
+
+    @Test
+    void testClearFreesOnlyRequestedDays() {
+        // Arrange
+        calendar.mark(19_875, 19_885);
+
+        // Act
+        calendar.clear(19_878, 19_880);
+
+        // Assert
+        assertTrue(calendar.isFree(19_878, 19_880));
+        assertTrue(calendar.isBooked(19_877));
+        assertTrue(calendar.isBooked(19_881));
+    }
+
+    @Test
+    void testNegativeEpochDays() {
+        // Arrange
+        calendar.mark(-10, 5);
+
+        // Act & Assert
+        assertFalse(calendar.isFree(-20, -10));
+        assertTrue(calendar.isFree(-20, -11));
+        assertTrue(calendar.isFree(6, 100));
+    }
+
+    @Test
+    void testInvertedRangeRejected() {
+        // Arrange, Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> calendar.mark(10, 5));
+    }
+
+    @Test
+    void testNextFreeRunSkipsBookedDays() {
+        // Arrange
+        calendar.mark(19_875, 19_879);
+        calendar.mark(19_882, 19_890);
+
+        // Act & Assert
+        assertEquals(19_870, calendar.nextFreeRun(19_870, 3));
+        assertEquals(19_880, calendar.nextFreeRun(19_876, 2));
+        assertEquals(19_891, calendar.nextFreeRun(19_876, 3));
+        assertEquals(10_000, calendar.nextFreeRun(10_000, 400));
+        assertEquals(30_000, calendar.nextFreeRun(30_000, 1));
+    }
+
+    @Test
+    void testNextFreeRunAcrossWordsAndSegments() {
+        // Arrange
+        long start = OccupancyCalendar.SEGMENT_DAYS * 50L - 70;
+        calendar.mark(start, start + 500);
+
+        // Act & Assert
+        assertEquals(start + 501, calendar.nextFreeRun(start, 1));
+        assertEquals(start - 10, calendar.nextFreeRun(start - 10, 10));
+        assertEquals(start + 501, calendar.nextFreeRun(start - 10, 11));
+    }
+}
@@ -0,0 +1,130 @@
+package com.hotel.reservation.domain;
+
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationIntervalTreeTest {
+
+    private ReservationIntervalTree tree;
+    private ReserverPayer payer;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        tree = new ReservationIntervalTree();
+        Hotel hotel = new Hotel(new Name("Grand Hotel"));
+        RoomType roomType = new RoomType(RoomKind.SINGLE, new Money(100.0, "USD"), hotel);
+        room = new Room(101, hotel, roomType);
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        payer = ReserverPayer.create(creditCard, new Identity("ID123", Identity.IdentityType.PASSPORT), 1);
+    }
+
+    private Reservation reservation(int number, long startDay, long endDay) {
+        return Reservation.create(new Date(2024, 1, 1), Date.ofEpochDay(startDay), Date.ofEpochDay(endDay),
+                                  number, payer);
+    }
+
+    private List<Reservation> overlapping(long fromDay, long toDay) {
+        List<Reservation> found = new ArrayList<>();
+        tree.forEachOverlapping(fromDay, toDay, (reservation, bookedRoom) -> found.add(reservation));
+        return found;
+    }
+
+    @Test
+    void testEmptyTreeFindsNothing() {
+        // Arrange, Act & Assert
+        assertEquals(0, tree.size());
+        assertTrue(overlapping(0, 100_000).isEmpty());
+    }
+
+    @Test
+    void testInsertIgnoresDuplicatesAndRemoveReportsPresence() {
+        // Arrange
+        Reservation reservation = reservation(1, 20_000, 20_003);
+
+        // Act
+        tree.insert(reservation, room);
+        tree.insert(reservation, room);
+
+        // Assert
+        assertEquals(1, tree.size());
+        assertTrue(tree.remove(reservation, room));
+        assertFalse(tree.remove(reservation, room));
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    void testOverlapBoundsAreInclusive() {
+        // Arrange
+        Reservation reservation = reservation(1, 20_000, 20_003);
+        tree.insert(reservation, room);
+
+        // Act & Assert
+        assertEquals(List.of(reservation), overlapping(20_003, 20_010));
+        assertEquals(List.of(reservation), overlapping(19_990, 20_000));
+        assertTrue(overlapping(20_004, 20_010).isEmpty());
+        assertTrue(overlapping(19_990, 19_999).isEmpty());
+    }
+
+    @Test
+    void testQueriesMatchBruteForceUnderInsertsAndRemoves() {
+        // Arrange
+        Random random = new Random(42);
+        List<Reservation> present = new ArrayList<>();
+        int nextNumber = 1;
+
+        for (int step = 0; step < 3_000; step++) {
+            // Act
+            if (present.isEmpty() || random.nextInt(3) > 0) {
+                long start = 20_000 + random.nextInt(2_000);
+                Reservation added = reservation(nextNumber++, start, start + 1 + random.nextInt(30));
+                tree.insert(added, room);
+                present.add(added);
+            } else {
+                Reservation removed = present.remove(random.nextInt(present.size()));
+                assertTrue(tree.remove(removed, room));
+            }
+
+            // Assert
+            if (step % 50 == 0) {
+                long from = 19_990 + random.nextInt(2_050);
+                long to = from + random.nextInt(60);
+                List<Reservation> expected = new ArrayList<>();
+                List<Reservation> expectedEnding = new ArrayList<>();
+                for (Reservation candidate : present) {
+                    long start = candidate.getStartDate().toEpochDay();
+                    long end = candidate.getEndDate().toEpochDay();
+                    if (start <= to && end >= from) {
+                        expected.add(candidate);
+                        if (end <= to) {
+                            expectedEnding.add(candidate);
+                        }
+                    }
+                }
+                List<Reservation> found = overlapping(from, to);
+                List<Reservation> ending = new ArrayList<>();
+                tree.forEachEndingBetween(from, to, (reservation, bookedRoom) -> ending.add(reservation));
+                assertEquals(present.size(), tree.size());
+                assertEquals(expected.size(), found.size());
+                assertTrue(found.containsAll(expected));
+                assertEquals(expectedEnding.size(), ending.size());
+                assertTrue(ending.containsAll(expectedEnding));
+                for (int i = 1; i < found.size(); i++) {
+                    assertFalse(found.get(i - 1).getStartDate().isAfter(found.get(i).getStartDate()));
+                }
+            }
+        }
+    }
+}
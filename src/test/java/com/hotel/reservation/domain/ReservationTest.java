@@ -87,4 +87,16 @@ class ReservationTest {
         // Act & Assert
         assertEquals(reservation1, reservation2);
     }
+
+    @Test
+    void testIsActiveOnGivenDay() {
+        // Arrange
+        Reservation reservation = Reservation.create(reservationDate, startDate, endDate, 1001, reserverPayer);
+
+        // Act & Assert
+        assertFalse(reservation.isActive(new Date(2024, 5, 31)));
+        assertTrue(reservation.isActive(startDate));
+        assertTrue(reservation.isActive(endDate));
+        assertFalse(reservation.isActive(new Date(2024, 6, 6)));
+    }
 }
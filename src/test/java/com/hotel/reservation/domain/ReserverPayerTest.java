@@ -1,11 +1,15 @@
 package com.hotel.reservation.domain;
 
 import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
 import com.hotel.reservation.model.Identity;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ReserverPayerTest {
@@ -76,4 +80,54 @@ class ReserverPayerTest {
         // Assert
         assertEquals(payer1, payer2);
     }
+
+    @Test
+    void testHistoryIsOrderedByStartDate() {
+        // Arrange
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        ReserverPayer payer = ReserverPayer.create(creditCard, new Identity("ID123456", Identity.IdentityType.PASSPORT), 1);
+        Reservation july = Reservation.create(new Date(2024, 1, 1), new Date(2024, 7, 1), new Date(2024, 7, 3), 7, payer);
+        Reservation june = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 1), new Date(2024, 6, 3), 9, payer);
+        Reservation juneAgain = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 1), new Date(2024, 6, 2), 8, payer);
+
+        // Act
+        payer.addReservation(july);
+        payer.addReservation(june);
+        payer.addReservation(juneAgain);
+        payer.addReservation(juneAgain);
+
+        // Assert
+        assertEquals(List.of(juneAgain, june, july), new ArrayList<>(payer.getReservations()));
+        assertEquals(3, payer.getReservationCount());
+        assertEquals(juneAgain, payer.getReservation());
+        assertEquals(List.of(juneAgain, june),
+                     payer.getReservationsStartingBetween(new Date(2024, 6, 1), new Date(2024, 6, 30)));
+        assertEquals(july, payer.getNextReservation(new Date(2024, 6, 2)));
+        assertNull(payer.getNextReservation(new Date(2024, 7, 2)));
+    }
+
+    @Test
+    void testRemoveReservationClearsOnlyMatchingCurrentLink() {
+        // Arrange
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        ReserverPayer payer = ReserverPayer.create(creditCard, new Identity("ID123456", Identity.IdentityType.PASSPORT), 1);
+        Reservation first = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 1), new Date(2024, 6, 3), 1, payer);
+        Reservation second = Reservation.create(new Date(2024, 1, 1), new Date(2024, 7, 1), new Date(2024, 7, 3), 2, payer);
+        payer.addReservation(first);
+        payer.addReservation(second);
+
+        // Act
+        payer.removeReservation(first);
+
+        // Assert
+        assertEquals(second, payer.getReservation());
+        assertEquals(List.of(second), new ArrayList<>(payer.getReservations()));
+
+        // Act
+        payer.removeReservation(second);
+
+        // Assert
+        assertNull(payer.getReservation());
+        assertEquals(0, payer.getReservationCount());
+    }
 }
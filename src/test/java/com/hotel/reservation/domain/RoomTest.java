@@ -1,6 +1,9 @@
 package com.hotel.reservation.domain;
 
 import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
 import com.hotel.reservation.model.Money;
 import com.hotel.reservation.model.Name;
 import com.hotel.reservation.model.RoomKind;
@@ -9,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class RoomTest {
@@ -88,4 +93,56 @@ class RoomTest {
         assertEquals(room1, room2);
         assertEquals(room1.hashCode(), room2.hashCode());
     }
+
+    @Test
+    void testReservedBetweenFollowsReservations() {
+        // Arrange
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        Identity identity = new Identity("ID123", Identity.IdentityType.PASSPORT);
+        ReserverPayer payer = ReserverPayer.create(creditCard, identity, 1);
+        Reservation reservation = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 1),
+                                                     new Date(2024, 6, 5), 1001, payer);
+
+        // Act
+        reservation.addRoom(room);
+
+        // Assert
+        assertTrue(room.isReservedBetween(new Date(2024, 6, 5), new Date(2024, 6, 8)));
+        assertFalse(room.isReservedBetween(new Date(2024, 6, 6), new Date(2024, 6, 8)));
+
+        // Act
+        room.removeReservation(reservation);
+
+        // Assert
+        assertFalse(room.isReservedBetween(new Date(2024, 6, 1), new Date(2024, 6, 5)));
+    }
+
+    @Test
+    void testCancellingKeepsDaysHeldByOverlappingReservations() {
+        // Arrange
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        Identity identity = new Identity("ID123", Identity.IdentityType.PASSPORT);
+        ReserverPayer payer = ReserverPayer.create(creditCard, identity, 1);
+        Reservation later = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 4),
+                                               new Date(2024, 6, 8), 1002, payer);
+        Reservation earlier = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 1),
+                                                 new Date(2024, 6, 5), 1001, payer);
+        later.addRoom(room);
+        earlier.addRoom(room);
+        Room neighbour = new Room(102, hotel, roomType);
+        Reservation elsewhere = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 6),
+                                                   new Date(2024, 6, 8), 1003, payer);
+        elsewhere.addRoom(neighbour);
+        List<Reservation> before = room.getReservations();
+
+        // Act
+        room.removeReservation(later);
+
+        // Assert
+        assertTrue(room.isReservedBetween(new Date(2024, 6, 4), new Date(2024, 6, 5)));
+        assertFalse(room.isReservedBetween(new Date(2024, 6, 6), new Date(2024, 6, 8)));
+        assertEquals(List.of(earlier, later), before);
+        assertEquals(List.of(earlier), room.getReservations());
+        assertSame(room.getReservations(), room.getReservations());
+    }
 }
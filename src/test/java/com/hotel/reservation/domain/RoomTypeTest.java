@@ -1,5 +1,10 @@
 package com.hotel.reservation.domain;
 
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.CompactMoney;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
 import com.hotel.reservation.model.Money;
 import com.hotel.reservation.model.Name;
 import com.hotel.reservation.model.RoomKind;
@@ -66,4 +71,151 @@ class RoomTypeTest {
         // Act & Assert
         assertEquals(2, roomType.getAvailableRoomCount());
     }
+
+    @Test
+    void testSoldCountsFollowReservations() {
+        // Arrange
+        Room room1 = new Room(101, hotel, roomType);
+        Room room2 = new Room(102, hotel, roomType);
+        roomType.addRoom(room1);
+        roomType.addRoom(room2);
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        ReserverPayer payer = ReserverPayer.create(creditCard, new Identity("ID123", Identity.IdentityType.PASSPORT), 1);
+        Reservation reservation = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 1),
+                                                     new Date(2024, 6, 5), 1001, payer);
+
+        // Act
+        reservation.addRoom(room1);
+        reservation.addRoom(room2);
+
+        // Assert
+        assertEquals(2, roomType.getSoldCount(new Date(2024, 6, 3)));
+        assertFalse(roomType.mayHaveCapacity(new Date(2024, 6, 5), new Date(2024, 6, 7), 1));
+
+        // Act
+        room1.removeReservation(reservation);
+
+        // Assert
+        assertEquals(1, roomType.getSoldCount(new Date(2024, 6, 3)));
+        assertTrue(roomType.mayHaveCapacity(new Date(2024, 6, 5), new Date(2024, 6, 7), 1));
+    }
+
+    @Test
+    void testSummaryTracksOccupancyAndSales() {
+        // Arrange
+        Room room1 = new Room(101, hotel, roomType);
+        Room room2 = new Room(102, hotel, roomType);
+        Room room3 = new Room(103, hotel, roomType);
+        roomType.addRoom(room1);
+        roomType.addRoom(room2);
+        roomType.addRoom(room3);
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        ReserverPayer payer = ReserverPayer.create(creditCard, new Identity("ID123", Identity.IdentityType.PASSPORT), 1);
+        Reservation reservation = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 1),
+                                                     new Date(2024, 6, 5), 1001, payer);
+        reservation.addRoom(room2);
+        Guest guest = Guest.create(new Name("John Doe"),
+                                   new Address("123 Main St", "New York", "NY", "10001", "USA"));
+
+        // Act
+        room1.setOccupant(guest);
+        room1.setOccupant(guest);
+        RoomTypeSummary summary = roomType.summarize(new Date(2024, 6, 2));
+
+        // Assert
+        assertEquals(RoomKind.SINGLE, summary.getKind());
+        assertEquals(3, summary.getTotalRooms());
+        assertEquals(1, summary.getOccupiedRooms());
+        assertEquals(1, summary.getSoldRooms());
+        assertEquals(2, summary.getUnsoldRooms());
+        assertEquals(2, roomType.getAvailableRoomCount());
+
+        // Act
+        room1.setOccupant(null);
+
+        // Assert
+        assertEquals(0, roomType.getOccupiedRoomCount());
+        assertEquals(0, roomType.summarize(new Date(2024, 7, 1)).getSoldRooms());
+    }
+
+    @Test
+    void testRangeQueriesFollowReservations() {
+        // Arrange
+        Room room1 = new Room(101, hotel, roomType);
+        Room room2 = new Room(102, hotel, roomType);
+        roomType.addRoom(room1);
+        roomType.addRoom(room2);
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        ReserverPayer payer = ReserverPayer.create(creditCard, new Identity("ID123", Identity.IdentityType.PASSPORT), 1);
+        Reservation early = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 1),
+                                               new Date(2024, 6, 5), 1001, payer);
+        Reservation late = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 10),
+                                              new Date(2024, 6, 12), 1002, payer);
+        early.addRoom(room1);
+        early.addRoom(room2);
+        late.addRoom(room1);
+
+        // Act & Assert
+        assertEquals(3, roomType.getIndexedBookingCount());
+        assertEquals(java.util.List.of(early, late),
+                     roomType.findReservationsOverlapping(new Date(2024, 6, 5), new Date(2024, 6, 10)));
+        assertEquals(java.util.List.of(early), roomType.findReservationsOn(new Date(2024, 6, 3)));
+        assertTrue(roomType.findReservationsOverlapping(new Date(2024, 6, 6), new Date(2024, 6, 9)).isEmpty());
+        assertEquals(java.util.List.of(room1, room2),
+                     roomType.findRoomsFreeingUpBetween(new Date(2024, 6, 4), new Date(2024, 6, 11)));
+        assertEquals(java.util.List.of(room1),
+                     roomType.findRoomsFreeingUpBetween(new Date(2024, 6, 12), new Date(2024, 6, 30)));
+
+        // Act
+        room1.removeReservation(late);
+
+        // Assert
+        assertEquals(2, roomType.getIndexedBookingCount());
+        assertTrue(roomType.findReservationsOn(new Date(2024, 6, 11)).isEmpty());
+    }
+
+    @Test
+    void testFindNextFreeStart() {
+        // Arrange
+        Room room1 = new Room(101, hotel, roomType);
+        Room room2 = new Room(102, hotel, roomType);
+        roomType.addRoom(room1);
+        roomType.addRoom(room2);
+        CreditCard creditCard = new CreditCard("1234567890123456", "John Doe", "12/25", "123");
+        ReserverPayer payer = ReserverPayer.create(creditCard, new Identity("ID123", Identity.IdentityType.PASSPORT), 1);
+        Reservation first = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 1),
+                                               new Date(2024, 6, 5), 1001, payer);
+        Reservation second = Reservation.create(new Date(2024, 1, 1), new Date(2024, 6, 8),
+                                                new Date(2024, 6, 20), 1002, payer);
+        first.addRoom(room1);
+        first.addRoom(room2);
+        second.addRoom(room1);
+
+        // Act & Assert
+        assertEquals(new Date(2024, 6, 6), room1.findNextFreeStart(new Date(2024, 6, 2), 1));
+        assertEquals(new Date(2024, 6, 21), room1.findNextFreeStart(new Date(2024, 6, 2), 2));
+        assertEquals(new Date(2024, 6, 6), roomType.findNextFreeStart(new Date(2024, 6, 2), 7));
+        assertEquals(new Date(2024, 7, 1), roomType.findNextFreeStart(new Date(2024, 7, 1), 3));
+        assertNull(new RoomType(RoomKind.DOUBLE, new Money(150.0, "USD"), hotel)
+                .findNextFreeStart(new Date(2024, 6, 1), 1));
+        assertThrows(IllegalArgumentException.class, () -> roomType.findNextFreeStart(new Date(2024, 6, 1), 0));
+    }
+
+    @Test
+    void testQuoteChargesEveryNightForEveryRoom() {
+        // Arrange
+        RoomType suite = new RoomType(RoomKind.SUITE, new Money(new java.math.BigDecimal("149.99"), "USD"), hotel);
+
+        // Act
+        long minorUnits = suite.quoteMinorUnits(new Date(2024, 6, 1), new Date(2024, 6, 5), 3);
+        CompactMoney quote = suite.quote(new Date(2024, 6, 1), new Date(2024, 6, 5), 3);
+
+        // Assert
+        assertEquals(14_999L * 4 * 3, minorUnits);
+        assertEquals(new Money(new java.math.BigDecimal("149.99"), "USD").multiply(12), quote.toMoney());
+        assertThrows(IllegalArgumentException.class,
+                     () -> suite.quoteMinorUnits(new Date(2024, 6, 5), new Date(2024, 6, 5), 1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> suite.quoteMinorUnits(new Date(2024, 6, 1), new Date(2024, 6, 5), 0));
+    }
 }
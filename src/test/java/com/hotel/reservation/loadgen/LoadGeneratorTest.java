@@ -0,0 +1,87 @@
+package com.hotel.reservation.loadgen;
+
+import com.hotel.reservation.domain.HotelChain;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    @Test
+    void testSynthesizerBuildsTheRequestedShape() {
+        // Arrange
+        ChainSynthesizer synthesizer = new ChainSynthesizer(3, 2, 4, 30);
+
+        // Act
+        HotelChain hotelChain = synthesizer.populate(new HotelChain());
+
+        // Assert
+        assertEquals(8, hotelChain.getHotel(synthesizer.hotelName(2)).getRooms().size());
+        assertNull(hotelChain.getHotel(synthesizer.hotelName(3)));
+        assertNotNull(hotelChain.getReserverPayer(synthesizer.payerNumber(29)));
+        assertEquals("Guest bb", synthesizer.guestName(27));
+        assertThrows(IllegalArgumentException.class, () -> new ChainSynthesizer(1, 6, 1, 1));
+    }
+
+    @Test
+    void testRunDrivesEveryOperationWithoutErrors() throws Exception {
+        // Arrange
+        ChainSynthesizer synthesizer = new ChainSynthesizer(5, 3, 10, 200);
+        HotelChain hotelChain = synthesizer.populate(new HotelChain());
+        LoadProfile profile = LoadProfile.defaults()
+                .withThreads(2)
+                .withDurationMillis(300)
+                .withWarmupMillis(100);
+        LoadGenerator generator = new LoadGenerator(profile, synthesizer, new InProcessTarget(hotelChain),
+                                                    hotelChain.getClock().today());
+
+        // Act
+        LoadReport report = generator.run();
+
+        // Assert
+        for (Operation operation : Operation.values()) {
+            assertTrue(report.getLatencies(operation).getCount() > 0, operation.name());
+            assertEquals(0, report.getErrorCount(operation), operation.name());
+        }
+        assertTrue(report.getSuccessCount(Operation.BOOK) > 0);
+        assertTrue(report.getThroughput() > 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        report.print(new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("CHECK_OUT"));
+    }
+
+    @Test
+    void testPacedRunKeepsToTheTargetRate() throws Exception {
+        // Arrange
+        ChainSynthesizer synthesizer = new ChainSynthesizer(2, 1, 5, 10);
+        HotelChain hotelChain = synthesizer.populate(new HotelChain());
+        LoadProfile profile = LoadProfile.defaults()
+                .withThreads(2)
+                .withTargetRate(1_000)
+                .withDurationMillis(200)
+                .withWarmupMillis(0);
+
+        // Act
+        LoadReport report = new LoadGenerator(profile, synthesizer, new InProcessTarget(hotelChain),
+                                              hotelChain.getClock().today()).run();
+
+        // Assert
+        assertEquals(200, report.getTotalCount());
+    }
+
+    @Test
+    void testRejectsMoreThreadsThanGuests() {
+        // Arrange
+        ChainSynthesizer synthesizer = new ChainSynthesizer(1, 1, 1, 2);
+        LoadProfile profile = LoadProfile.defaults().withThreads(3);
+        HotelChain hotelChain = synthesizer.populate(new HotelChain());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(profile, synthesizer,
+                new InProcessTarget(hotelChain), hotelChain.getClock().today()));
+    }
+}
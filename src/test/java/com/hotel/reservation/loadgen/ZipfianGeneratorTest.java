@@ -0,0 +1,54 @@
+package com.hotel.reservation.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfianGeneratorTest {
+
+    @Test
+    void testSkewedDrawsFavourTheFirstItems() {
+        // Arrange
+        ZipfianGenerator generator = new ZipfianGenerator(100, 0.99);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[100];
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            counts[generator.next(random)]++;
+        }
+
+        // Assert
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[10] && counts[10] > counts[99]);
+        // With theta near 1 the first item takes close to 1 / H(100), about 19%
+        assertEquals(0.19, counts[0] / 100_000.0, 0.03);
+    }
+
+    @Test
+    void testZeroThetaIsUniform() {
+        // Arrange
+        ZipfianGenerator generator = new ZipfianGenerator(10, 0);
+        SplittableRandom random = new SplittableRandom(2);
+        int[] counts = new int[10];
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            counts[generator.next(random)]++;
+        }
+
+        // Assert
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+    }
+
+    @Test
+    void testRejectsInvalidShape() {
+        // Arrange, Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(10, 1));
+        assertEquals(0, new ZipfianGenerator(1, 0.99).next(new SplittableRandom(3)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.hotel.reservation.metrics;
+
+import com.hotel.reservation.domain.ChainOperation;
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.OperationOutcome;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChainMetricsTest {
+
+    private HotelChain hotelChain;
+    private ChainMetrics metrics;
+    private Date startDate;
+    private Date endDate;
+
+    @BeforeEach
+    void setUp() {
+        hotelChain = new HotelChain();
+        Hotel hotel = new Hotel(new Name("Grand Hotel"));
+        hotelChain.addHotel(hotel);
+        RoomType roomType = new RoomType(RoomKind.SINGLE, new Money(new BigDecimal("99.50"), "USD"), hotel);
+        hotel.addRoomType(roomType);
+        for (int number = 101; number <= 102; number++) {
+            Room room = new Room(number, hotel, roomType);
+            hotel.addRoom(room);
+            roomType.addRoom(room);
+        }
+        hotelChain.addGuest(Guest.create(new Name("John Doe"),
+                                         new Address("123 Main St", "New York", "NY", "10001", "USA")));
+        metrics = ChainMetrics.attach(hotelChain);
+        hotelChain.createReserverPayer(new CreditCard("1234567890123456", "John Doe", "12/25", "123"),
+                                       new Identity("ID123", Identity.IdentityType.PASSPORT), 1);
+        startDate = hotelChain.getClock().today();
+        endDate = Date.ofEpochDay(startDate.toEpochDay() + 3);
+    }
+
+    @Test
+    void testAttachIsIdempotent() {
+        // Arrange, Act & Assert
+        assertSame(metrics, ChainMetrics.attach(hotelChain));
+        assertSame(metrics, hotelChain.getOperationListener());
+        assertThrows(IllegalArgumentException.class, () -> ChainMetrics.attach(null));
+    }
+
+    @Test
+    void testOutcomesAreCountedSeparately() {
+        // Act
+        Reservation reservation = hotelChain.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                             startDate, endDate, 2);
+        assertThrows(IllegalStateException.class, () -> hotelChain.makeReservation(1, "John Doe", "Grand Hotel",
+                RoomKind.SINGLE, startDate, endDate, 1));
+        assertThrows(IllegalStateException.class, () -> hotelChain.makeReservation(99, "John Doe", "Grand Hotel",
+                RoomKind.SINGLE, startDate, endDate, 1));
+        hotelChain.checkinGuest("John Doe", 101, "Grand Hotel");
+        hotelChain.checkOutGuest("John Doe");
+        assertThrows(IllegalStateException.class, () -> hotelChain.checkOutGuest("John Doe"));
+        hotelChain.cancelReservation(reservation.getNumber());
+
+        // Assert
+        assertEquals(1, metrics.getCount(ChainOperation.MAKE_RESERVATION, OperationOutcome.SUCCESS));
+        assertEquals(1, metrics.getCount(ChainOperation.MAKE_RESERVATION, OperationOutcome.NO_AVAILABILITY));
+        assertEquals(1, metrics.getCount(ChainOperation.MAKE_RESERVATION, OperationOutcome.VALIDATION_FAILURE));
+        assertEquals(1, metrics.getCount(ChainOperation.CHECK_IN, OperationOutcome.SUCCESS));
+        assertEquals(1, metrics.getCount(ChainOperation.CHECK_OUT, OperationOutcome.SUCCESS));
+        assertEquals(1, metrics.getCount(ChainOperation.CHECK_OUT, OperationOutcome.VALIDATION_FAILURE));
+        assertEquals(1, metrics.getCount(ChainOperation.CANCEL_RESERVATION, OperationOutcome.SUCCESS));
+        assertEquals(1, metrics.getCount(ChainOperation.CREATE_RESERVER_PAYER, OperationOutcome.SUCCESS));
+        assertEquals(1, metrics.getLatencies(ChainOperation.MAKE_RESERVATION, OperationOutcome.SUCCESS).getCount());
+        assertTrue(metrics.getLatencies(ChainOperation.MAKE_RESERVATION, OperationOutcome.SUCCESS).getMax() > 0);
+    }
+
+    @Test
+    void testPrometheusTextIncludesGauges() throws Exception {
+        // Arrange
+        hotelChain.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE, startDate, endDate, 1);
+        hotelChain.checkinGuest("John Doe", 101, "Grand Hotel");
+        StringWriter out = new StringWriter();
+
+        // Act
+        metrics.writePrometheus(out);
+
+        // Assert
+        String text = out.toString();
+        assertTrue(text.contains("# TYPE hotel_chain_operations_total counter\n"));
+        assertTrue(text.contains("hotel_chain_operations_total{operation=\"check_in\",outcome=\"success\"} 1\n"));
+        assertTrue(text.contains("hotel_chain_operation_duration_seconds_count"
+                + "{operation=\"make_reservation\",outcome=\"success\"} 1\n"));
+        assertTrue(text.contains("hotel_chain_operation_duration_seconds"
+                + "{operation=\"check_out\",outcome=\"success\",quantile=\"0.99\"} NaN\n"));
+        assertTrue(text.contains("hotel_rooms_occupied{hotel=\"Grand Hotel\"} 1\n"));
+        assertTrue(text.contains("hotel_reservations_held{hotel=\"Grand Hotel\"} 1\n"));
+        assertFalse(text.contains("operation=\"check_in\",outcome=\"no_availability\""));
+        for (String line : text.split("\n")) {
+            assertTrue(line.startsWith("# ") || line.matches("[a-z_]+(\\{.*})? \\S+"), line);
+        }
+    }
+
+    @Test
+    void testWritesFileAtomically(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path file = directory.resolve("hotel.prom");
+        Files.writeString(file, "stale");
+
+        // Act
+        metrics.writePrometheus(file);
+
+        // Assert
+        assertTrue(Files.readString(file).startsWith("# HELP hotel_chain_operations_total"));
+        assertFalse(Files.exists(directory.resolve("hotel.prom.tmp")));
+    }
+
+    @Test
+    void testEscapesLabelValues() {
+        // Arrange, Act & Assert
+        assertEquals("O'Neil Inn", ChainMetrics.escape("O'Neil Inn"));
+        assertEquals("a\\\\b\\\"c\\nd", ChainMetrics.escape("a\\b\"c\nd"));
+    }
+}
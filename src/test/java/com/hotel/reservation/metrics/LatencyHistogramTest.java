@@ -0,0 +1,106 @@
+package com.hotel.reservation.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverEveryValueOnce() {
+        // Arrange, Act & Assert
+        for (long value = 0; value < 100_000; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.highestValueIn(bucket), "value " + value);
+            assertTrue(bucket == 0 || value > LatencyHistogram.highestValueIn(bucket - 1), "value " + value);
+        }
+        for (int shift = 7; shift < 41; shift++) {
+            long value = 1L << shift;
+            assertEquals(LatencyHistogram.bucketOf(value - 1) + 1, LatencyHistogram.bucketOf(value));
+        }
+    }
+
+    @Test
+    void testPercentilesAreWithinBucketResolution() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        // Assert
+        assertEquals(1_000_000, histogram.getCount());
+        assertEquals(1_000_000_000, histogram.getMax());
+        assertEquals(500_000_500, histogram.getMean(), 1);
+        assertEquals(500_000_000, histogram.getValueAtPercentile(50), 500_000_000 / 64.0);
+        assertEquals(990_000_000, histogram.getValueAtPercentile(99), 990_000_000 / 64.0);
+        assertEquals(1_000_000_000, histogram.getValueAtPercentile(100));
+        assertTrue(histogram.getValueAtPercentile(0) <= 1_000 + 1_000 / 64);
+    }
+
+    @Test
+    void testEmptyAndOutOfRangeValues() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act & Assert
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean());
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+
+    @Test
+    void testAddMergesHistograms() {
+        // Arrange
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            first.record(random.nextInt(10_000));
+            second.record(10_000 + random.nextInt(10_000));
+        }
+
+        // Act
+        first.add(second);
+
+        // Assert
+        assertEquals(2_000, first.getCount());
+        assertEquals(second.getMax(), first.getMax());
+        assertEquals(10_000, first.getValueAtPercentile(50), 10_000 / 64.0);
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(200_000, histogram.getCount());
+        assertEquals(49_999, histogram.getMax());
+        assertEquals(49_999, histogram.getValueAtPercentile(100));
+    }
+}
@@ -0,0 +1,75 @@
+package com.hotel.reservation.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateMeterTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testFirstTickSetsTheRate() {
+        // Arrange
+        AtomicLong now = new AtomicLong(42);
+        RateMeter meter = new RateMeter(now::get);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            meter.mark();
+        }
+        double beforeTick = meter.getOneMinuteRate();
+        now.addAndGet(5 * SECOND);
+
+        // Assert
+        assertEquals(0, beforeTick);
+        assertEquals(50, meter.getCount());
+        assertEquals(10, meter.getOneMinuteRate(), 1e-9);
+        assertEquals(10, meter.getFifteenMinuteRate(), 1e-9);
+        assertEquals(10, meter.getMeanRate(), 1e-9);
+    }
+
+    @Test
+    void testRatesDecayWhenIdle() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        RateMeter meter = new RateMeter(now::get);
+        for (int i = 0; i < 50; i++) {
+            meter.mark();
+        }
+        now.addAndGet(5 * SECOND);
+        meter.getOneMinuteRate();
+
+        // Act
+        now.addAndGet(60 * SECOND);
+
+        // Assert: a minute of silence takes the one-minute average down by a factor e
+        assertEquals(10 / Math.E, meter.getOneMinuteRate(), 1e-9);
+        assertEquals(10 * Math.exp(-60.0 / 300), meter.getFiveMinuteRate(), 1e-9);
+        assertEquals(50, meter.getCount());
+    }
+
+    @Test
+    void testLateReadMatchesPerTickUpdates() {
+        // Arrange: one meter read every tick, one read once, both at a steady 20 events per second
+        AtomicLong now = new AtomicLong();
+        RateMeter everyTick = new RateMeter(now::get);
+        RateMeter once = new RateMeter(now::get);
+        for (int tick = 0; tick < 24; tick++) {
+            for (int i = 0; i < 100; i++) {
+                everyTick.mark();
+                once.mark();
+            }
+            now.addAndGet(5 * SECOND);
+            if (tick == 0) {
+                once.getOneMinuteRate();
+            }
+            everyTick.getOneMinuteRate();
+        }
+
+        // Act & Assert
+        assertEquals(everyTick.getOneMinuteRate(), once.getOneMinuteRate(), 1e-9);
+        assertEquals(20, once.getOneMinuteRate(), 1e-9);
+    }
+}
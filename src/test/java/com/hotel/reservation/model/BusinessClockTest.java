@@ -0,0 +1,107 @@
+package com.hotel.reservation.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessClockTest {
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Test
+    void testTodayIsCachedUntilMidnight() {
+        // Arrange
+        SettableClock clock = new SettableClock(Instant.parse("2024-06-01T10:00:00Z"));
+        BusinessClock businessClock = new BusinessClock(clock);
+
+        // Act
+        Date morning = businessClock.today();
+        clock.advance(Duration.ofHours(13).plusMinutes(59));
+        Date lastMinute = businessClock.today();
+        clock.advance(Duration.ofMinutes(1));
+        Date nextDay = businessClock.today();
+
+        // Assert
+        assertEquals(new Date(2024, 6, 1), morning);
+        assertSame(morning, lastMinute);
+        assertEquals(new Date(2024, 6, 2), nextDay);
+    }
+
+    @Test
+    void testEachZoneRollsAtItsOwnMidnight() {
+        // Arrange
+        BusinessClock businessClock = new BusinessClock(Clock.fixed(Instant.parse("2024-06-01T16:30:00Z"), ZoneOffset.UTC));
+
+        // Act & Assert
+        assertEquals(new Date(2024, 6, 1), businessClock.today());
+        assertEquals(new Date(2024, 6, 2), businessClock.today(TOKYO));
+        assertEquals(new Date(2024, 6, 1), businessClock.today(NEW_YORK));
+        assertThrows(IllegalArgumentException.class, () -> businessClock.today(null));
+    }
+
+    @Test
+    void testClockSetBackIsFollowed() {
+        // Arrange
+        SettableClock clock = new SettableClock(Instant.parse("2024-03-10T12:00:00Z"));
+        BusinessClock businessClock = new BusinessClock(clock);
+        businessClock.today(NEW_YORK);
+
+        // Act
+        clock.advance(Duration.ofDays(-1));
+
+        // Assert
+        assertEquals(new Date(2024, 3, 9), businessClock.today(NEW_YORK));
+    }
+
+    @Test
+    void testDaylightSavingDayRollsAtMidnight() {
+        // Arrange: 10 March 2024 is 23 hours long in New York
+        SettableClock clock = new SettableClock(Instant.parse("2024-03-10T05:00:00Z"));
+        BusinessClock businessClock = new BusinessClock(clock);
+
+        // Act
+        Date start = businessClock.today(NEW_YORK);
+        clock.advance(Duration.ofHours(23).minusMillis(1));
+        Date end = businessClock.today(NEW_YORK);
+        clock.advance(Duration.ofMillis(1));
+        Date next = businessClock.today(NEW_YORK);
+
+        // Assert
+        assertEquals(new Date(2024, 3, 10), start);
+        assertSame(start, end);
+        assertEquals(new Date(2024, 3, 11), next);
+    }
+
+    private static final class SettableClock extends Clock {
+        private Instant instant;
+
+        SettableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.hotel.reservation.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactMoneyTest {
+
+    @Test
+    void testConvertsToAndFromMoney() {
+        // Arrange
+        Money money = new Money(new BigDecimal("1234.56"), "usd");
+
+        // Act
+        CompactMoney compact = CompactMoney.from(money);
+
+        // Assert
+        assertEquals(123456, compact.getMinorUnits());
+        assertEquals("USD", compact.getCurrency());
+        assertEquals(money, compact.toMoney());
+        assertEquals("1234.56 USD", compact.toString());
+        assertEquals("0.05 EUR", CompactMoney.of(5, "EUR").toString());
+    }
+
+    @Test
+    void testCurrencyCodesCompareAsInts() {
+        // Arrange, Act & Assert
+        assertEquals(CompactMoney.currencyCode("PKR"), CompactMoney.currencyCode("pkr"));
+        assertNotEquals(CompactMoney.currencyCode("USD"), CompactMoney.currencyCode("EUR"));
+        assertEquals("PKR", CompactMoney.currencyName(CompactMoney.currencyCode("PKR")));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoney.currencyName(0));
+    }
+
+    @Test
+    void testOfCodeAcceptsOnlyPackedLetterCodes() {
+        // Arrange
+        int usd = CompactMoney.currencyCode("USD");
+        int digits = ('U' << 14) | ('1' << 7) | 'D';
+        int lowerCase = ('u' << 14) | ('s' << 7) | 'd';
+        int symbol = ('U' << 14) | ('$' << 7) | 'D';
+
+        // Act & Assert
+        assertEquals("USD", CompactMoney.ofCode(100, usd).getCurrency());
+        assertThrows(IllegalArgumentException.class, () -> CompactMoney.ofCode(100, digits));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoney.ofCode(100, lowerCase));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoney.ofCode(100, symbol));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "US", "USDD", "U D", "U€D"})
+    void testRejectsInvalidCurrency(String currency) {
+        // Arrange, Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> CompactMoney.of(100, currency));
+    }
+
+    @Test
+    void testArithmeticIsExact() {
+        // Arrange
+        CompactMoney rate = CompactMoney.of(9_999, "USD");
+
+        // Act
+        CompactMoney total = rate.multiply(3).add(CompactMoney.of(3, "USD"));
+
+        // Assert
+        assertEquals(CompactMoney.of(30_000, "USD"), total);
+        assertEquals(new Money(300.0, "USD"), total.toMoney());
+    }
+
+    @Test
+    void testOverflowAndMixedCurrenciesRejected() {
+        // Arrange
+        CompactMoney huge = CompactMoney.of(Long.MAX_VALUE / 2 + 1, "USD");
+
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> huge.multiply(2));
+        assertThrows(ArithmeticException.class, () -> huge.add(huge));
+        assertThrows(IllegalArgumentException.class, () -> huge.add(CompactMoney.of(1, "EUR")));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoney.of(-1, "USD"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"usd", "Eur", "PKR", "XAU"})
+    void testEveryMoneyCurrencyConverts(String currency) {
+        // Arrange
+        Money money = new Money(new BigDecimal("10.00"), currency);
+
+        // Act
+        CompactMoney compact = CompactMoney.from(money);
+
+        // Assert
+        assertEquals(money, compact.toMoney());
+    }
+}
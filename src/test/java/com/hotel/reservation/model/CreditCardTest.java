@@ -88,4 +88,23 @@ class CreditCardTest {
         // Act & Assert
         assertNotEquals(card1, card2);
     }
+
+    @Test
+    void testMaskedCardKeepsLastFourDigitsAndDropsCvv() {
+        // Arrange
+        CreditCard card = new CreditCard("1234 5678 9012 3456", "John Doe", "12/25", "123");
+
+        // Act
+        CreditCard masked = card.masked();
+
+        // Assert
+        assertTrue(masked.isMasked());
+        assertEquals("************3456", masked.getCardNumber());
+        assertNull(masked.getCvv());
+        assertEquals("John Doe", masked.getCardHolderName());
+        assertSame(masked, masked.masked());
+        assertEquals(masked, CreditCard.fromMasked("************3456", "John Doe", "12/25"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> CreditCard.fromMasked("1234567890123456", "John Doe", "12/25"));
+    }
 }
@@ -103,4 +103,20 @@ class DateTest {
         assertEquals(date1, date2);
         assertEquals(date1.hashCode(), date2.hashCode());
     }
+
+    @Test
+    void testComparisonsFollowEpochDays() {
+        // Arrange
+        Date leapDay = new Date(2024, 2, 29);
+        Date nextDay = Date.ofEpochDay(leapDay.toEpochDay() + 1);
+
+        // Act & Assert
+        assertEquals(java.time.LocalDate.of(2024, 2, 29).toEpochDay(), leapDay.toEpochDay());
+        assertEquals(new Date(2024, 3, 1), nextDay);
+        assertTrue(leapDay.isBefore(nextDay));
+        assertTrue(nextDay.isAfter(leapDay));
+        assertFalse(leapDay.isAfter(leapDay));
+        assertTrue(leapDay.isEqual(new Date(java.time.LocalDate.of(2024, 2, 29))));
+        assertEquals(1, nextDay.daysBetween(leapDay));
+    }
 }
@@ -52,7 +52,7 @@ class MoneyTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"", " ", "US", "USDD"})
+    @ValueSource(strings = {"", " ", "US", "USDD", "U D", "U€D", "US1"})
     void testCreateMoneyWithInvalidCurrency(String currency) {
         // Arrange, Act & Assert
         assertThrows(IllegalArgumentException.class, () -> {
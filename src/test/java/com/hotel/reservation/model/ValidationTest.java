@@ -0,0 +1,53 @@
+package com.hotel.reservation.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationTest {
+    private static final String ALPHABET = "aZ09 \t\n\u000B\f\r\u001F'-/_.é٠";
+
+    @Test
+    void testScannersAgreeWithTheRegexesTheyReplace() {
+        // Arrange
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            String value = randomString(random, random.nextInt(22));
+
+            // Act & Assert
+            assertEquals(value.trim().isEmpty(), Validation.isBlank(value), value);
+            assertEquals(value.matches("^[a-zA-Z\\s'-]+$"), Validation.isNameText(value), value);
+            assertEquals(value.matches("\\d{3,4}"), Validation.isDigits(value, 3, 4), value);
+            assertEquals(value.replaceAll("\\s", "").matches("\\d{13,19}"),
+                         Validation.isDigitsIgnoringWhitespace(value, 13, 19), value);
+            assertEquals(value.matches("\\d{2}/\\d{2}"), Validation.isMonthYear(value), value);
+        }
+    }
+
+    @Test
+    void testTypicalValues() {
+        // Arrange, Act & Assert
+        assertTrue(Validation.isNameText("Mary-Jane O'Neil"));
+        assertFalse(Validation.isNameText("Zoë"));
+        assertTrue(Validation.isDigitsIgnoringWhitespace("4111 1111 1111 1111", 13, 19));
+        assertFalse(Validation.isDigitsIgnoringWhitespace("4111-1111-1111-1111", 13, 19));
+        assertTrue(Validation.isMonthYear("09/27"));
+        assertFalse(Validation.isMonthYear("9/27"));
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // Mostly digits so the longer formats match now and then
+            if (random.nextInt(4) > 0) {
+                builder.append((char) ('0' + random.nextInt(10)));
+            } else {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,122 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSnapshotTest {
+
+    @TempDir
+    Path logDirectory;
+
+    private HotelChain hotelChain;
+    private MappedSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        hotelChain = new HotelChain();
+        try (WriteAheadLog log = WriteAheadLog.recover(logDirectory, hotelChain);
+             Snapshotter snapshotter = new Snapshotter(log)) {
+            WriteAheadLogTest.populate(hotelChain, 3);
+            // "Aa" and "BB" share a hash code
+            hotelChain.addGuest(Guest.create(new Name("Aa"), new Address("1 A St", "Austin", "TX", "73301", "USA")));
+            hotelChain.addGuest(Guest.create(new Name("BB"), new Address("2 B St", "Boise", "ID", "83701", "USA")));
+            hotelChain.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                       new Date(2024, 6, 1), new Date(2024, 6, 5), 2);
+            hotelChain.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                       new Date(2024, 6, 10), new Date(2024, 6, 12), 1);
+            hotelChain.makeReservation(2, "Jane Smith", "Grand Hotel", RoomKind.DOUBLE,
+                                       new Date(2024, 6, 3), new Date(2024, 6, 4), 1);
+            hotelChain.checkinGuest("BB", 103, "Grand Hotel");
+            snapshotter.snapshot();
+        }
+        snapshot = MappedSnapshot.openLatest(logDirectory);
+    }
+
+    @Test
+    void testAvailabilityMatchesChain() {
+        // Arrange
+        Hotel hotel = hotelChain.getHotel("Grand Hotel");
+        LocalDate base = LocalDate.of(2024, 5, 28);
+
+        // Act & Assert
+        for (RoomKind kind : RoomKind.values()) {
+            for (int from = 0; from < 20; from++) {
+                for (int length = 0; length < 5; length++) {
+                    Date start = new Date(base.plusDays(from));
+                    Date end = new Date(base.plusDays(from + length));
+                    for (int quantity = 1; quantity <= 3; quantity++) {
+                        assertEquals(hotel.available(kind, start, end, quantity),
+                                     snapshot.available("Grand Hotel", kind, start, end, quantity),
+                                     kind + " " + start + ".." + end + " x" + quantity);
+                    }
+                }
+            }
+        }
+        assertFalse(snapshot.available("Unknown Hotel", RoomKind.SINGLE, new Date(2024, 6, 1),
+                                       new Date(2024, 6, 2), 1));
+    }
+
+    @Test
+    void testReservationsReadFromMapping() {
+        // Arrange
+        List<Integer> expected = hotelChain.getAllReservations().stream()
+                .map(Reservation::getNumber).sorted().collect(Collectors.toList());
+
+        // Act
+        List<Integer> actual = snapshot.getAllReservations().stream()
+                .map(MappedSnapshot.ReservationView::getNumber).sorted().collect(Collectors.toList());
+        Reservation original = hotelChain.getReserverPayer(1).getReservation();
+        MappedSnapshot.ReservationView view = snapshot.getReservation(original.getNumber());
+
+        // Assert
+        assertEquals(expected, actual);
+        assertEquals(3, snapshot.getReservationCount());
+        assertEquals(hotelChain.getReserverPayers().stream()
+                             .filter(payer -> payer.getReservation() != null).count(),
+                     snapshot.getCurrentReservations().size());
+        assertEquals(original.getNumber(), view.getNumber());
+        assertEquals(1, view.getReserverPayerNumber());
+        assertEquals("Grand Hotel", view.getHotelName());
+        assertEquals(original.getReservationDate(), view.getReservationDate());
+        assertEquals(original.getStartDate(), view.getStartDate());
+        assertEquals(original.getEndDate(), view.getEndDate());
+        assertEquals(1, view.getQuantity());
+        assertArrayEquals(new int[] {original.getRooms().get(0).getNumber()}, view.getRoomNumbers());
+        assertNull(snapshot.getReservation(-5));
+    }
+
+    @Test
+    void testGuestLookup() {
+        // Act
+        MappedSnapshot.GuestView checkedIn = snapshot.getGuest("BB");
+        MappedSnapshot.GuestView collision = snapshot.getGuest("Aa");
+        MappedSnapshot.GuestView other = snapshot.getGuest("Jane Smith");
+
+        // Assert
+        assertEquals("BB", checkedIn.getName());
+        assertTrue(checkedIn.isCheckedIn());
+        assertEquals("Grand Hotel", checkedIn.getOccupiedHotelName());
+        assertEquals(103, checkedIn.getOccupiedRoomNumber());
+        assertEquals("Aa", collision.getName());
+        assertFalse(collision.isCheckedIn());
+        assertEquals(hotelChain.getGuest("Jane Smith").getAddressDetails(), other.getAddressDetails());
+        assertNull(snapshot.getGuest("Nobody"));
+        assertNull(snapshot.getGuest(null));
+    }
+}
@@ -0,0 +1,108 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Times writing a snapshot of a large chain and loading it back, which is the
+ * bulk of a cold start and of every background snapshot. Skipped unless the
+ * reservation count is given, since 5M reservations need a few GB of heap:
+ * {@code mvn test -Dtest=SnapshotLoadTest -DsnapshotLoad.reservations=5000000 -DargLine="-Xms4g -Xmx4g"}
+ */
+@EnabledIfSystemProperty(named = "snapshotLoad.reservations", matches = "\\d+")
+class SnapshotLoadTest {
+    private static final int HOTELS = 100;
+    private static final int ROOMS_PER_HOTEL = 500;
+    private static final int PAYERS = 1000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testLoadLargeSnapshot() throws Exception {
+        // Arrange
+        int reservations = Integer.getInteger("snapshotLoad.reservations");
+        long writeNanos = writeSnapshot(reservations);
+
+        // Act
+        long loadStarted = System.nanoTime();
+        HotelChain loaded = new HotelChain();
+        int highestReservationNumber = SnapshotFile.read(SnapshotFile.path(directory, 1), loaded);
+        long loadNanos = System.nanoTime() - loadStarted;
+
+        // Assert
+        System.out.printf("%d reservations: snapshot of %d MB written in %d ms, loaded in %d ms%n",
+                          reservations, Files.size(SnapshotFile.path(directory, 1)) >> 20,
+                          writeNanos / 1_000_000, loadNanos / 1_000_000);
+        assertEquals(reservations, highestReservationNumber);
+        assertEquals(reservations, loaded.getAllReservations().size());
+    }
+
+    /**
+     * Builds the chain and snapshots it, returning the time the write took; the
+     * chain is unreachable afterwards, so loading has the heap to itself.
+     */
+    private long writeSnapshot(int reservations) throws IOException {
+        HotelChain original = populate(reservations);
+        long started = System.nanoTime();
+        SnapshotFile.write(directory, 1, reservations, original);
+        return System.nanoTime() - started;
+    }
+
+    /**
+     * One-night stays on alternate days, so each room holds reservations / rooms of them.
+     */
+    private static HotelChain populate(int reservations) {
+        HotelChain hotelChain = new HotelChain();
+        String[] hotelNames = new String[HOTELS];
+        for (int h = 0; h < HOTELS; h++) {
+            hotelNames[h] = "Hotel " + (char) ('A' + h % 26) + (char) ('A' + h / 26);
+            Hotel hotel = new Hotel(new Name(hotelNames[h]));
+            hotelChain.addHotel(hotel);
+            RoomType single = new RoomType(RoomKind.SINGLE, new Money(100.0, "USD"), hotel);
+            hotel.addRoomType(single);
+            for (int r = 1; r <= ROOMS_PER_HOTEL; r++) {
+                single.addRoom(new Room(r, hotel, single));
+            }
+        }
+        CreditCard card = new CreditCard("4111111111111111", "Load Test", "12/99", "123");
+        Identity identity = new Identity("ID00000001", Identity.IdentityType.PASSPORT);
+        for (int payer = 1; payer <= PAYERS; payer++) {
+            hotelChain.createReserverPayer(card, identity, payer);
+        }
+
+        Date reservationDate = new Date(2024, 1, 1);
+        LocalDate firstDay = LocalDate.of(2024, 1, 2);
+        int rooms = HOTELS * ROOMS_PER_HOTEL;
+        for (int number = 1; number <= reservations; number++) {
+            int room = (number - 1) % rooms;
+            LocalDate day = firstDay.plusDays(2L * ((number - 1) / rooms));
+            hotelChain.restoreReservation(number, 1 + number % PAYERS, hotelNames[room / ROOMS_PER_HOTEL],
+                                          reservationDate, toDate(day), toDate(day.plusDays(1)), 1,
+                                          new int[] {1 + room % ROOMS_PER_HOTEL});
+        }
+        return hotelChain;
+    }
+
+    private static Date toDate(LocalDate day) {
+        return new Date(day.getYear(), day.getMonthValue(), day.getDayOfMonth());
+    }
+}
@@ -0,0 +1,185 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotterTest {
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    void testSnapshotReplacesCoveredSegments() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        long covered;
+        try (WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+             Snapshotter snapshotter = new Snapshotter(log)) {
+            WriteAheadLogTest.populate(original, 4);
+            Reservation cancelled = original.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                             new Date(2024, 6, 1), new Date(2024, 6, 5), 2);
+            original.makeReservation(2, "Jane Smith", "Grand Hotel", RoomKind.DOUBLE,
+                                     new Date(2024, 6, 2), new Date(2024, 6, 4), 1);
+            original.cancelReservation(cancelled.getNumber());
+            original.checkinGuest("Jane Smith", 201, "Grand Hotel");
+
+            // Act
+            covered = snapshotter.snapshotInBackground().get();
+        }
+
+        // Assert
+        assertEquals(1, covered);
+        assertEquals(List.of(1L), SnapshotFile.list(logDirectory));
+        assertEquals(List.of(2L), WriteAheadLog.listSegments(logDirectory));
+        HotelChain recovered = new HotelChain();
+        Snapshotter.restore(logDirectory, recovered);
+        assertEquals(WriteAheadLogTest.describe(original), WriteAheadLogTest.describe(recovered));
+        assertTrue(recovered.getGuest("Jane Smith").isCheckedIn());
+    }
+
+    @Test
+    void testRecoveryLoadsSnapshotThenReplaysTail() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        int cancelledNumber;
+        try (WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+             Snapshotter snapshotter = new Snapshotter(log)) {
+            WriteAheadLogTest.populate(original, 4);
+            Reservation cancelled = original.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                             new Date(2024, 6, 1), new Date(2024, 6, 5), 1);
+            cancelledNumber = cancelled.getNumber();
+            original.cancelReservation(cancelledNumber);
+            snapshotter.snapshot();
+            original.makeReservation(2, "Jane Smith", "Grand Hotel", RoomKind.SINGLE,
+                                     new Date(2024, 7, 1), new Date(2024, 7, 3), 1);
+            original.checkinGuest("John Doe", 102, "Grand Hotel");
+        }
+
+        // Act
+        HotelChain recovered = new HotelChain();
+        Reservation fresh;
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, recovered);
+        try (log) {
+            assertEquals(WriteAheadLogTest.describe(original), WriteAheadLogTest.describe(recovered));
+            fresh = recovered.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                              new Date(2024, 9, 1), new Date(2024, 9, 3), 1);
+        }
+
+        // Assert
+        assertTrue(fresh.getNumber() > cancelledNumber, "Cancelled numbers must not be reissued");
+        assertTrue(recovered.getGuest("John Doe").isCheckedIn());
+    }
+
+    @Test
+    void testHotelTimeZonesSurviveSnapshotAndLog() throws Exception {
+        // Arrange
+        ZoneId snapshotted = ZoneId.of("Pacific/Kiritimati");
+        ZoneId logged = ZoneId.of("Pacific/Pago_Pago");
+        HotelChain original = new HotelChain();
+        try (WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+             Snapshotter snapshotter = new Snapshotter(log)) {
+            original.addHotel(new Hotel(new Name("Line Islands Hotel"), snapshotted));
+            snapshotter.snapshot();
+            original.addHotel(new Hotel(new Name("Samoa Hotel"), logged));
+        }
+
+        // Act
+        HotelChain recovered = new HotelChain();
+        Snapshotter.restore(logDirectory, recovered);
+
+        // Assert
+        assertEquals(snapshotted, recovered.getHotel("Line Islands Hotel").getZone());
+        assertEquals(logged, recovered.getHotel("Samoa Hotel").getZone());
+    }
+
+    @Test
+    void testSnapshotWhileBookingsContinue() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        Snapshotter snapshotter = new Snapshotter(log);
+        WriteAheadLogTest.populate(original, 50);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int payer = 1 + (t % 2);
+            String guest = payer == 1 ? "John Doe" : "Jane Smith";
+            Thread worker = new Thread(() -> {
+                int day = 0;
+                try {
+                    while (running.get() && day < 5_000) {
+                        LocalDate start = LocalDate.of(2025, 1, 1).plusDays(day);
+                        Reservation reservation = original.makeReservation(payer, guest, "Grand Hotel", RoomKind.SINGLE,
+                                new Date(start), new Date(start.plusDays(1)), 1);
+                        if (day % 3 == 0) {
+                            original.cancelReservation(reservation.getNumber());
+                        }
+                        day++;
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(50);
+            snapshotter.snapshot();
+        }
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        snapshotter.close();
+        log.close();
+
+        // Assert
+        assertTrue(failures.isEmpty(), () -> "Worker failed: " + failures);
+        assertEquals(1, SnapshotFile.list(logDirectory).size());
+        HotelChain recovered = new HotelChain();
+        Snapshotter.restore(logDirectory, recovered);
+        assertEquals(WriteAheadLogTest.describe(original), WriteAheadLogTest.describe(recovered));
+    }
+
+    @Test
+    void testCorruptSnapshotIsRejected() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        try (WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+             Snapshotter snapshotter = new Snapshotter(log)) {
+            WriteAheadLogTest.populate(original, 2);
+            snapshotter.snapshot();
+        }
+        try (FileChannel channel = FileChannel.open(SnapshotFile.path(logDirectory, 1), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F}), 40);
+        }
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> Snapshotter.restore(logDirectory, new HotelChain()));
+    }
+}
@@ -0,0 +1,388 @@
+package com.hotel.reservation.persistence;
+
+import com.hotel.reservation.domain.BookingRequest;
+import com.hotel.reservation.domain.Guest;
+import com.hotel.reservation.domain.Hotel;
+import com.hotel.reservation.domain.HotelChain;
+import com.hotel.reservation.domain.Reservation;
+import com.hotel.reservation.domain.Room;
+import com.hotel.reservation.domain.RoomType;
+import com.hotel.reservation.model.Address;
+import com.hotel.reservation.model.CreditCard;
+import com.hotel.reservation.model.Date;
+import com.hotel.reservation.model.Identity;
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Name;
+import com.hotel.reservation.model.RoomKind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    void testRecoveryRebuildsIdenticalChain() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        try (log) {
+            populate(original, 6);
+            Reservation first = original.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                         new Date(2024, 6, 1), new Date(2024, 6, 5), 2);
+            original.makeReservation(2, "Jane Smith", "Grand Hotel", RoomKind.DOUBLE,
+                                     new Date(2024, 6, 2), new Date(2024, 6, 4), 1);
+            original.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                     new Date(2024, 7, 1), new Date(2024, 7, 3), 1);
+            original.cancelReservation(first.getNumber());
+            original.checkinGuest("John Doe", 101, "Grand Hotel");
+            original.checkinGuest("Jane Smith", 201, "Grand Hotel");
+            original.checkOutGuest("Jane Smith");
+        }
+
+        // Act
+        HotelChain recovered = new HotelChain();
+        long applied = WriteAheadLog.replay(logDirectory, recovered);
+
+        // Assert
+        assertTrue(applied > 0);
+        assertEquals(describe(original), describe(recovered));
+        assertTrue(recovered.getGuest("John Doe").isCheckedIn());
+        assertFalse(recovered.getGuest("Jane Smith").isCheckedIn());
+    }
+
+    @Test
+    void testRecoveredChainKeepsLoggingAndIssuesFreshNumbers() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        Reservation before;
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        try (log) {
+            populate(original, 2);
+            before = original.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                              new Date(2024, 6, 1), new Date(2024, 6, 5), 1);
+        }
+
+        // Act
+        HotelChain restarted = new HotelChain();
+        Reservation after;
+        WriteAheadLog restartedLog = WriteAheadLog.recover(logDirectory, restarted);
+        try (restartedLog) {
+            after = restarted.makeReservation(2, "Jane Smith", "Grand Hotel", RoomKind.SINGLE,
+                                              new Date(2024, 6, 1), new Date(2024, 6, 5), 1);
+        }
+        HotelChain again = new HotelChain();
+        WriteAheadLog.replay(logDirectory, again);
+
+        // Assert
+        assertNotEquals(before.getNumber(), after.getNumber());
+        assertEquals(describe(restarted), describe(again));
+        assertEquals(2, WriteAheadLog.listSegments(logDirectory).size());
+    }
+
+    @Test
+    void testBatchBookingIsRecovered() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        try (log) {
+            populate(original, 4);
+            original.makeReservations(List.of(
+                    new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                       new Date(2024, 6, 1), new Date(2024, 6, 5), 3),
+                    new BookingRequest(2, "Jane Smith", "Grand Hotel", RoomKind.DOUBLE,
+                                       new Date(2024, 6, 1), new Date(2024, 6, 5), 1)));
+        }
+
+        // Act
+        HotelChain recovered = new HotelChain();
+        WriteAheadLog.replay(logDirectory, recovered);
+
+        // Assert
+        assertEquals(2, recovered.getAllReservations().size());
+        assertEquals(describe(original), describe(recovered));
+    }
+
+    @Test
+    void testBatchIsLoggedAsOneRecordOnlyOnceEveryBookingCommits() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        populate(original, 4);
+        long populated = WriteAheadLog.replay(logDirectory, new HotelChain());
+        List<BookingRequest> batch = List.of(
+                new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 2),
+                new BookingRequest(2, "Jane Smith", "Grand Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 2));
+
+        // Act
+        original.makeReservations(batch);
+        log.close();
+        assertThrows(UncheckedIOException.class, () -> original.makeReservations(List.of(
+                new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.DOUBLE,
+                                   new Date(2024, 7, 1), new Date(2024, 7, 5), 1))));
+
+        // Assert
+        assertEquals(2, original.getAllReservations().size());
+        HotelChain recovered = new HotelChain();
+        assertEquals(populated + 1, WriteAheadLog.replay(logDirectory, recovered));
+        assertEquals(describe(original), describe(recovered));
+    }
+
+    @Test
+    void testClosedLogLeavesChainUnchanged() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        populate(original, 4);
+        Reservation booked = original.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                                      new Date(2024, 6, 1), new Date(2024, 6, 5), 1);
+        original.checkinGuest("Jane Smith", 102, "Grand Hotel");
+        log.close();
+        String before = describe(original);
+        Hotel hotel = original.getHotel("Grand Hotel");
+        RoomType single = hotel.getRoomTypes().get(0);
+
+        // Act
+        assertThrows(UncheckedIOException.class, () -> original.makeReservation(2, "Jane Smith", "Grand Hotel",
+                RoomKind.SINGLE, new Date(2024, 7, 1), new Date(2024, 7, 5), 1));
+        assertThrows(UncheckedIOException.class, () -> original.cancelReservation(booked.getNumber()));
+        assertThrows(UncheckedIOException.class, () -> original.checkinGuest("John Doe", 103, "Grand Hotel"));
+        assertThrows(UncheckedIOException.class, () -> original.checkOutGuest("Jane Smith"));
+        assertThrows(UncheckedIOException.class, () -> single.addRoom(new Room(150, hotel, single)));
+
+        // Assert
+        assertEquals(before, describe(original));
+        assertTrue(original.getAllReservations().contains(booked));
+        assertFalse(original.getGuest("John Doe").isCheckedIn());
+        assertTrue(original.getGuest("Jane Smith").isCheckedIn());
+        assertTrue(hotel.getRooms().stream().noneMatch(room -> room.getNumber() == 150));
+        assertEquals(1, original.getAllReservations().size());
+    }
+
+    @Test
+    void testRoomAddedOnlyToItsTypeIsLogged() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        try (log) {
+            populate(original, 1);
+            Hotel hotel = original.getHotel("Grand Hotel");
+            RoomType single = hotel.getRoomTypes().get(0);
+
+            // Act
+            single.addRoom(new Room(150, hotel, single));
+            original.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                     new Date(2024, 6, 1), new Date(2024, 6, 5), 2);
+        }
+
+        // Assert
+        HotelChain recovered = new HotelChain();
+        WriteAheadLog.replay(logDirectory, recovered);
+        assertTrue(recovered.getHotel("Grand Hotel").getRooms().stream().anyMatch(room -> room.getNumber() == 150));
+        assertEquals(describe(original), describe(recovered));
+    }
+
+    @Test
+    void testChangesTheLogRefusesAreReportedAsErrors() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        populate(original, 2);
+        List<String> heard = new ArrayList<>();
+        original.setOperationListener((operation, outcome, elapsedNanos) -> heard.add(operation + " " + outcome));
+        log.close();
+
+        // Act
+        assertThrows(UncheckedIOException.class, () -> original.makeReservation(1, "John Doe", "Grand Hotel",
+                RoomKind.SINGLE, new Date(2024, 6, 1), new Date(2024, 6, 5), 1));
+        assertThrows(UncheckedIOException.class, () -> original.makeReservations(List.of(
+                new BookingRequest(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                   new Date(2024, 6, 1), new Date(2024, 6, 5), 1))));
+
+        // Assert
+        assertEquals(List.of("MAKE_RESERVATION ERROR", "MAKE_RESERVATIONS ERROR"), heard);
+    }
+
+    @Test
+    void testCardNumbersAndCvvsNeverReachTheDisk() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        try (log) {
+            populate(original, 2);
+        }
+
+        // Act
+        HotelChain recovered = new HotelChain();
+        WriteAheadLog.replay(logDirectory, recovered);
+
+        // Assert
+        CreditCard card = recovered.getReserverPayer(1).getCreditCardDetails();
+        assertEquals("************3456", card.getCardNumber());
+        assertNull(card.getCvv());
+        try (Stream<Path> segments = Files.list(logDirectory)) {
+            for (Path segment : segments.collect(Collectors.toList())) {
+                String content = new String(Files.readAllBytes(segment), StandardCharsets.ISO_8859_1);
+                assertFalse(content.contains("1234567890123456"));
+                assertFalse(content.contains("9876543210987654"));
+            }
+        }
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        try (log) {
+            populate(original, 2);
+            original.makeReservation(1, "John Doe", "Grand Hotel", RoomKind.SINGLE,
+                                     new Date(2024, 6, 1), new Date(2024, 6, 5), 1);
+        }
+        Path segment = WriteAheadLog.segmentPath(logDirectory, 1);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // Act
+        HotelChain recovered = new HotelChain();
+        WriteAheadLog.replay(logDirectory, recovered);
+
+        // Assert
+        assertTrue(recovered.getAllReservations().isEmpty());
+        assertNotNull(recovered.getGuest("Jane Smith"));
+    }
+
+    @Test
+    void testConcurrentBookingsShareFlushes() throws Exception {
+        // Arrange
+        HotelChain original = new HotelChain();
+        int threads = 16;
+        int perThread = 20;
+        WriteAheadLog log = WriteAheadLog.recover(logDirectory, original);
+        populate(original, threads * perThread);
+        long flushesBefore = log.getFlushCount();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        original.makeReservation(1 + (offset % 2), offset % 2 == 0 ? "John Doe" : "Jane Smith",
+                                                 "Grand Hotel", RoomKind.SINGLE,
+                                                 new Date(2024, 8, 1 + (i % 20)), new Date(2024, 8, 2 + (i % 20)), 1);
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        // Act
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        log.close();
+
+        // Assert
+        assertTrue(failures.isEmpty(), () -> "Worker failed: " + failures);
+        assertTrue(log.getFlushCount() - flushesBefore <= threads * perThread);
+        HotelChain recovered = new HotelChain();
+        WriteAheadLog.replay(logDirectory, recovered);
+        assertEquals(threads * perThread, countReservations(recovered));
+        assertEquals(describe(original), describe(recovered));
+    }
+
+    private static int countReservations(HotelChain chain) {
+        Hotel hotel = chain.getHotel("Grand Hotel");
+        return (int) hotel.getRooms().stream()
+                .flatMap(room -> room.getReservations().stream())
+                .map(Reservation::getNumber)
+                .distinct()
+                .count();
+    }
+
+    static void populate(HotelChain chain, int singleRooms) {
+        Hotel hotel = new Hotel(new Name("Grand Hotel"));
+        chain.addHotel(hotel);
+        RoomType single = new RoomType(RoomKind.SINGLE, new Money(100.0, "USD"), hotel);
+        RoomType doubleRoom = new RoomType(RoomKind.DOUBLE, new Money(150.5, "USD"), hotel);
+        hotel.addRoomType(single);
+        hotel.addRoomType(doubleRoom);
+        for (int i = 0; i < singleRooms; i++) {
+            Room room = new Room(101 + i, hotel, single);
+            hotel.addRoom(room);
+            single.addRoom(room);
+        }
+        Room room = new Room(201, hotel, doubleRoom);
+        hotel.addRoom(room);
+        doubleRoom.addRoom(room);
+
+        chain.addGuest(Guest.create(new Name("John Doe"),
+                                    new Address("123 Main St", "New York", "NY", "10001", "USA")));
+        chain.addGuest(Guest.create(new Name("Jane Smith"),
+                                    new Address("9 Elm St", "Boston", "MA", "02101", "USA")));
+        chain.createReserverPayer(new CreditCard("1234567890123456", "John Doe", "12/25", "123"),
+                                  new Identity("ID12345", Identity.IdentityType.PASSPORT), 1);
+        chain.createReserverPayer(new CreditCard("9876543210987654", "Jane Smith", "06/26", "456"),
+                                  new Identity("ID67890", Identity.IdentityType.NATIONAL_ID), 2);
+    }
+
+    /**
+     * Renders the observable chain state so two chains can be compared for equality.
+     */
+    static String describe(HotelChain chain) {
+        StringBuilder out = new StringBuilder();
+        Hotel hotel = chain.getHotel("Grand Hotel");
+        for (RoomType roomType : hotel.getRoomTypes()) {
+            out.append(roomType.getKind()).append(' ').append(roomType.getCost()).append('\n');
+        }
+        for (Room room : hotel.getRooms()) {
+            out.append("room ").append(room.getNumber()).append(' ').append(room.getRoomType().getKind())
+               .append(" occupant=").append(room.getOccupant() == null ? "-" : room.getOccupant().getName())
+               .append(" reservations=")
+               .append(room.getReservations().stream()
+                       .sorted(Comparator.comparingInt(Reservation::getNumber))
+                       .map(r -> r.getNumber() + "@" + r.getReservationDate() + ":" + r.getStartDate() + ".."
+                               + r.getEndDate() + "/" + r.getReserverPayer().getNumber())
+                       .collect(Collectors.joining(",")))
+               .append('\n');
+        }
+        for (int payer = 1; payer <= 2; payer++) {
+            Reservation current = chain.getReserverPayer(payer).getReservation();
+            out.append("payer ").append(payer).append(" -> ").append(current == null ? "-" : current.getNumber())
+               .append(" history=")
+               .append(chain.getReserverPayer(payer).getReservations().stream()
+                       .map(r -> String.valueOf(r.getNumber()))
+                       .collect(Collectors.joining(",")))
+               .append('\n');
+        }
+        return out.toString();
+    }
+}